@@ -0,0 +1,313 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - ANALYSE LEXICALE PARALLÈLE
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Analyse lexicale d'un seul gros source sur plusieurs threads.
+ *
+ * Le source est découpé en morceaux qui commencent chacun au début d'une
+ * ligne. Deux passes parallèles :
+ *   1. chaque morceau compte ses sauts de ligne (numéro de sa première
+ *      ligne, pour des diagnostics exacts) ;
+ *   2. chaque morceau est analysé de façon spéculative, comme si
+ *      l'automate était dans son état initial à son début ; l'analyse
+ *      s'arrête à la première fin d'unité au-delà du morceau (une unité
+ *      commencée dans le morceau est donc toujours complète).
+ *
+ * La spéculation est fausse quand le morceau commence dans un commentaire
+ * de bloc ou une chaîne. La fusion, séquentielle, rétablit l'analyse
+ * exacte : elle suit la fin de la dernière unité réellement reconnue ;
+ * si elle tombe sur le début du morceau suivant ou sur le début d'un de
+ * ses tokens, l'automate était dans l'état initial au même endroit dans
+ * les deux analyses et la suite du morceau est reprise telle quelle.
+ * Sinon, un lexer réanalyse unité par unité à partir de cette position
+ * jusqu'à retomber sur une frontière commune (en général le premier token
+ * après la fin du commentaire ou de la chaîne).
+ *
+ * Tokens, positions, lignes, colonnes et erreurs sont ceux d'analyser().
+ */
+final class AnalyseLexicaleParallele {
+
+    // ==================== ATTRIBUTS ====================
+
+    static final int MORCEAU_MIN = 1 << 20;          // Caractères ; en dessous, analyse séquentielle
+    private static final int MORCEAUX_PAR_THREAD = 4;
+
+    private final CharSequence code;
+    private final int parallelisme;
+    private final int tailleMorceau;
+
+    // ==================== CONSTRUCTEUR ====================
+
+    AnalyseLexicaleParallele(CharSequence code, int parallelisme) {
+        this(code, parallelisme,
+             Math.max(MORCEAU_MIN, code.length() / (MORCEAUX_PAR_THREAD * parallelisme) + 1));
+    }
+
+    /**
+     * Taille des morceaux imposée (les petits morceaux servent à vérifier
+     * les raccords)
+     */
+    AnalyseLexicaleParallele(CharSequence code, int parallelisme, int tailleMorceau) {
+        this.code = code;
+        this.parallelisme = parallelisme;
+        this.tailleMorceau = Math.max(1, tailleMorceau);
+    }
+
+    // ==================== ANALYSE ====================
+
+    /**
+     * Écrit tous les tokens (EOF compris) dans sortie, dans l'ordre du
+     * source, et ajoute les erreurs lexicales à erreurs
+     */
+    void analyser(TamponTokens sortie, List<Diagnostic> erreurs) {
+        Morceau[] morceaux = decouper();
+        ForkJoinPool pool = new ForkJoinPool(parallelisme);
+        try {
+            // Passe 1 : première ligne de chaque morceau
+            List<CompletableFuture<Integer>> comptes = new ArrayList<>(morceaux.length);
+            for (Morceau m : morceaux) {
+                comptes.add(CompletableFuture.supplyAsync(m::compterLignes, pool));
+            }
+            int ligne = 1;
+            for (int k = 0; k < morceaux.length; k++) {
+                morceaux[k].premiereLigne = ligne;
+                ligne += comptes.get(k).join();
+            }
+
+            // Passe 2 : analyse spéculative
+            List<CompletableFuture<Void>> analyses = new ArrayList<>(morceaux.length);
+            for (Morceau m : morceaux) {
+                analyses.add(CompletableFuture.runAsync(m::analyser, pool));
+            }
+            analyses.forEach(CompletableFuture::join);
+        } finally {
+            pool.shutdown();
+        }
+
+        // Tokens spéculatifs : à peu près le total définitif
+        long total = sortie.taille();
+        for (Morceau m : morceaux) {
+            total += m.nombre;
+        }
+        sortie.reserver((int) Math.min(total, Integer.MAX_VALUE - 8));
+        fusionner(morceaux, sortie, erreurs);
+    }
+
+    // Débuts de morceaux : premier début de ligne après chaque multiple de tailleMorceau
+    private Morceau[] decouper() {
+        int n = code.length();
+        List<Integer> debuts = new ArrayList<>();
+        debuts.add(0);
+        for (int cible = tailleMorceau; cible < n; ) {
+            int p = Math.max(cible, debuts.get(debuts.size() - 1) + 1);
+            while (p < n && code.charAt(p - 1) != '\n') {
+                p++;
+            }
+            if (p >= n) break;
+            debuts.add(p);
+            cible = p + tailleMorceau;
+        }
+        Morceau[] morceaux = new Morceau[debuts.size()];
+        for (int k = 0; k < morceaux.length; k++) {
+            int fin = (k + 1 < morceaux.length) ? debuts.get(k + 1) : n;
+            morceaux[k] = new Morceau(debuts.get(k), fin, k + 1 == morceaux.length);
+        }
+        return morceaux;
+    }
+
+    // ==================== FUSION ====================
+
+    private void fusionner(Morceau[] morceaux, TamponTokens sortie, List<Diagnostic> erreurs) {
+        int frontiere = 0;                  // Fin de la dernière unité de l'analyse exacte
+        int k = 0;
+        AnalyseurLexical reprise = null;    // Réanalyse en cours (null : aucune)
+        while (true) {
+            // Dernier morceau commencé à la frontière ou avant
+            while (k + 1 < morceaux.length && morceaux[k + 1].debut <= frontiere) {
+                k++;
+            }
+            Morceau m = morceaux[k];
+            boolean raccord = (frontiere == m.debut);
+            int premier = raccord ? 0 : m.chercher(frontiere);
+            if (premier >= 0) {
+                m.adopter(premier, raccord, sortie, erreurs);
+                if (m.dernier) return;      // EOF compris
+                frontiere = m.finAnalyse;
+                reprise = null;
+                continue;
+            }
+
+            // Pas de frontière commune : une unité de plus, sans spéculation
+            if (reprise == null) {
+                IndexLignes lignes = m.lexer.lignes();
+                reprise = new AnalyseurLexical(code);
+                reprise.setEcouteur(new Collecteur(erreurs));
+                reprise.reprendre(code, frontiere, lignes.ligne(frontiere),
+                                  frontiere - lignes.colonne(frontiere) + 1, sortie);
+            }
+            if (!reprise.etape()) return;   // EOF émis par la réanalyse
+            frontiere = reprise.position();
+        }
+    }
+
+    /**
+     * Écouteur de la réanalyse : ses erreurs sont les erreurs définitives
+     */
+    private static final class Collecteur implements EcouteurAnalyse {
+        private final List<Diagnostic> erreurs;
+
+        Collecteur(List<Diagnostic> erreurs) {
+            this.erreurs = erreurs;
+        }
+
+        @Override
+        public void evenement(int evenement, FluxTokens curseur) {
+        }
+
+        @Override
+        public void diagnostic(Diagnostic d) {
+            erreurs.add(d);
+        }
+
+        @Override
+        public void verdict(boolean accepte, boolean finAtteinte) {
+        }
+    }
+
+    // ==================== MORCEAU ====================
+
+    /**
+     * Tokens et erreurs de l'analyse spéculative d'un morceau ; chaque
+     * erreur retient le nombre de tokens produits avant elle
+     */
+    private final class Morceau implements RecepteurTokens, EcouteurAnalyse {
+        final int debut;
+        final int fin;
+        final boolean dernier;
+        int premiereLigne;
+        int finAnalyse;                     // Fin de la dernière unité analysée (>= fin)
+        AnalyseurLexical lexer;
+
+        private int[] types;
+        private int[] debuts;
+        private int[] longueurs;
+        private int nombre;
+        private final List<Diagnostic> erreurs = new ArrayList<>();
+        private int[] rangsErreurs = new int[4];
+
+        Morceau(int debut, int fin, boolean dernier) {
+            this.debut = debut;
+            this.fin = fin;
+            this.dernier = dernier;
+            int capacite = Math.max(16, (fin - debut) / 8);
+            this.types = new int[capacite];
+            this.debuts = new int[capacite];
+            this.longueurs = new int[capacite];
+        }
+
+        int compterLignes() {
+            int sauts = 0;
+            for (int p = debut; p < fin; p++) {
+                if (code.charAt(p) == '\n') sauts++;
+            }
+            return sauts;
+        }
+
+        void analyser() {
+            lexer = new AnalyseurLexical(code);
+            lexer.setEcouteur(this);
+            lexer.reprendre(code, debut, premiereLigne, debut, this);
+            if (dernier) {
+                while (lexer.etape()) {
+                    // Jusqu'à EOF
+                }
+            } else {
+                while (lexer.position() < fin && lexer.etape()) {
+                    // Jusqu'à la première fin d'unité au-delà du morceau
+                }
+            }
+            finAnalyse = lexer.position();
+        }
+
+        @Override
+        public void ajouter(int type, int debut, int longueur) {
+            if (nombre == types.length) {
+                types = Arrays.copyOf(types, 2 * nombre);
+                debuts = Arrays.copyOf(debuts, 2 * nombre);
+                longueurs = Arrays.copyOf(longueurs, 2 * nombre);
+            }
+            types[nombre] = type;
+            debuts[nombre] = debut;
+            longueurs[nombre] = longueur;
+            nombre++;
+        }
+
+        @Override
+        public void diagnostic(Diagnostic d) {
+            if (erreurs.size() == rangsErreurs.length) {
+                rangsErreurs = Arrays.copyOf(rangsErreurs, 2 * erreurs.size());
+            }
+            rangsErreurs[erreurs.size()] = nombre;
+            erreurs.add(d);
+        }
+
+        @Override
+        public void evenement(int evenement, FluxTokens curseur) {
+        }
+
+        @Override
+        public void verdict(boolean accepte, boolean finAtteinte) {
+        }
+
+        // Token dont l'unité commence à la position, -1 s'il n'y en a pas
+        int chercher(int position) {
+            int bas = 0;
+            int haut = nombre - 1;
+            while (bas <= haut) {
+                int milieu = (bas + haut) >>> 1;
+                int u = unite(milieu);
+                if (u < position) {
+                    bas = milieu + 1;
+                } else if (u > position) {
+                    haut = milieu - 1;
+                } else {
+                    return milieu;
+                }
+            }
+            return -1;
+        }
+
+        // Début de l'unité lexicale (guillemet ouvrant d'une chaîne)
+        private int unite(int i) {
+            return (types[i] == TypeToken.CHAINE) ? debuts[i] - 1 : debuts[i];
+        }
+
+        /**
+         * Recopie les tokens à partir de premier et les erreurs qui les
+         * suivent (toutes si le morceau est repris depuis son début)
+         */
+        void adopter(int premier, boolean depuisDebut, TamponTokens sortie, List<Diagnostic> tout) {
+            sortie.ajouter(types, debuts, longueurs, premier, nombre);
+            for (int e = 0; e < erreurs.size(); e++) {
+                if (depuisDebut || rangsErreurs[e] > premier) {
+                    tout.add(erreurs.get(e));
+                }
+            }
+        }
+    }
+}
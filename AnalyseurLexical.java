@@ -1,541 +1,568 @@
-/*
- * ====================================================================
- * MINI-COMPILATEUR JAVA - ANALYSEUR LEXICAL
- * Université A/ Mira de Béjaia - 3ème année Licence
- * Module : Compilation
- * 
- * Étudiant : Malek Leiticia
- * Instruction analysée : WHILE
- * ====================================================================
- */
-package compilateur;
-
-import java.io.*;
-import java.util.*;
-
-// ====================================================================
-// Classe Token - Représente une unité lexicale
-// ====================================================================
-class Token {
-    String type;      // Type du token
-    String valeur;    // Valeur du token
-    int ligne;        // Numéro de ligne
-    int colonne;      // Numéro de colonne
-    
-    public Token(String type, String valeur, int ligne, int colonne) {
-        this.type = type;
-        this.valeur = valeur;
-        this.ligne = ligne;
-        this.colonne = colonne;
-    }
-    
-    @Override
-    public String toString() {
-        return String.format("%-20s | %-15s | L:%-3d | C:%-3d", 
-                            type, valeur, ligne, colonne);
-    }
-}
-
-// ====================================================================
-// Classe AnalyseurLexical - Analyseur lexical
-// ====================================================================
-public class AnalyseurLexical {
-    
-    // ==================== ATTRIBUTS ====================
-    
-    private String code;                     // Code source
-    private int position;                    // Position actuelle
-    private int ligne;                       // Ligne actuelle
-    private int colonne;                     // Colonne actuelle
-    private ArrayList<Token> tokens;         // Liste des tokens
-    private ArrayList<String> erreurs;       // Liste des erreurs
-    
-    // Mots-clés Java (incluant Malek et Leiticia)
-    private static final String[] MOTS_CLES = {
-        "public", "private", "protected", "static", "final",
-        "class", "void", "int", "double", "float", "boolean", "String",
-        "if", "else", "while", "do", "for", "switch", "case",
-        "break", "continue", "return", "new", "this",
-        "Malek", "Leiticia"  // Mots-clés personnalisés (nom et prénom)
-    };
-    
-    // ========== MATRICE DE TRANSITION POUR IDENTIFICATEURS ==========
-    // États : 0=initial, 1=identificateur, -1=erreur
-    // Colonnes : 0=lettre, 1=chiffre, 2=underscore, 3=autres
-    private static final int[][] MATRICE = {
-        {  1, -1,  1, -1 },  // État 0
-        {  1,  1,  1, -1 }   // État 1
-    };
-    
-    // ==================== CONSTRUCTEUR ====================
-    
-    public AnalyseurLexical(String code) {
-        this.code = code;
-        this.position = 0;
-        this.ligne = 1;
-        this.colonne = 1;
-        this.tokens = new ArrayList<>();
-        this.erreurs = new ArrayList<>();
-    }
-    
-    // ==================== LECTURE DEPUIS FICHIER ====================
-    
-    /**
-     * Procédure pour lire le contenu d'un fichier
-     */
-    public String lireFichier(String cheminFichier) {
-        StringBuilder contenu = new StringBuilder();
-        
-        try {
-            FileReader fileReader = new FileReader(cheminFichier);
-            BufferedReader bufferedReader = new BufferedReader(fileReader);
-            
-            String ligne;
-            while ((ligne = bufferedReader.readLine()) != null) {
-                contenu.append(ligne);
-                contenu.append("\n");
-            }
-            
-            bufferedReader.close();
-            fileReader.close();
-            
-            return contenu.toString();
-            
-        } catch (FileNotFoundException e) {
-            System.err.println("Erreur : Fichier '" + cheminFichier + "' introuvable");
-            return null;
-        } catch (IOException e) {
-            System.err.println("Erreur de lecture : " + e.getMessage());
-            return null;
-        }
-    }
-    
-    // ==================== MÉTHODES UTILITAIRES ====================
-    
-    // Retourne le caractère actuel
-    private char charActuel() {
-        return (position < code.length()) ? code.charAt(position) : '\0';
-    }
-    
-    // Regarde le caractère suivant
-    private char suivant() {
-        return (position + 1 < code.length()) ? code.charAt(position + 1) : '\0';
-    }
-    
-    // Avance d'un caractère
-    private void avancer() {
-        if (charActuel() == '\n') {
-            ligne++;
-            colonne = 1;
-        } else {
-            colonne++;
-        }
-        position++;
-    }
-    
-    // Ignore les espaces
-    private void ignorerEspaces() {
-        while (charActuel() == ' ' || charActuel() == '\t' || 
-               charActuel() == '\n' || charActuel() == '\r') {
-            avancer();
-        }
-    }
-    
-    // Retourne l'indice de colonne pour la matrice
-    private int indiceMatrice(char c) {
-        if (Character.isLetter(c)) return 0;
-        if (Character.isDigit(c)) return 1;
-        if (c == '_') return 2;
-        return 3;
-    }
-    
-    // Vérifie si c'est un mot-clé (incluant Malek et Leiticia)
-    private boolean estMotCle(String mot) {
-        for (String mc : MOTS_CLES) {
-            if (mc.equals(mot)) return true;
-        }
-        return false;
-    }
-    
-    // Ajoute une erreur
-    private void ajouterErreur(String message) {
-        erreurs.add("Erreur ligne " + ligne + ", colonne " + colonne + " : " + message);
-    }
-    
-    // ==================== RECONNAISSANCE DES TOKENS ====================
-    
-    /**
-     * Reconnaît un identificateur avec la matrice de transition
-     */
-    private void reconnaitreIdentificateur() {
-        int ligneDebut = ligne;
-        int colonneDebut = colonne;
-        int posDebut = position;
-        int etat = 0;
-        
-        // Parcours avec matrice
-        while (charActuel() != '\0') {
-            int col = indiceMatrice(charActuel());
-            int nouvelEtat = MATRICE[etat][col];
-            
-            if (nouvelEtat == -1) break;
-            
-            etat = nouvelEtat;
-            avancer();
-        }
-        
-        // Extraire le mot
-        String mot = code.substring(posDebut, position);
-        
-        // Déterminer le type (MOT_CLE inclut Malek et Leiticia)
-        String type = estMotCle(mot) ? "MOT_CLE" : "IDENTIFICATEUR";
-        
-        tokens.add(new Token(type, mot, ligneDebut, colonneDebut));
-    }
-    
-    /**
-     * Reconnaît un nombre
-     */
-    private void reconnaitreNombre() {
-        int ligneDebut = ligne;
-        int colonneDebut = colonne;
-        int posDebut = position;
-        String type = "NOMBRE_ENTIER";
-        
-        // Partie entière
-        while (Character.isDigit(charActuel())) {
-            avancer();
-        }
-        
-        // Partie décimale
-        if (charActuel() == '.' && Character.isDigit(suivant())) {
-            type = "NOMBRE_DECIMAL";
-            avancer();
-            while (Character.isDigit(charActuel())) {
-                avancer();
-            }
-        }
-        
-        String valeur = code.substring(posDebut, position);
-        tokens.add(new Token(type, valeur, ligneDebut, colonneDebut));
-    }
-    
-    /**
-     * Reconnaît une chaîne
-     */
-    private void reconnaitreChaine() {
-        int ligneDebut = ligne;
-        int colonneDebut = colonne;
-        char guillemet = charActuel();
-        avancer();
-        
-        int posDebut = position;
-        
-        while (charActuel() != '\0' && charActuel() != guillemet) {
-            if (charActuel() == '\\') {
-                avancer();
-            }
-            avancer();
-        }
-        
-        if (charActuel() == '\0') {
-            ajouterErreur("Chaîne non fermée");
-            return;
-        }
-        
-        String valeur = code.substring(posDebut, position);
-        avancer();
-        tokens.add(new Token("CHAINE", valeur, ligneDebut, colonneDebut));
-    }
-    
-    /**
-     * Ignore commentaire ligne //
-     */
-    private void ignorerCommentaireLigne() {
-        while (charActuel() != '\0' && charActuel() != '\n') {
-            avancer();
-        }
-    }
-    
-    /**
-     * Ignore commentaire bloc
-     */
-    private void ignorerCommentaireBloc() {
-        int ligneDebut = ligne;
-        avancer(); avancer();
-        
-        while (charActuel() != '\0') {
-            if (charActuel() == '*' && suivant() == '/') {
-                avancer(); avancer();
-                return;
-            }
-            avancer();
-        }
-        
-        ajouterErreur("Commentaire non fermé (débuté ligne " + ligneDebut + ")");
-    }
-    
-    /**
-     * Reconnaît un opérateur avec TYPE SPÉCIFIQUE
-     */
-    private void reconnaitreOperateur() {
-        int ligneDebut = ligne;
-        int colonneDebut = colonne;
-        char c = charActuel();
-        String type = "";
-        String valeur = "";
-        
-        // Opérateurs doubles
-        if (c == '=' && suivant() == '=') {
-            type = "EGAL";
-            valeur = "==";
-            avancer(); avancer();
-        } 
-        else if (c == '!' && suivant() == '=') {
-            type = "DIFFERENT";
-            valeur = "!=";
-            avancer(); avancer();
-        } 
-        else if (c == '<' && suivant() == '=') {
-            type = "INFERIEUR_EGAL";
-            valeur = "<=";
-            avancer(); avancer();
-        } 
-        else if (c == '>' && suivant() == '=') {
-            type = "SUPERIEUR_EGAL";
-            valeur = ">=";
-            avancer(); avancer();
-        } 
-        else if (c == '+' && suivant() == '+') {
-            type = "INCREMENT";
-            valeur = "++";
-            avancer(); avancer();
-        } 
-        else if (c == '-' && suivant() == '-') {
-            type = "DECREMENT";
-            valeur = "--";
-            avancer(); avancer();
-        } 
-        else if (c == '&' && suivant() == '&') {
-            type = "ET_LOGIQUE";
-            valeur = "&&";
-            avancer(); avancer();
-        } 
-        else if (c == '|' && suivant() == '|') {
-            type = "OU_LOGIQUE";
-            valeur = "||";
-            avancer(); avancer();
-        }
-        // Opérateurs simples
-        else {
-            valeur = "" + c;
-            avancer();
-            
-            if (c == '+') type = "PLUS";
-            else if (c == '-') type = "MOINS";
-            else if (c == '*') type = "FOIS";
-            else if (c == '/') type = "DIVISION";
-            else if (c == '%') type = "MODULO";
-            else if (c == '=') type = "AFFECTATION";
-            else if (c == '<') type = "INFERIEUR";
-            else if (c == '>') type = "SUPERIEUR";
-            else if (c == '!') type = "NON_LOGIQUE";
-            else {
-                ajouterErreur("Opérateur invalide '" + c + "'");
-                return;
-            }
-        }
-        
-        tokens.add(new Token(type, valeur, ligneDebut, colonneDebut));
-    }
-    
-    /**
-     * Reconnaît un séparateur avec TYPE SPÉCIFIQUE
-     */
-    private void reconnaitreSeparateur() {
-        int ligneDebut = ligne;
-        int colonneDebut = colonne;
-        char c = charActuel();
-        String type = "";
-        avancer();
-        
-        if (c == '(') type = "PAREN_OUVRANT";
-        else if (c == ')') type = "PAREN_FERMANT";
-        else if (c == '{') type = "ACCOLADE_OUVRANTE";
-        else if (c == '}') type = "ACCOLADE_FERMANTE";
-        else if (c == '[') type = "CROCHET_OUVRANT";
-        else if (c == ']') type = "CROCHET_FERMANT";
-        else if (c == ';') type = "POINT_VIRGULE";
-        else if (c == ',') type = "VIRGULE";
-        else if (c == '.') type = "POINT";
-        else {
-            ajouterErreur("Séparateur invalide '" + c + "'");
-            return;
-        }
-        
-        tokens.add(new Token(type, "" + c, ligneDebut, colonneDebut));
-    }
-    
-    // ==================== ANALYSE PRINCIPALE ====================
-    
-    /**
-     * Lance l'analyse lexicale complète
-     */
-    public void analyser() {
-        System.out.println(">>> Début de l'analyse lexicale...\n");
-        
-        while (charActuel() != '\0') {
-            ignorerEspaces();
-            
-            if (charActuel() == '\0') break;
-            
-            char c = charActuel();
-            
-            // Commentaire ligne
-            if (c == '/' && suivant() == '/') {
-                ignorerCommentaireLigne();
-                continue;
-            }
-            
-            // Commentaire bloc
-            if (c == '/' && suivant() == '*') {
-                ignorerCommentaireBloc();
-                continue;
-            }
-            
-            // Identificateur
-            if (Character.isLetter(c) || c == '_') {
-                reconnaitreIdentificateur();
-                continue;
-            }
-            
-            // Nombre
-            if (Character.isDigit(c)) {
-                reconnaitreNombre();
-                continue;
-            }
-            
-            // Chaîne
-            if (c == '"' || c == '\'') {
-                reconnaitreChaine();
-                continue;
-            }
-            
-            // Séparateurs
-            if ("(){}[];,.".indexOf(c) != -1) {
-                reconnaitreSeparateur();
-                continue;
-            }
-            
-            // Opérateurs
-            if ("+-*/%=<>!&|".indexOf(c) != -1) {
-                reconnaitreOperateur();
-                continue;
-            }
-            
-            // Caractère invalide
-            ajouterErreur("Caractère invalide '" + c + "'");
-            avancer();
-        }
-        
-        // Ajouter le token EOF (End Of File)
-        tokens.add(new Token("EOF", "EOF", ligne, colonne));
-        
-        System.out.println(">>> Analyse terminée.\n");
-    }
-    
-    // ==================== AFFICHAGE ====================
-    
-    /**
-     * Affiche tous les tokens
-     */
-    public void afficherTokens() {
-        System.out.println("=" .repeat(70));
-        System.out.println("                    TOKENS RECONNUS");
-        System.out.println("=" .repeat(70));
-        System.out.println(String.format("%-20s | %-15s | %-6s | %-6s", 
-                                        "TYPE", "VALEUR", "LIGNE", "COL"));
-        System.out.println("-" .repeat(70));
-        
-        for (Token t : tokens) {
-            System.out.println(t);
-        }
-        
-        System.out.println("=" .repeat(70));
-        System.out.println("Total : " + tokens.size() + " tokens\n");
-    }
-    
-    /**
-     * Affiche les erreurs
-     */
-    public void afficherErreurs() {
-        if (erreurs.isEmpty()) {
-            System.out.println("✓ Aucune erreur lexicale\n");
-        } else {
-            System.out.println("=" .repeat(70));
-            System.out.println("                    ERREURS LEXICALES");
-            System.out.println("=" .repeat(70));
-            for (String err : erreurs) {
-                System.out.println("✗ " + err);
-            }
-            System.out.println("=" .repeat(70));
-            System.out.println("Total : " + erreurs.size() + " erreurs\n");
-        }
-    }
-    
-    // ==================== GETTERS ====================
-    
-    public ArrayList<Token> getTokens() {
-        return tokens;
-    }
-    
-    public ArrayList<String> getErreurs() {
-        return erreurs;
-    }
-    
-    public boolean aDesErreurs() {
-        return !erreurs.isEmpty();
-    }
-    
-    // ==================== MAIN POUR TESTER ====================
-    
-    public static void main(String[] args) {
-        System.out.println("\n╔════════════════════════════════════════════════════╗");
-        System.out.println("║     MINI-COMPILATEUR JAVA - ANALYSEUR LEXICAL     ║");
-        System.out.println("║     Étudiant : Malek Leiticia                     ║");
-        System.out.println("║     Instruction : WHILE                            ║");
-        System.out.println("╚════════════════════════════════════════════════════╝\n");
-        
-        // Créer une instance de l'analyseur
-        AnalyseurLexical lexer = new AnalyseurLexical("");
-        
-        // Lire le fichier test.java avec la procédure
-        String code = lexer.lireFichier("test.java");
-        
-        if (code == null) {
-            System.err.println("\nCréez un fichier test.java dans le dossier du projet\n");
-            return;
-        }
-        
-        System.out.println("Fichier : test.java");
-        System.out.println("Taille : " + code.length() + " caractères\n");
-        
-        // Créer un nouvel analyseur avec le code chargé
-        lexer = new AnalyseurLexical(code);
-        
-        // Analyser
-        lexer.analyser();
-        
-        // Afficher résultats
-        lexer.afficherTokens();
-        lexer.afficherErreurs();
-        
-        // Résumé
-        if (lexer.aDesErreurs()) {
-            System.out.println("⚠ Compilation terminée avec erreurs\n");
-        } else {
-            System.out.println("✓ Compilation réussie\n");
-        }
-    }
-}
-
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - ANALYSEUR LEXICAL
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ * 
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+
+// ====================================================================
+// Classe Token - Représente une unité lexicale
+// ====================================================================
+class Token {
+    String type;      // Type du token
+    String valeur;    // Valeur du token
+    int ligne;        // Numéro de ligne
+    int colonne;      // Numéro de colonne
+    
+    public Token(String type, String valeur, int ligne, int colonne) {
+        this.type = type;
+        this.valeur = valeur;
+        this.ligne = ligne;
+        this.colonne = colonne;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%-20s | %-15s | L:%-3d | C:%-3d", 
+                            type, valeur, ligne, colonne);
+    }
+}
+
+// ====================================================================
+// Classe AnalyseurLexical - Analyseur lexical
+// ====================================================================
+public class AnalyseurLexical {
+    
+    // ==================== ATTRIBUTS ====================
+    
+    private CharSequence code;               // Code source (String ou fichier projeté)
+    private int position;                    // Position actuelle
+    private IndexLignes lignes;              // Lignes et colonnes, calculées à la demande
+    private TamponTokens tampon;             // Tokens (tableaux compacts)
+    private RecepteurTokens sortie;          // Destination des tokens produits
+    private Flux flux;                       // Mode flux (null en mode complet)
+    private AnneauTokens anneau;             // Mode pipeline (null sinon)
+    private Thread producteur;               // Thread du lexer en mode pipeline
+    private ArrayList<Diagnostic> erreurs;   // Liste des erreurs
+    private EcouteurAnalyse trace;           // Messages de l'analyse (Trace.SILENCE : aucun)
+    
+    // ==================== CONSTRUCTEUR ====================
+    
+    public AnalyseurLexical(CharSequence code) {
+        this.code = code;
+        this.position = 0;
+        this.tampon = new TamponTokens(code);
+        this.lignes = tampon.lignes();
+        this.sortie = tampon;
+        this.erreurs = new ArrayList<>();
+        this.trace = Trace.console(Trace.WHILE_DETAILLE);
+    }
+    
+    /**
+     * Remplace l'écouteur (par défaut : console, niveau WHILE_DETAILLE)
+     */
+    public void setEcouteur(EcouteurAnalyse ecouteur) {
+        this.trace = ecouteur;
+    }
+    
+    // ==================== LECTURE DEPUIS FICHIER ====================
+    
+    /**
+     * Procédure pour lire le contenu d'un fichier.
+     * Passe par la projection mémoire de ChargeurSource (une seule copie) ;
+     * préférer chargerFichier() qui évite même cette copie.
+     */
+    public String lireFichier(String cheminFichier) {
+        CharSequence texte = chargerFichier(cheminFichier);
+        return (texte == null) ? null : texte.toString();
+    }
+    
+    /**
+     * Projette le fichier en mémoire ; le texte rendu peut être passé
+     * directement au constructeur (null si le fichier est illisible)
+     */
+    public static CharSequence chargerFichier(String cheminFichier) {
+        ChargeurSource source = ChargeurSource.charger(cheminFichier);
+        return (source == null) ? null : source.texte();
+    }
+    
+    // ==================== MÉTHODES UTILITAIRES ====================
+    
+    // Ajoute une erreur (message différé, voir Diagnostic) ; seule une
+    // erreur fait calculer une ligne et une colonne
+    private void ajouterErreur(int pos, String modele, Object... arguments) {
+        Diagnostic err = new Diagnostic(Diagnostic.LEXICAL, pos, lignes.ligne(pos), lignes.colonne(pos),
+                                        modele, arguments);
+        erreurs.add(err);
+        trace.diagnostic(err);
+    }
+    
+    // ==================== ANALYSE PRINCIPALE ====================
+    
+    /**
+     * Lance l'analyse lexicale complète
+     */
+    public void analyser() {
+        trace.evenement(EcouteurAnalyse.LEXIQUE_DEBUT, null);
+        
+        while (etape()) {
+            // Un token, un commentaire, des espaces ou une erreur par étape
+        }
+        
+        trace.evenement(EcouteurAnalyse.LEXIQUE_FIN, null);
+    }
+    
+    /**
+     * Analyse lexicale complète sur plusieurs threads (AnalyseLexicaleParallele) :
+     * mêmes tokens et mêmes erreurs qu'analyser(). Un source trop petit pour
+     * être découpé est analysé séquentiellement.
+     */
+    public void analyserEnParallele(int parallelisme) {
+        if (parallelisme <= 1 || position != 0 || sortie != tampon
+                || code.length() < 2 * AnalyseLexicaleParallele.MORCEAU_MIN) {
+            analyser();
+            return;
+        }
+        analyserEnParallele(new AnalyseLexicaleParallele(code, parallelisme));
+    }
+    
+    void analyserEnParallele(AnalyseLexicaleParallele analyse) {
+        trace.evenement(EcouteurAnalyse.LEXIQUE_DEBUT, null);
+        
+        int deja = erreurs.size();
+        analyse.analyser(tampon, erreurs);
+        for (int e = deja; e < erreurs.size(); e++) {
+            trace.diagnostic(erreurs.get(e));
+        }
+        position = code.length();
+        
+        trace.evenement(EcouteurAnalyse.LEXIQUE_FIN, null);
+    }
+    
+    /**
+     * Fait tourner l'automate depuis la position actuelle et traite l'unité
+     * reconnue (token, espaces, commentaire ou erreur).
+     * Retourne false une fois le token EOF émis.
+     */
+    boolean etape() {
+        final CharSequence texte = code;
+        final int n = texte.length();
+        final short[] transitions = AutomateLexical.TRANSITIONS;
+        final int[] action = AutomateLexical.ACTION;
+        final int nbClasses = AutomateLexical.NB_CLASSES;
+        final int cFin = AutomateLexical.C_FIN;
+        
+        // Positions seulement : lignes et colonnes sont retrouvées par IndexLignes
+        int debut = position;
+        
+        // Plus long préfixe : on retient le dernier état acceptant
+        int etat = AutomateLexical.DEBUT;
+        int accepte = AutomateLexical.DEBUT;
+        int finAccepte = debut;
+        int p = debut;
+        while (true) {
+            int classe = (p < n) ? AutomateLexical.classe(texte.charAt(p)) : cFin;
+            int suivant = transitions[etat * nbClasses + classe];
+            if (suivant < 0) break;
+            etat = suivant;
+            if (classe != cFin) {
+                p++;
+            }
+            if (action[etat] != AutomateLexical.NON_ACCEPTANT) {
+                accepte = etat;
+                finAccepte = p;
+            }
+        }
+        // Retour arrière éventuel ("3." suivi d'autre chose qu'un chiffre)
+        position = finAccepte;
+        
+        int type = action[accepte];
+        switch (type) {
+            case TypeToken.EOF:
+                sortie.ajouter(TypeToken.EOF, position, 0);
+                return false;
+            case TypeToken.CHAINE:
+                // La valeur exclut les guillemets
+                sortie.ajouter(type, debut + 1, position - debut - 2);
+                break;
+            case AutomateLexical.IGNORER:
+                break;
+            case AutomateLexical.ERR_CARACTERE:
+                ajouterErreur(debut, "Caractère invalide '%s'", texte.charAt(debut));
+                break;
+            case AutomateLexical.ERR_OPERATEUR:
+                // Signalée après le caractère, comme un opérateur lu puis rejeté
+                ajouterErreur(debut + 1, "Opérateur invalide '%s'", texte.charAt(debut));
+                break;
+            case AutomateLexical.ERR_CHAINE:
+                ajouterErreur(position, "Chaîne non fermée");
+                break;
+            case AutomateLexical.ERR_COMMENTAIRE:
+                ajouterErreur(position, "Commentaire non fermé (débuté ligne %d)", lignes.ligne(debut));
+                break;
+            default:
+                sortie.ajouter(type, debut, position - debut);
+        }
+        return true;
+    }
+    
+    /**
+     * Reprend l'analyse à une position donnée, vers une autre destination
+     * (analyse incrémentale). L'automate repart de son état initial : la
+     * position doit être le début d'une unité (fin d'un token), sur la
+     * ligne numéro ligne qui commence en debutLigne. Les erreurs
+     * précédentes sont oubliées.
+     */
+    void reprendre(CharSequence code, int position, int ligne, int debutLigne, RecepteurTokens sortie) {
+        this.code = code;
+        this.position = position;
+        this.lignes = new IndexLignes(code, position, ligne, debutLigne);
+        this.sortie = sortie;
+        this.erreurs.clear();
+    }
+
+    /**
+     * Position de l'analyse (fin de la dernière unité traitée)
+     */
+    int position() {
+        return position;
+    }
+    
+    /**
+     * Index des lignes du code en cours d'analyse
+     */
+    IndexLignes lignes() {
+        return lignes;
+    }
+    
+    // ==================== MODE FLUX ====================
+    
+    /**
+     * Passe l'analyseur en mode flux : les tokens sont produits à la
+     * demande dans un petit anneau au lieu du tampon complet.
+     * La mémoire utilisée ne dépend plus de la taille du fichier.
+     */
+    public FluxTokens flux() {
+        if (flux == null) {
+            flux = new Flux();
+            sortie = flux;
+        }
+        return flux;
+    }
+    
+    /**
+     * Consomme le token suivant et retourne son type
+     */
+    public int nextToken() {
+        FluxTokens f = flux();
+        int type = f.type();
+        f.avancer();
+        return type;
+    }
+    
+    /**
+     * Type du k-ième token à venir sans le consommer (k = 0 : prochain)
+     */
+    public int peek(int k) {
+        return flux().peek(k);
+    }
+    
+    /**
+     * Anneau de tokens du mode flux (capacité fixe, puissance de 2)
+     */
+    private final class Flux implements FluxTokens, RecepteurTokens {
+        private static final int CAPACITE = 16;
+        private static final int MASQUE = CAPACITE - 1;
+        
+        private final int[] types = new int[CAPACITE];
+        private final int[] debuts = new int[CAPACITE];
+        private final int[] longueurs = new int[CAPACITE];
+        private int produits;        // Tokens écrits dans l'anneau
+        private int consommes;       // Tokens lus par l'analyseur syntaxique
+        private boolean fini;        // EOF produit
+        
+        @Override
+        public void ajouter(int type, int debut, int longueur) {
+            int k = produits & MASQUE;
+            types[k] = type;
+            debuts[k] = debut;
+            longueurs[k] = longueur;
+            produits++;
+        }
+        
+        // Lexe jusqu'à disposer de k + 1 tokens d'avance
+        private boolean disponible(int k) {
+            if (k >= CAPACITE) {
+                throw new IllegalArgumentException("Anticipation limitée à " + (CAPACITE - 1) + " tokens");
+            }
+            while (produits - consommes <= k && !fini) {
+                fini = !etape();
+            }
+            return produits - consommes > k;
+        }
+        
+        @Override
+        public int type() {
+            return peek(0);
+        }
+        
+        @Override
+        public int peek(int k) {
+            return disponible(k) ? types[(consommes + k) & MASQUE] : TypeToken.AUCUN;
+        }
+        
+        @Override
+        public void avancer() {
+            consommes++;
+        }
+        
+        @Override
+        public int index() {
+            return consommes;
+        }
+        
+        @Override
+        public boolean horsLimites() {
+            return !disponible(0);
+        }
+        
+        @Override
+        public String valeur() {
+            int k = consommes & MASQUE;
+            String fixe = TypeToken.orthographe(types[k]);
+            if (fixe != null) return fixe;
+            return code.subSequence(debuts[k], debuts[k] + longueurs[k]).toString();
+        }
+        
+        @Override
+        public boolean valeurEgale(String attendu) {
+            if (!disponible(0)) return false;
+            int k = consommes & MASQUE;
+            return types[k] != TypeToken.EOF
+                && longueurs[k] == attendu.length()
+                && TamponTokens.regionEgale(code, debuts[k], attendu);
+        }
+        
+        @Override
+        public int debut() {
+            return disponible(0) ? debuts[consommes & MASQUE] : code.length();
+        }
+        
+        @Override
+        public int ligne() {
+            return lignes.ligne(unite(consommes & MASQUE));
+        }
+        
+        @Override
+        public int colonne() {
+            return lignes.colonne(unite(consommes & MASQUE));
+        }
+        
+        // Début de l'unité lexicale (guillemet ouvrant d'une chaîne)
+        private int unite(int k) {
+            return (types[k] == TypeToken.CHAINE) ? debuts[k] - 1 : debuts[k];
+        }
+    }
+    
+    // ==================== MODE PIPELINE ====================
+    
+    /**
+     * Passe l'analyseur en mode pipeline : le lexer tourne sur son propre
+     * thread et dépose les tokens dans un anneau sans verrou, lu par
+     * l'appelant pendant que la suite est analysée.
+     * L'écouteur est alors appelé depuis le thread du lexer ; les erreurs
+     * lexicales sont complètes dès que getDiagnostics() rend la main.
+     */
+    public FluxTokens pipeline() {
+        if (anneau == null) {
+            anneau = new AnneauTokens(code);
+            sortie = anneau;
+            producteur = new Thread(() -> {
+                Throwable echec = null;
+                try {
+                    analyser();
+                } catch (RuntimeException | Error e) {
+                    echec = e;
+                }
+                anneau.terminer(echec);
+            }, "lexer-pipeline");
+            producteur.setDaemon(true);
+            producteur.start();
+        }
+        return anneau;
+    }
+    
+    // Mode pipeline : laisse le lexer finir sans plus attendre de lecteur,
+    // puis se synchronise avec son thread avant de lire les erreurs
+    private void attendreProducteur() {
+        if (producteur == null) return;
+        anneau.abandonner();
+        boolean interrompu = false;
+        while (true) {
+            try {
+                producteur.join();
+                break;
+            } catch (InterruptedException e) {
+                interrompu = true;
+            }
+        }
+        if (interrompu) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    // ==================== AFFICHAGE ====================
+    
+    /**
+     * Affiche tous les tokens
+     */
+    public void afficherTokens() {
+        System.out.println("=" .repeat(70));
+        System.out.println("                    TOKENS RECONNUS");
+        System.out.println("=" .repeat(70));
+        System.out.println(String.format("%-20s | %-15s | %-6s | %-6s", 
+                                        "TYPE", "VALEUR", "LIGNE", "COL"));
+        System.out.println("-" .repeat(70));
+        
+        for (Token t : tampon.vue()) {
+            System.out.println(t);
+        }
+        
+        System.out.println("=" .repeat(70));
+        System.out.println("Total : " + tampon.taille() + " tokens");
+        System.out.println(String.format("Mémoire : %.1f octets/token, %d octets réservés (ArrayList<Token> : ~%.1f octets/token)\n",
+                                        tampon.octetsParToken(), tampon.octetsReserves(),
+                                        tampon.octetsParTokenObjets()));
+    }
+    
+    /**
+     * Affiche les erreurs
+     */
+    public void afficherErreurs() {
+        attendreProducteur();
+        if (erreurs.isEmpty()) {
+            System.out.println("✓ Aucune erreur lexicale\n");
+        } else {
+            System.out.println("=" .repeat(70));
+            System.out.println("                    ERREURS LEXICALES");
+            System.out.println("=" .repeat(70));
+            for (Diagnostic err : erreurs) {
+                System.out.println("✗ " + err);
+            }
+            System.out.println("=" .repeat(70));
+            System.out.println("Total : " + erreurs.size() + " erreurs\n");
+        }
+    }
+    
+    // ==================== GETTERS ====================
+    
+    /**
+     * Vue de compatibilité : les Token sont créés à la lecture
+     */
+    public List<Token> getTokens() {
+        return tampon.vue();
+    }
+    
+    public TamponTokens getTampon() {
+        return tampon;
+    }
+    
+    public ArrayList<String> getErreurs() {
+        attendreProducteur();
+        ArrayList<String> textes = new ArrayList<>(erreurs.size());
+        for (Diagnostic err : erreurs) {
+            textes.add(err.toString());
+        }
+        return textes;
+    }
+    
+    /**
+     * Erreurs lexicales avec leur position, dans l'ordre du source
+     */
+    public List<Diagnostic> getDiagnostics() {
+        attendreProducteur();
+        return erreurs;
+    }
+    
+    public boolean aDesErreurs() {
+        attendreProducteur();
+        return !erreurs.isEmpty();
+    }
+    
+    // ==================== MAIN POUR TESTER ====================
+    
+    public static void main(String[] args) {
+        System.out.println("\n╔════════════════════════════════════════════════════╗");
+        System.out.println("║     MINI-COMPILATEUR JAVA - ANALYSEUR LEXICAL     ║");
+        System.out.println("║     Étudiant : Malek Leiticia                     ║");
+        System.out.println("║     Instruction : WHILE                            ║");
+        System.out.println("╚════════════════════════════════════════════════════╝\n");
+        
+        // Projeter le fichier test.java en mémoire
+        ChargeurSource source = ChargeurSource.charger("test.java");
+        
+        if (source == null) {
+            System.err.println("\nCréez un fichier test.java dans le dossier du projet\n");
+            return;
+        }
+        
+        CharSequence code = source.texte();
+        System.out.println("Fichier : test.java");
+        System.out.println("Taille : " + code.length() + " caractères");
+        System.out.println(source.rapport() + "\n");
+        
+        // Créer l'analyseur avec le code chargé
+        // (--trace=off|erreurs|regles|while, défaut : while)
+        AnalyseurLexical lexer = new AnalyseurLexical(code);
+        lexer.setEcouteur(Trace.console(Trace.niveau(args, Trace.WHILE_DETAILLE)));
+        
+        // Analyser (--paralleles=N : un seul gros source découpé sur N threads)
+        int paralleles = 1;
+        for (String a : args) {
+            if (a.startsWith("--paralleles=")) {
+                paralleles = Integer.parseInt(a.substring("--paralleles=".length()));
+            }
+        }
+        long debut = System.nanoTime();
+        lexer.analyserEnParallele(paralleles);
+        long duree = System.nanoTime() - debut;
+        System.out.println(String.format("Débit lexical : %.1f Mo/s (%d caractères en %.3f ms, automate de %d états)\n",
+                                        code.length() / 1e6 / (duree / 1e9), code.length(),
+                                        duree / 1e6, AutomateLexical.nombreEtats()));
+        
+        // Afficher résultats
+        lexer.afficherTokens();
+        lexer.afficherErreurs();
+        
+        // Tokens en binaire pour une autre étape : --ecrire-tokens=fichier
+        for (String a : args) {
+            if (a.startsWith("--ecrire-tokens=")) {
+                String fichier = a.substring("--ecrire-tokens=".length());
+                try {
+                    long octets = FormatTokens.ecrire(lexer, Paths.get(fichier));
+                    System.out.println(String.format("Tokens écrits : %s (%d octets, %.1f octets/token)\n",
+                                                    fichier, octets, (double) octets / lexer.getTampon().taille()));
+                } catch (IOException e) {
+                    System.err.println("Erreur d'écriture : " + e.getMessage());
+                }
+            }
+        }
+        
+        // Résumé
+        if (lexer.aDesErreurs()) {
+            System.out.println("⚠ Compilation terminée avec erreurs\n");
+        } else {
+            System.out.println("✓ Compilation réussie\n");
+        }
+    }
+}
+
@@ -1,608 +1,1536 @@
-/*
- * ====================================================================
- * MINI-COMPILATEUR JAVA - ANALYSEUR SYNTAXIQUE
- * Université A/ Mira de Béjaia - 3ème année Licence
- * Module : Compilation
- * 
- * Étudiant : Malek Leiticia
- * Instruction analysée : WHILE (Descente Récursive)
- * 
- * Grammaire LL(1) :
- * Programme → Classe
- * Classe → public class IDENTIFICATEUR { Methode }
- * Methode → public static void main ( String [] args ) Bloc
- * Bloc → { Instructions }
- * Instructions → Instruction Instructions | ε
- * Instruction → Declaration | Affectation | While | If
- * Declaration → Type IDENTIFICATEUR = Expression ;
- * Type → int | double | float | boolean | String
- * Affectation → IDENTIFICATEUR OpAffect ;
- * OpAffect → = Expression | ++ | --
- * While → while ( Condition ) Bloc
- * If → if ( Condition ) Bloc
- * Condition → Expression OpComp Expression | Expression
- * OpComp → == | != | < | > | <= | >= | && | ||
- * Expression → Terme Suite_Expression
- * Suite_Expression → + Terme Suite_Expression | - Terme Suite_Expression | ε
- * Terme → Facteur Suite_Terme
- * Suite_Terme → * Facteur Suite_Terme | / Facteur Suite_Terme | % Facteur Suite_Terme | ε
- * Facteur → NOMBRE | IDENTIFICATEUR | IDENTIFICATEUR ++ | IDENTIFICATEUR -- | ( Expression )
- * ====================================================================
- */
-package compilateur;
-
-import java.util.ArrayList;
-
-/**
- * Analyseur Syntaxique par Descente Récursive
- * Implémente la grammaire LL(1) non récursive à gauche
- */
-public class AnalyseurSyntaxique {
-    
-    // ==================== ATTRIBUTS ====================
-    
-    private int i;                          // Position actuelle dans les tokens
-    private ArrayList<Token> tokens;        // Liste des tokens à analyser
-    private boolean error;                  // Indicateur d'erreur
-    private ArrayList<String> erreurs;      // Liste des messages d'erreurs
-    
-    // ==================== CONSTRUCTEUR ====================
-    
-    public AnalyseurSyntaxique(ArrayList<Token> tokens) {
-        this.tokens = tokens;
-        this.i = 0;
-        this.error = false;
-        this.erreurs = new ArrayList<>();
-    }
-    
-    // ==================== MÉTHODES UTILITAIRES ====================
-    
-    /**
-     * Retourne le token actuel
-     */
-    private Token tokenActuel() {
-        if (i < tokens.size()) {
-            return tokens.get(i);
-        }
-        return null;
-    }
-    
-    /**
-     * Vérifie si le token actuel a la valeur attendue
-     */
-    private boolean verifierValeur(String valeur) {
-        Token token = tokenActuel();
-        return token != null && token.valeur.equals(valeur);
-    }
-    
-    /**
-     * Vérifie si le token actuel a le type attendu
-     */
-    private boolean verifierType(String type) {
-        Token token = tokenActuel();
-        return token != null && token.type.equals(type);
-    }
-    
-    /**
-     * Ajoute un message d'erreur
-     */
-    private void ajouterErreur(String message) {
-        Token token = tokenActuel();
-        if (token != null) {
-            String err = "Erreur syntaxique ligne " + token.ligne + 
-                        ", colonne " + token.colonne + " : " + message;
-            erreurs.add(err);
-            System.err.println(err);
-        } else {
-            String err = "Erreur syntaxique : " + message + " (fin de fichier)";
-            erreurs.add(err);
-            System.err.println(err);
-        }
-        error = true;
-    }
-    
-    /**
-     * Consomme un token avec une valeur spécifique
-     */
-    private void consommer(String valeur) {
-        if (verifierValeur(valeur)) {
-            i++;
-        } else {
-            ajouterErreur("Attendu '" + valeur + "', obtenu '" + 
-                         (tokenActuel() != null ? tokenActuel().valeur : "EOF") + "'");
-        }
-    }
-    
-    /**
-     * Consomme un token avec un type spécifique
-     */
-    private void consommerType(String type) {
-        if (verifierType(type)) {
-            i++;
-        } else {
-            ajouterErreur("Attendu type " + type + ", obtenu " + 
-                         (tokenActuel() != null ? tokenActuel().type : "EOF"));
-        }
-    }
-    
-    // ==================== MÉTHODE PRINCIPALE ====================
-    
-    /**
-     * Méthode Z - Point d'entrée de l'analyse syntaxique
-     */
-    public void Z() {
-        System.out.println("\n>>> Début de l'analyse syntaxique...\n");
-        
-        i = 0;
-        error = false;
-        erreurs.clear();
-        
-        Programme();
-        
-        // Vérification finale : on doit être à EOF
-        if (verifierType("EOF") && i == tokens.size() - 1 && !error) {
-            System.out.println("\n✓ PROGRAMME ACCEPTÉ");
-            System.out.println("Le programme est syntaxiquement correct.\n");
-        } else {
-            System.err.println("\n✗ PROGRAMME REJETÉ");
-            if (!verifierType("EOF")) {
-                System.err.println("Tokens inattendus après la fin du programme");
-            }
-            System.err.println();
-        }
-    }
-    
-    // ==================== RÈGLES DE GRAMMAIRE ====================
-    
-    /**
-     * Règle : Programme → Classe
-     */
-    private void Programme() {
-        System.out.println("[PROGRAMME] Analyse du programme");
-        Classe();
-    }
-    
-    /**
-     * Règle : Classe → public class IDENTIFICATEUR { Methode }
-     */
-    private void Classe() {
-        System.out.println("[CLASSE] Analyse de la classe");
-        
-        consommer("public");
-        consommer("class");
-        
-        if (verifierType("IDENTIFICATEUR") || verifierType("MOT_CLE")) {
-            System.out.println("[CLASSE] Nom de classe : " + tokenActuel().valeur);
-            i++;
-        } else {
-            ajouterErreur("Nom de classe attendu");
-        }
-        
-        consommerType("ACCOLADE_OUVRANTE");
-        Methode();
-        consommerType("ACCOLADE_FERMANTE");
-    }
-    
-    /**
-     * Règle : Methode → public static void main ( String [] args ) Bloc
-     */
-    private void Methode() {
-        System.out.println("[METHODE] Analyse de la méthode main");
-        
-        consommer("public");
-        consommer("static");
-        consommer("void");
-        consommer("main");
-        consommerType("PAREN_OUVRANT");
-        consommer("String");
-        consommerType("CROCHET_OUVRANT");
-        consommerType("CROCHET_FERMANT");
-        
-        if (verifierType("IDENTIFICATEUR")) {
-            i++;
-        } else {
-            ajouterErreur("Nom de paramètre attendu");
-        }
-        
-        consommerType("PAREN_FERMANT");
-        Bloc();
-    }
-    
-    /**
-     * Règle : Bloc → { Instructions }
-     */
-    private void Bloc() {
-        consommerType("ACCOLADE_OUVRANTE");
-        Instructions();
-        consommerType("ACCOLADE_FERMANTE");
-    }
-    
-    /**
-     * Règle : Instructions → Instruction Instructions | ε
-     */
-    private void Instructions() {
-        while (tokenActuel() != null && 
-               !verifierType("ACCOLADE_FERMANTE") &&
-               !verifierType("EOF")) {
-            Instruction();
-        }
-        // ε (epsilon) : sortie de boucle
-    }
-    
-    /**
-     * Règle : Instruction → Declaration | Affectation | While | If
-     */
-    private void Instruction() {
-        Token token = tokenActuel();
-        
-        if (token == null) {
-            return;
-        }
-        
-        // While (analyse détaillée)
-        if (verifierValeur("while")) {
-            While();
-        }
-        // If (reconnu mais ignoré)
-        else if (verifierValeur("if")) {
-            System.out.println("[IF] Instruction IF reconnue (ignorée)");
-            IgnorerIf();
-        }
-        // For (reconnu mais ignoré)
-        else if (verifierValeur("for")) {
-            System.out.println("[FOR] Instruction FOR reconnue (ignorée)");
-            IgnorerFor();
-        }
-        // Declaration (commence par un type)
-        else if (verifierValeur("int") || verifierValeur("double") || 
-                 verifierValeur("float") || verifierValeur("boolean") || 
-                 verifierValeur("String")) {
-            Declaration();
-        }
-        // Affectation (commence par un identificateur)
-        else if (verifierType("IDENTIFICATEUR") || verifierType("MOT_CLE")) {
-            Affectation();
-        }
-        else {
-            ajouterErreur("Instruction invalide : '" + token.valeur + "'");
-            i++;
-        }
-    }
-    
-    /**
-     * Règle : Declaration → Type IDENTIFICATEUR = Expression ;
-     */
-    private void Declaration() {
-        System.out.println("[DECLARATION] Analyse d'une déclaration");
-        
-        Type();
-        
-        if (verifierType("IDENTIFICATEUR") || verifierType("MOT_CLE")) {
-            System.out.println("[DECLARATION] Variable : " + tokenActuel().valeur);
-            i++;
-        } else {
-            ajouterErreur("Nom de variable attendu");
-        }
-        
-        consommerType("AFFECTATION");
-        Expression();
-        consommerType("POINT_VIRGULE");
-    }
-    
-    /**
-     * Règle : Type → int | double | float | boolean | String
-     */
-    private void Type() {
-        if (verifierValeur("int") || verifierValeur("double") || 
-            verifierValeur("float") || verifierValeur("boolean") || 
-            verifierValeur("String")) {
-            i++;
-        } else {
-            ajouterErreur("Type de données invalide");
-        }
-    }
-    
-    /**
-     * Règle : Affectation → IDENTIFICATEUR OpAffect ;
-     */
-    private void Affectation() {
-        System.out.println("[AFFECTATION] Analyse d'une affectation");
-        
-        if (verifierType("IDENTIFICATEUR") || verifierType("MOT_CLE")) {
-            i++;
-        } else {
-            ajouterErreur("Identificateur attendu");
-            return;
-        }
-        
-        OpAffect();
-        consommerType("POINT_VIRGULE");
-    }
-    
-    /**
-     * Règle : OpAffect → = Expression | ++ | --
-     */
-    private void OpAffect() {
-        if (verifierType("AFFECTATION")) {
-            i++;
-            Expression();
-        } else if (verifierType("INCREMENT") || verifierType("DECREMENT")) {
-            i++;
-        } else {
-            ajouterErreur("Opérateur d'affectation attendu (=, ++, --)");
-        }
-    }
-    
-    /**
-     * Règle : While → while ( Condition ) Bloc
-     * INSTRUCTION PRINCIPALE - ANALYSE DÉTAILLÉE
-     */
-    private void While() {
-        System.out.println("\n========================================");
-        System.out.println("[WHILE] *** ANALYSE DÉTAILLÉE DE WHILE ***");
-        System.out.println("========================================");
-        
-        if (!verifierValeur("while")) {
-            ajouterErreur("Mot-clé 'while' attendu");
-            return;
-        }
-        i++;
-        System.out.println("[WHILE] Mot-clé 'while' reconnu");
-        
-        if (!verifierType("PAREN_OUVRANT")) {
-            ajouterErreur("Parenthèse ouvrante '(' attendue");
-            System.err.println("[WHILE] Erreur : parenthèse ouvrante manquante");
-            return;
-        }
-        i++;
-        System.out.println("[WHILE] Parenthèse ouvrante '(' trouvée");
-        
-        System.out.println("[WHILE] Analyse de la condition...");
-        Condition();
-        System.out.println("[WHILE] Condition analysée");
-        
-        if (!verifierType("PAREN_FERMANT")) {
-            ajouterErreur("Parenthèse fermante ')' attendue");
-            System.err.println("[WHILE] Erreur : parenthèse fermante manquante");
-            return;
-        }
-        i++;
-        System.out.println("[WHILE] Parenthèse fermante ')' trouvée");
-        
-        System.out.println("[WHILE] Analyse du bloc d'instructions...");
-        Bloc();
-        System.out.println("[WHILE] Bloc analysé avec succès");
-        
-        System.out.println("[WHILE] *** FIN DE L'ANALYSE DE WHILE ***");
-        System.out.println("========================================\n");
-    }
-    
-    /**
-     * Ignore l'instruction if
-     */
-    private void IgnorerIf() {
-        i++; // if
-        
-        if (verifierType("PAREN_OUVRANT")) {
-            i++;
-            int profondeur = 1;
-            while (tokenActuel() != null && profondeur > 0) {
-                if (verifierType("PAREN_OUVRANT")) profondeur++;
-                if (verifierType("PAREN_FERMANT")) profondeur--;
-                i++;
-            }
-        }
-        
-        if (verifierType("ACCOLADE_OUVRANTE")) {
-            i++;
-            int profondeur = 1;
-            while (tokenActuel() != null && profondeur > 0) {
-                if (verifierType("ACCOLADE_OUVRANTE")) profondeur++;
-                if (verifierType("ACCOLADE_FERMANTE")) profondeur--;
-                i++;
-            }
-        }
-    }
-    
-    /**
-     * Ignore l'instruction for
-     */
-    private void IgnorerFor() {
-        i++; // for
-        
-        if (verifierType("PAREN_OUVRANT")) {
-            i++;
-            int profondeur = 1;
-            while (tokenActuel() != null && profondeur > 0) {
-                if (verifierType("PAREN_OUVRANT")) profondeur++;
-                if (verifierType("PAREN_FERMANT")) profondeur--;
-                i++;
-            }
-        }
-        
-        if (verifierType("ACCOLADE_OUVRANTE")) {
-            i++;
-            int profondeur = 1;
-            while (tokenActuel() != null && profondeur > 0) {
-                if (verifierType("ACCOLADE_OUVRANTE")) profondeur++;
-                if (verifierType("ACCOLADE_FERMANTE")) profondeur--;
-                i++;
-            }
-        }
-    }
-    
-    /**
-     * Règle : Condition → Expression OpComp Expression | Expression
-     */
-    private void Condition() {
-        Expression();
-        
-        // OpComp optionnel
-        if (verifierType("EGAL") || verifierType("DIFFERENT") || 
-            verifierType("INFERIEUR") || verifierType("SUPERIEUR") || 
-            verifierType("INFERIEUR_EGAL") || verifierType("SUPERIEUR_EGAL") ||
-            verifierType("ET_LOGIQUE") || verifierType("OU_LOGIQUE")) {
-            i++;
-            Expression();
-        }
-    }
-    
-    /**
-     * Règle : Expression → Terme Suite_Expression
-     */
-    private void Expression() {
-        Terme();
-        Suite_Expression();
-    }
-    
-    /**
-     * Règle : Suite_Expression → + Terme Suite_Expression 
-     *                          | - Terme Suite_Expression 
-     *                          | ε
-     */
-    private void Suite_Expression() {
-        if (verifierType("PLUS") || verifierType("MOINS")) {
-            i++;
-            Terme();
-            Suite_Expression(); // Appel récursif
-        }
-        // ε (epsilon) : ne rien faire
-    }
-    
-    /**
-     * Règle : Terme → Facteur Suite_Terme
-     */
-    private void Terme() {
-        Facteur();
-        Suite_Terme();
-    }
-    
-    /**
-     * Règle : Suite_Terme → * Facteur Suite_Terme 
-     *                      | / Facteur Suite_Terme 
-     *                      | % Facteur Suite_Terme 
-     *                      | ε
-     */
-    private void Suite_Terme() {
-        if (verifierType("FOIS") || verifierType("DIVISION") || verifierType("MODULO")) {
-            i++;
-            Facteur();
-            Suite_Terme(); // Appel récursif
-        }
-        // ε (epsilon) : ne rien faire
-    }
-    
-    /**
-     * Règle : Facteur → NOMBRE 
-     *                 | IDENTIFICATEUR 
-     *                 | IDENTIFICATEUR ++ 
-     *                 | IDENTIFICATEUR -- 
-     *                 | ( Expression )
-     */
-    private void Facteur() {
-        Token token = tokenActuel();
-        
-        if (token == null) {
-            ajouterErreur("Facteur attendu");
-            return;
-        }
-        
-        // Nombre
-        if (verifierType("NOMBRE_ENTIER") || verifierType("NOMBRE_DECIMAL")) {
-            i++;
-        }
-        // Identificateur
-        else if (verifierType("IDENTIFICATEUR") || verifierType("MOT_CLE")) {
-            i++;
-            // Vérifier si suivi de ++ ou --
-            if (verifierType("INCREMENT") || verifierType("DECREMENT")) {
-                i++;
-            }
-        }
-        // ( Expression )
-        else if (verifierType("PAREN_OUVRANT")) {
-            i++;
-            Expression();
-            consommerType("PAREN_FERMANT");
-        }
-        else {
-            ajouterErreur("Facteur invalide : nombre, identificateur ou (expression) attendu");
-        }
-    }
-    
-    // ==================== AFFICHAGE ====================
-    
-    /**
-     * Affiche les erreurs syntaxiques
-     */
-    public void afficherErreurs() {
-        if (erreurs.isEmpty()) {
-           if (error) {
-            // Il y a eu une erreur mais la liste est vide ?
-            System.out.println("⚠ Erreurs détectées pendant l'analyse\n");
-        } else {
-            System.out.println("✓ Aucune erreur syntaxique détectée\n");
-        }
-        } else {
-            System.out.println("\n" + "=".repeat(70));
-            System.out.println("                  ERREURS SYNTAXIQUES DÉTECTÉES");
-            System.out.println("=".repeat(70));
-            for (String err : erreurs) {
-                System.out.println("✗ " + err);
-            }
-            System.out.println("=".repeat(70));
-            System.out.println("Total : " + erreurs.size() + " erreurs\n");
-        }
-    }
-    
-    /**
-     * Retourne true s'il y a des erreurs
-     */
-    public boolean aDesErreurs() {
-        return !erreurs.isEmpty();
-    }
-    
-    // ==================== MAIN POUR TESTER ====================
-    
-    public static void main(String[] args) {
-        System.out.println("\n╔════════════════════════════════════════════════════╗");
-        System.out.println("║   MINI-COMPILATEUR JAVA - ANALYSEUR SYNTAXIQUE    ║");
-        System.out.println("║   Étudiant : Malek Leiticia                       ║");
-        System.out.println("║   Instruction : WHILE (Descente Récursive)        ║");
-        System.out.println("╚════════════════════════════════════════════════════╝\n");
-        
-        // Créer l'analyseur lexical
-        AnalyseurLexical lexer = new AnalyseurLexical("");
-        String code = lexer.lireFichier("test.java");//chemin relatif
-        
-        if (code == null) {
-            System.err.println("Erreur : Impossible de lire test.java\n");
-            return;
-        }
-        
-        System.out.println("Fichier : test.java");
-        System.out.println("Taille : " + code.length() + " caractères\n");
-        
-        // Analyse lexicale
-        lexer = new AnalyseurLexical(code);
-        lexer.analyser();
-        lexer.afficherTokens();
-        lexer.afficherErreurs();
-        
-        // Si erreurs lexicales, ne pas continuer
-        if (lexer.aDesErreurs()) {
-            System.err.println("⚠ Impossible de continuer : erreurs lexicales détectées\n");
-            return;
-        }
-        
-        System.out.println("\n" + "=".repeat(70));
-        System.out.println("     PASSAGE À L'ANALYSE SYNTAXIQUE");
-        System.out.println("=".repeat(70) + "\n");
-        
-        // Analyse syntaxique
-        AnalyseurSyntaxique parser = new AnalyseurSyntaxique(lexer.getTokens());
-        parser.Z();
-        parser.afficherErreurs();
-    }
-}
-
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - ANALYSEUR SYNTAXIQUE
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ * 
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE (Descente Récursive)
+ * 
+ * Grammaire LL(1) :
+ * Programme → Classe
+ * Classe → public class IDENTIFICATEUR { Methode }
+ * Methode → public static void main ( String [] args ) Bloc
+ * Bloc → { Instructions }
+ * Instructions → Instruction Instructions | ε
+ * Instruction → Declaration | Affectation | While | If
+ * Declaration → Type IDENTIFICATEUR = Expression ;
+ * Type → int | double | float | boolean | String
+ * Affectation → IDENTIFICATEUR OpAffect ;
+ * OpAffect → = Expression | ++ | --
+ * While → while ( Condition ) Bloc
+ * If → if ( Condition ) Bloc
+ * Condition → Expression OpComp Expression | Expression
+ * OpComp → == | != | < | > | <= | >= | && | ||
+ * Expression → Terme Suite_Expression
+ * Suite_Expression → + Terme Suite_Expression | - Terme Suite_Expression | ε
+ * Terme → Facteur Suite_Terme
+ * Suite_Terme → * Facteur Suite_Terme | / Facteur Suite_Terme | % Facteur Suite_Terme | ε
+ * Facteur → NOMBRE | IDENTIFICATEUR | IDENTIFICATEUR ++ | IDENTIFICATEUR -- | ( Expression )
+ *
+ * En mode tampon, chaque règle retourne le nœud construit dans
+ * l'ArbreSyntaxique (ArbreSyntaxique.AUCUN dans les autres modes).
+ * ====================================================================
+ */
+package compilateur;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Analyseur Syntaxique par Descente Récursive
+ * Implémente la grammaire LL(1) non récursive à gauche
+ */
+public class AnalyseurSyntaxique {
+    
+    // ==================== ATTRIBUTS ====================
+    
+    private TamponTokens tampon;            // Tokens à analyser (null en mode flux)
+    private TamponTokens.Curseur curseurTampon;     // Même objet que curseur (mode tampon)
+    private AnalyseurLexical lexer;         // Source du mode flux (null sinon)
+    private FluxTokens curseur;             // Position actuelle dans les tokens
+    private boolean error;                  // Indicateur d'erreur
+    private boolean accepte;                // Verdict de la dernière analyse
+    private ArrayList<Diagnostic> erreurs;  // Liste des erreurs
+    private EcouteurAnalyse trace;          // Messages de l'analyse (Trace.SILENCE : aucun)
+    private ArbreSyntaxique arbre;          // Arbre de la dernière analyse (mode tampon seulement)
+    private int profondeurMax = PROFONDEUR_MAX;     // Blocs (ou parenthèses) ouverts au plus
+    private int profondeur;                 // Blocs ouverts
+    private int[] pileExpression = new int[64];     // Opérandes en attente des ( Expression ) ouvertes
+    private boolean panique;                // Erreur non encore synchronisée : les suivantes sont tues
+    private int erreursMax = ERREURS_MAX;   // Diagnostics gardés par analyse
+    private int erreursIgnorees;            // Au-delà de erreursMax
+    private Diagnostic premiereIgnoree;     // Position du résumé "Trop d'erreurs"
+    
+    // Mode incrémental (null sinon)
+    private EditeurLexical editeur;                 // Tokens maintenus par l'éditeur
+    private EditeurLexical.Curseur curseurEditeur;  // Même objet que curseur
+    private HashMap<Long, Derivation> memo;         // (identifiant du 1er token, règle) → dérivation
+    private int[] indexErreurs;                     // Token de chaque erreur (parallèle à erreurs)
+    private int derivationsReutilisees;
+    private int tokensReutilises;
+    
+    // ==================== DÉRIVATIONS MÉMORISÉES ====================
+    
+    // Règles mémorisées ; REGLE_SUITE + n (n >= 1) : suite d'instructions de niveau n
+    private static final int REGLE_BLOC = 0;
+    private static final int REGLE_WHILE = 1;
+    private static final int REGLE_SUITE = 1;
+    private static final int NIVEAU_MAX = 24;
+    
+    /**
+     * Résultat d'une règle appliquée à partir d'un token : nombre de tokens
+     * consommés, empreinte des tokens lus (un de plus : le token suivant
+     * décide de la fin de la règle), erreurs, repérées par leur token,
+     * mode panique en sortie, et imbrication au début de la règle (la même
+     * suite de tokens plus profonde peut dépasser profondeurMax)
+     */
+    private static final class Derivation {
+        final int longueur;
+        final long empreinte;
+        final int[] erreursRelatives;
+        final Diagnostic[] erreurs;
+        final boolean panique;          // Mode panique à la fin de la règle
+        final int profondeur;           // Blocs ouverts au début de la règle
+        final int profondeurMax;
+        
+        Derivation(int longueur, long empreinte, int[] erreursRelatives, Diagnostic[] erreurs,
+                   boolean panique, int profondeur, int profondeurMax) {
+            this.longueur = longueur;
+            this.empreinte = empreinte;
+            this.erreursRelatives = erreursRelatives;
+            this.erreurs = erreurs;
+            this.panique = panique;
+            this.profondeur = profondeur;
+            this.profondeurMax = profondeurMax;
+        }
+    }
+    
+    // Imbrication par défaut ; au-delà, un seul diagnostic et le groupe est sauté
+    public static final int PROFONDEUR_MAX = 10_000;
+    
+    // Diagnostics gardés par défaut pour une analyse (comme javac -Xmaxerrs)
+    public static final int ERREURS_MAX = 100;
+    
+    // ==================== ENSEMBLES PREMIERS (MASQUES) ====================
+    
+    // Identificateur (les mots-clés sont acceptés comme noms)
+    private static final long M_IDENT = TypeToken.masque(TypeToken.IDENTIFICATEUR)
+            | TypeToken.intervalle(TypeToken.PREMIER_MOT_CLE, TypeToken.NOMBRE_TYPES - 1);
+    
+    // Type → int | double | float | boolean | String
+    private static final long M_TYPE = TypeToken.masque(
+            TypeToken.MC_INT, TypeToken.MC_DOUBLE, TypeToken.MC_FLOAT,
+            TypeToken.MC_BOOLEAN, TypeToken.MC_STRING);
+    
+    // OpComp → == | != | < | > | <= | >= | && | ||
+    private static final long M_OP_COMP = TypeToken.masque(
+            TypeToken.EGAL, TypeToken.DIFFERENT, TypeToken.INFERIEUR, TypeToken.SUPERIEUR,
+            TypeToken.INFERIEUR_EGAL, TypeToken.SUPERIEUR_EGAL,
+            TypeToken.ET_LOGIQUE, TypeToken.OU_LOGIQUE);
+    
+    private static final long M_NOMBRE = TypeToken.masque(
+            TypeToken.NOMBRE_ENTIER, TypeToken.NOMBRE_DECIMAL);
+    
+    private static final long M_ADDITIF = TypeToken.masque(TypeToken.PLUS, TypeToken.MOINS);
+    
+    private static final long M_MULTIPLICATIF = TypeToken.masque(
+            TypeToken.FOIS, TypeToken.DIVISION, TypeToken.MODULO);
+    
+    private static final long M_INCR_DECR = TypeToken.masque(
+            TypeToken.INCREMENT, TypeToken.DECREMENT);
+    
+    // Synchronisation du mode panique : SUIVANT(Instruction) sans ';' (consommé
+    // à part) et sans les identificateurs, qui apparaissent aussi dans une
+    // expression mal formée
+    private static final long M_SYNCHRO = M_TYPE | TypeToken.masque(
+            TypeToken.MC_WHILE, TypeToken.MC_IF, TypeToken.MC_FOR,
+            TypeToken.ACCOLADE_FERMANTE, TypeToken.EOF);
+    
+    // ==================== CONSTRUCTEUR ====================
+    
+    public AnalyseurSyntaxique(TamponTokens tampon) {
+        this.tampon = tampon;
+        this.curseurTampon = tampon.curseur();
+        this.curseur = curseurTampon;
+        this.error = false;
+        this.erreurs = new ArrayList<>();
+        this.trace = Trace.console(Trace.WHILE_DETAILLE);
+    }
+    
+    /**
+     * Mode flux : les tokens sont demandés au lexer au fil de l'analyse.
+     * Z() ne peut alors être appelée qu'une fois.
+     */
+    public AnalyseurSyntaxique(AnalyseurLexical lexer) {
+        this(lexer, lexer.flux());
+    }
+    
+    private AnalyseurSyntaxique(AnalyseurLexical lexer, FluxTokens curseur) {
+        this.lexer = lexer;
+        this.curseur = curseur;
+        this.error = false;
+        this.erreurs = new ArrayList<>();
+        this.trace = Trace.console(Trace.WHILE_DETAILLE);
+    }
+    
+    /**
+     * Mode pipeline : comme le mode flux, mais le lexer tourne sur son
+     * propre thread (voir AnalyseurLexical.pipeline()) et garde jusqu'à
+     * quelques milliers de tokens d'avance sur l'analyse.
+     * Z() ne peut alors être appelée qu'une fois.
+     */
+    public static AnalyseurSyntaxique pipeline(AnalyseurLexical lexer) {
+        return new AnalyseurSyntaxique(lexer, lexer.pipeline());
+    }
+    
+    /**
+     * Mode incrémental : les tokens viennent d'un EditeurLexical et Z() peut
+     * être rappelée après chaque modification. Les dérivations de Bloc, de
+     * While et des suites d'instructions sont mémorisées ; celles dont les
+     * tokens n'ont pas changé sont reprises telles quelles (erreurs
+     * comprises, replacées à leur nouvelle position). Les règles reprises ne
+     * produisent pas d'événements de trace.
+     */
+    public AnalyseurSyntaxique(EditeurLexical editeur) {
+        this.editeur = editeur;
+        this.curseurEditeur = editeur.curseur();
+        this.curseur = curseurEditeur;
+        this.memo = new HashMap<>();
+        this.indexErreurs = new int[16];
+        this.error = false;
+        this.erreurs = new ArrayList<>();
+        this.trace = Trace.console(Trace.WHILE_DETAILLE);
+    }
+    
+    /**
+     * Compatibilité : accepte aussi une liste de Token
+     */
+    public AnalyseurSyntaxique(List<Token> tokens) {
+        this(TamponTokens.depuis(tokens));
+    }
+    
+    /**
+     * Remplace l'écouteur (par défaut : console, niveau WHILE_DETAILLE)
+     */
+    public void setEcouteur(EcouteurAnalyse ecouteur) {
+        this.trace = ecouteur;
+    }
+    
+    /**
+     * Imbrication maximale des blocs, et des parenthèses d'une expression
+     * (par défaut PROFONDEUR_MAX)
+     */
+    public void setProfondeurMax(int profondeurMax) {
+        this.profondeurMax = Math.max(1, profondeurMax);
+    }
+    
+    /**
+     * Diagnostics gardés par analyse (par défaut ERREURS_MAX) ; les
+     * suivants sont seulement comptés (getErreursIgnorees())
+     */
+    public void setErreursMax(int erreursMax) {
+        this.erreursMax = Math.max(1, erreursMax);
+    }
+    
+    // ==================== MÉTHODES UTILITAIRES ====================
+    
+    /**
+     * Vérifie si le token actuel a la valeur attendue
+     */
+    private boolean verifierValeur(String valeur) {
+        return curseur.valeurEgale(valeur);
+    }
+    
+    /**
+     * Vérifie si le token actuel a le type attendu
+     */
+    private boolean verifierType(int type) {
+        return curseur.type() == type;
+    }
+    
+    /**
+     * Vérifie si le type du token actuel appartient à un ensemble
+     */
+    private boolean verifierDans(long masque) {
+        return TypeToken.dans(masque, curseur.type());
+    }
+    
+    /**
+     * Valeur du token actuel pour les messages ("EOF" au-delà de la fin)
+     */
+    private String valeurActuelle() {
+        return curseur.horsLimites() ? "EOF" : curseur.valeur();
+    }
+    
+    /**
+     * Ajoute une erreur ; le message (format String.format) n'est
+     * construit que si l'écouteur ou l'appelant le lit. En mode panique
+     * (erreur précédente non synchronisée), l'erreur est tue : une région
+     * erronée ne donne qu'un diagnostic.
+     */
+    private void ajouterErreur(String modele, Object... arguments) {
+        error = true;
+        if (panique) {
+            return;
+        }
+        panique = true;
+        Diagnostic err;
+        if (!curseur.horsLimites()) {
+            err = new Diagnostic(Diagnostic.SYNTAXIQUE, curseur.debut(),
+                                 curseur.ligne(), curseur.colonne(), modele, arguments);
+        } else {
+            err = new Diagnostic(Diagnostic.SYNTAXIQUE, curseur.debut(), 0, 0, modele, arguments);
+        }
+        if (editeur != null) {
+            noterIndexErreur(curseur.index());
+        }
+        signaler(err);
+    }
+    
+    /**
+     * Garde le diagnostic s'il est parmi les erreursMax premiers ; au-delà,
+     * il n'est que compté. En mode incrémental, tous sont gardés jusqu'à la
+     * fin de Z() : une dérivation mémorisée doit connaître toutes ses erreurs.
+     */
+    private void signaler(Diagnostic err) {
+        if (erreurs.size() < erreursMax || editeur != null) {
+            erreurs.add(err);
+            if (erreurs.size() <= erreursMax) {
+                trace.diagnostic(err);
+            }
+            return;
+        }
+        if (erreursIgnorees == 0) {
+            premiereIgnoree = err;
+        }
+        erreursIgnorees++;
+    }
+    
+    /**
+     * Mode panique : saute les tokens jusqu'à un point de synchronisation,
+     * après un ';' ou devant '}', EOF ou un mot-clé qui commence une
+     * instruction. Un bloc { ... } rencontré est sauté en entier (son '}'
+     * ne doit pas fermer le bloc englobant) et termine la région.
+     */
+    private void Synchroniser() {
+        while (!curseur.horsLimites() && !verifierDans(M_SYNCHRO)) {
+            if (verifierType(TypeToken.ACCOLADE_OUVRANTE)) {
+                sauterGroupe(TypeToken.ACCOLADE_OUVRANTE, TypeToken.ACCOLADE_FERMANTE);
+                break;
+            }
+            boolean finInstruction = verifierType(TypeToken.POINT_VIRGULE);
+            curseur.avancer();
+            if (finInstruction) {
+                break;
+            }
+        }
+        panique = false;
+    }
+    
+    private void noterIndexErreur(int index) {
+        if (erreurs.size() == indexErreurs.length) {
+            indexErreurs = Arrays.copyOf(indexErreurs, 2 * indexErreurs.length);
+        }
+        indexErreurs[erreurs.size()] = index;
+    }
+    
+    /**
+     * Nouveau nœud sur le token actuel (aucun hors mode tampon)
+     */
+    private int noeud(int genre) {
+        return (arbre == null) ? ArbreSyntaxique.AUCUN : arbre.ajouter(genre, curseur.index());
+    }
+    
+    private int noeud(int genre, int token) {
+        return (arbre == null) ? ArbreSyntaxique.AUCUN : arbre.ajouter(genre, token);
+    }
+    
+    /**
+     * Accroche enfant sous parent après precedent ; retourne le dernier enfant
+     */
+    private int lier(int parent, int precedent, int enfant) {
+        return (arbre == null) ? precedent : arbre.lier(parent, precedent, enfant);
+    }
+    
+    /**
+     * Nœud opérateur avec ses deux opérandes
+     */
+    private int binaire(int operateur, int gauche, int droite) {
+        lier(operateur, lier(operateur, ArbreSyntaxique.AUCUN, gauche), droite);
+        return operateur;
+    }
+    
+    /**
+     * Saute un groupe équilibré ouvrant ... fermant (le token actuel est
+     * l'ouvrant), sans autre erreur. En mode tampon, le lexer a apparié
+     * les délimiteurs : saut direct après la fermante (à la fin s'il n'y
+     * en a pas, comme le parcours).
+     */
+    private void sauterGroupe(int ouvrant, int fermant) {
+        if (curseurTampon != null) {
+            int partenaire = tampon.partenaire(curseur.index());
+            curseurTampon.positionner(partenaire == TamponTokens.SANS_PARTENAIRE
+                                      ? tampon.taille() : partenaire + 1);
+            return;
+        }
+        curseur.avancer();
+        int niveau = 1;
+        while (!curseur.horsLimites() && niveau > 0) {
+            if (verifierType(ouvrant)) niveau++;
+            if (verifierType(fermant)) niveau--;
+            curseur.avancer();
+        }
+    }
+    
+    /**
+     * Consomme un token avec une valeur spécifique
+     */
+    private void consommer(String valeur) {
+        if (verifierValeur(valeur)) {
+            curseur.avancer();
+        } else {
+            ajouterErreur("Attendu '%s', obtenu '%s'", valeur, valeurActuelle());
+        }
+    }
+    
+    /**
+     * Consomme un mot-clé donné par son code
+     */
+    private void consommerMotCle(int motCle) {
+        if (verifierType(motCle)) {
+            curseur.avancer();
+        } else {
+            ajouterErreur("Attendu '%s', obtenu '%s'", TypeToken.texteMotCle(motCle), valeurActuelle());
+        }
+    }
+    
+    /**
+     * Consomme un token avec un type spécifique
+     */
+    private void consommerType(int type) {
+        if (verifierType(type)) {
+            curseur.avancer();
+            if (type == TypeToken.POINT_VIRGULE) {
+                panique = false;    // Fin de l'instruction erronée : la région est close
+            }
+        } else {
+            ajouterErreur("Attendu type %s, obtenu %s", TypeToken.nom(type), TypeToken.nom(curseur.type()));
+        }
+    }
+    
+    // ==================== MÉTHODE PRINCIPALE ====================
+    
+    /**
+     * Méthode Z - Point d'entrée de l'analyse syntaxique
+     */
+    public void Z() {
+        trace.evenement(EcouteurAnalyse.SYNTAXE_DEBUT, null);
+        
+        if (tampon != null) {
+            curseurTampon = tampon.curseur();
+            curseur = curseurTampon;
+            arbre = new ArbreSyntaxique(tampon);
+        } else if (editeur != null) {
+            // Tokens renumérotés par la dernière modification
+            curseurEditeur = editeur.curseur();
+            curseur = curseurEditeur;
+            derivationsReutilisees = 0;
+            tokensReutilises = 0;
+            if (memo.size() > 4 * editeur.taille() + 1024) {
+                memo.clear();
+            }
+        }
+        error = false;
+        erreurs.clear();
+        profondeur = 0;
+        panique = false;
+        erreursIgnorees = 0;
+        premiereIgnoree = null;
+        
+        int programme = Programme();
+        if (arbre != null) {
+            arbre.setRacine(programme);
+        }
+        
+        // Au-delà de erreursMax, les diagnostics sont remplacés par leur nombre
+        // (mode incrémental : ceux gardés pour les dérivations sont retirés ici)
+        if (erreurs.size() > erreursMax) {
+            premiereIgnoree = erreurs.get(erreursMax);
+            erreursIgnorees = erreurs.size() - erreursMax;
+            erreurs.subList(erreursMax, erreurs.size()).clear();
+        }
+        if (erreursIgnorees > 0) {
+            Diagnostic resume = new Diagnostic(Diagnostic.SYNTAXIQUE, premiereIgnoree.getPosition(),
+                    premiereIgnoree.getLigne(), premiereIgnoree.getColonne(),
+                    "Trop d'erreurs : %d autres ignorées", erreursIgnorees);
+            erreurs.add(resume);
+            trace.diagnostic(resume);
+        }
+        
+        // Vérification finale : on doit être à EOF
+        boolean finAtteinte = verifierType(TypeToken.EOF);
+        accepte = finAtteinte && !error;
+        trace.verdict(accepte, finAtteinte);
+    }
+    
+    // ==================== RÈGLES DE GRAMMAIRE ====================
+    
+    /**
+     * Règle : Programme → Classe
+     */
+    private int Programme() {
+        trace.evenement(EcouteurAnalyse.PROGRAMME, curseur);
+        int programme = noeud(ArbreSyntaxique.PROGRAMME);
+        lier(programme, ArbreSyntaxique.AUCUN, Classe());
+        return programme;
+    }
+    
+    /**
+     * Règle : Classe → public class IDENTIFICATEUR { Methode }
+     */
+    private int Classe() {
+        trace.evenement(EcouteurAnalyse.CLASSE, curseur);
+        
+        consommerMotCle(TypeToken.MC_PUBLIC);
+        consommerMotCle(TypeToken.MC_CLASS);
+        
+        int nom = ArbreSyntaxique.AUCUN;
+        if (verifierDans(M_IDENT)) {
+            trace.evenement(EcouteurAnalyse.CLASSE_NOM, curseur);
+            nom = curseur.index();
+            curseur.avancer();
+        } else {
+            ajouterErreur("Nom de classe attendu");
+        }
+        
+        consommerType(TypeToken.ACCOLADE_OUVRANTE);
+        int methode = Methode();
+        consommerType(TypeToken.ACCOLADE_FERMANTE);
+        
+        int classe = noeud(ArbreSyntaxique.CLASSE, nom);
+        lier(classe, ArbreSyntaxique.AUCUN, methode);
+        return classe;
+    }
+    
+    /**
+     * Règle : Methode → public static void main ( String [] args ) Bloc
+     */
+    private int Methode() {
+        trace.evenement(EcouteurAnalyse.METHODE, curseur);
+        
+        consommerMotCle(TypeToken.MC_PUBLIC);
+        consommerMotCle(TypeToken.MC_STATIC);
+        consommerMotCle(TypeToken.MC_VOID);
+        int methode = noeud(ArbreSyntaxique.METHODE,
+                            verifierValeur("main") ? curseur.index() : ArbreSyntaxique.AUCUN);
+        consommer("main");
+        consommerType(TypeToken.PAREN_OUVRANT);
+        consommerMotCle(TypeToken.MC_STRING);
+        consommerType(TypeToken.CROCHET_OUVRANT);
+        consommerType(TypeToken.CROCHET_FERMANT);
+        
+        if (verifierType(TypeToken.IDENTIFICATEUR)) {
+            curseur.avancer();
+        } else {
+            ajouterErreur("Nom de paramètre attendu");
+        }
+        
+        consommerType(TypeToken.PAREN_FERMANT);
+        lier(methode, ArbreSyntaxique.AUCUN, Bloc());
+        return methode;
+    }
+    
+    // Résultat de While() et de OuvrirBloc() quand la règle attend son bloc sur la pile
+    private static final int EN_ATTENTE = -2;
+    
+    // Expression() : aucun opérateur en attente (noeud() vaut AUCUN hors mode tampon)
+    private static final int SANS_OPERATEUR = Integer.MIN_VALUE;
+    
+    /**
+     * Bloc ouvert, ou while dont le corps est en cours d'analyse
+     */
+    private static final class Cadre {
+        final boolean boucle;           // true : While en attente de son Bloc
+        final int noeud;                // Nœud BLOC ou WHILE
+        final int debut;                // Premier token de la règle (mémorisation)
+        final int premiereErreur;
+        int condition = ArbreSyntaxique.AUCUN;  // While : condition déjà liée
+        int derniere = ArbreSyntaxique.AUCUN;   // Bloc : dernière instruction liée
+        int[] ouvertes;                 // Bloc en mode incrémental : suites en cours par niveau
+        int[] premieresErreurs;
+        
+        Cadre(boolean boucle, int noeud, int debut, int premiereErreur) {
+            this.boucle = boucle;
+            this.noeud = noeud;
+            this.debut = debut;
+            this.premiereErreur = premiereErreur;
+        }
+    }
+    
+    /**
+     * Règle : Bloc → { Instructions }
+     * Les blocs et les while imbriqués sont empilés sur le tas et non sur la
+     * pile d'appels : un programme profondément imbriqué ne provoque pas de
+     * StackOverflowError. Au-delà de profondeurMax blocs ouverts, le bloc
+     * est sauté avec une seule erreur.
+     */
+    private int Bloc() {
+        ArrayDeque<Cadre> pile = new ArrayDeque<>();
+        int termine = OuvrirBloc(pile);
+        while (true) {
+            // Rattacher la règle terminée à celle du dessus
+            while (termine != EN_ATTENTE) {
+                Cadre cadre = pile.peek();
+                if (cadre == null) {
+                    return termine;
+                }
+                if (cadre.boucle) {
+                    pile.pop();
+                    termine = FermerWhile(cadre, termine);
+                } else {
+                    cadre.derniere = lier(cadre.noeud, cadre.derniere, termine);
+                    termine = EN_ATTENTE;
+                }
+            }
+            
+            Cadre bloc = pile.peek();
+            if (panique) {
+                Synchroniser();
+            }
+            if (curseur.horsLimites() || 
+                verifierType(TypeToken.ACCOLADE_FERMANTE) ||
+                verifierType(TypeToken.EOF)) {
+                // ε (epsilon) : fin des instructions du bloc
+                pile.pop();
+                termine = FermerBloc(bloc);
+            } else {
+                termine = Instructions(bloc, pile);
+            }
+        }
+    }
+    
+    /**
+     * Début d'un Bloc : '{' consommé et cadre empilé (EN_ATTENTE), ou bloc
+     * repris tel quel / sauté car trop profond
+     */
+    private int OuvrirBloc(ArrayDeque<Cadre> pile) {
+        panique = false;    // Nouvelle région (Methode peut y arriver en mode panique)
+        int debut = curseur.index();
+        if (editeur != null && reprendre(debut, REGLE_BLOC)) {
+            return ArbreSyntaxique.AUCUN;
+        }
+        int premiereErreur = erreurs.size();
+        
+        if (profondeur == profondeurMax && verifierType(TypeToken.ACCOLADE_OUVRANTE)) {
+            int erreur = noeud(ArbreSyntaxique.ERREUR);
+            ajouterErreur("Imbrication trop profonde : plus de %d blocs", profondeurMax);
+            sauterGroupe(TypeToken.ACCOLADE_OUVRANTE, TypeToken.ACCOLADE_FERMANTE);
+            panique = false;    // Le bloc entier est sauté : rien à resynchroniser
+            if (editeur != null) {
+                memoriser(debut, REGLE_BLOC, premiereErreur);
+            }
+            return erreur;
+        }
+        
+        Cadre cadre = new Cadre(false, noeud(ArbreSyntaxique.BLOC), debut, premiereErreur);
+        consommerType(TypeToken.ACCOLADE_OUVRANTE);
+        if (editeur != null) {
+            cadre.ouvertes = new int[NIVEAU_MAX + 1];
+            cadre.premieresErreurs = new int[NIVEAU_MAX + 1];
+            Arrays.fill(cadre.ouvertes, -1);
+        }
+        profondeur++;
+        pile.push(cadre);
+        return EN_ATTENTE;
+    }
+    
+    /**
+     * Fin d'un Bloc : '}' consommé
+     */
+    private int FermerBloc(Cadre bloc) {
+        if (editeur != null) {
+            for (int n = 1; n <= NIVEAU_MAX; n++) {
+                fermerSuite(n, bloc.ouvertes, bloc.premieresErreurs);
+            }
+        }
+        consommerType(TypeToken.ACCOLADE_FERMANTE);
+        profondeur--;
+        
+        if (editeur != null) {
+            memoriser(bloc.debut, REGLE_BLOC, bloc.premiereErreur);
+        }
+        return bloc.noeud;
+    }
+    
+    /**
+     * Règle : Instructions → Instruction Instructions | ε
+     * Un pas de la règle : l'instruction suivante du bloc (EN_ATTENTE si
+     * c'est un while dont le Bloc vient d'être empilé).
+     *
+     * En mode incrémental, chaque instruction reçoit un niveau tiré de
+     * l'identifiant de son premier token (n avec probabilité 2^-n) ; une
+     * suite de niveau n va d'une instruction de niveau >= n à la suivante.
+     * Comme dans une skip list, on saute la plus longue suite inchangée :
+     * une modification ne fait refaire que les suites qui la contiennent,
+     * soit l'instruction modifiée et O(log n) sauts autour d'elle.
+     */
+    private int Instructions(Cadre bloc, ArrayDeque<Cadre> pile) {
+        if (editeur != null) {
+            int debut = curseur.index();
+            int niveau = niveau(debut);
+            
+            // Fin des suites de niveau <= niveau, début des suivantes
+            for (int n = 1; n <= niveau; n++) {
+                fermerSuite(n, bloc.ouvertes, bloc.premieresErreurs);
+                bloc.ouvertes[n] = debut;
+                bloc.premieresErreurs[n] = erreurs.size();
+            }
+            
+            int n = niveau;
+            while (n >= 1 && !reprendre(debut, REGLE_SUITE + n)) {
+                n--;
+            }
+            if (n >= 1) {
+                // Les suites plus courtes ont été sautées : leurs bornes sont inconnues
+                for (int k = 1; k < n; k++) {
+                    bloc.ouvertes[k] = -1;
+                }
+                return ArbreSyntaxique.AUCUN;
+            }
+        }
+        return Instruction(pile);
+    }
+    
+    private void fermerSuite(int n, int[] ouvertes, int[] premieresErreurs) {
+        if (ouvertes[n] >= 0 && ouvertes[n] < curseur.index()) {
+            memoriser(ouvertes[n], REGLE_SUITE + n, premieresErreurs[n]);
+        }
+        ouvertes[n] = -1;
+    }
+    
+    /**
+     * Niveau d'une instruction : zéros de poids faible d'un mélange de
+     * l'identifiant de son premier token
+     */
+    private int niveau(int index) {
+        long h = editeur.identifiant(index) * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 31;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 29;
+        return Math.min(NIVEAU_MAX, Long.numberOfTrailingZeros(h));
+    }
+    
+    /**
+     * Reprend la dérivation mémorisée de la règle au token debut si les
+     * tokens qu'elle a lus sont inchangés et l'imbrication la même : erreurs
+     * replacées, curseur avancé. Retourne false sinon.
+     */
+    private boolean reprendre(int debut, int regle) {
+        if (debut >= editeur.taille()) {
+            return false;
+        }
+        Derivation d = memo.get(cle(debut, regle));
+        if (d == null || d.profondeur != profondeur || d.profondeurMax != profondeurMax) {
+            return false;
+        }
+        int lus = d.longueur + 1;
+        if (debut + lus > editeur.taille() || editeur.empreinte(debut, debut + lus) != d.empreinte) {
+            return false;
+        }
+        
+        for (int k = 0; k < d.erreurs.length; k++) {
+            int i = debut + d.erreursRelatives[k];
+            Diagnostic err = d.erreurs[k].deplace(editeur.debut(i), editeur.ligne(i), editeur.colonne(i));
+            noterIndexErreur(i);
+            signaler(err);
+            error = true;
+        }
+        panique = d.panique;
+        curseurEditeur.positionner(debut + d.longueur);
+        derivationsReutilisees++;
+        tokensReutilises += d.longueur;
+        return true;
+    }
+    
+    /**
+     * Mémorise la règle appliquée de debut au token actuel ; les erreurs
+     * produites sont celles à partir de premiereErreur. Appelée à la même
+     * imbrication qu'au début de la règle.
+     */
+    private void memoriser(int debut, int regle, int premiereErreur) {
+        int fin = curseur.index();
+        if (fin >= editeur.taille()) {
+            return;     // EOF dépassé : rien à reprendre
+        }
+        int nombre = erreurs.size() - premiereErreur;
+        int[] relatives = new int[nombre];
+        Diagnostic[] diagnostics = new Diagnostic[nombre];
+        for (int k = 0; k < nombre; k++) {
+            relatives[k] = indexErreurs[premiereErreur + k] - debut;
+            diagnostics[k] = erreurs.get(premiereErreur + k);
+        }
+        memo.put(cle(debut, regle),
+                 new Derivation(fin - debut, editeur.empreinte(debut, fin + 1), relatives, diagnostics,
+                                panique, profondeur, profondeurMax));
+    }
+    
+    private long cle(int index, int regle) {
+        return ((long) editeur.identifiant(index) << 6) | regle;
+    }
+    
+    /**
+     * Règle : Instruction → Declaration | Affectation | While | If
+     */
+    private int Instruction(ArrayDeque<Cadre> pile) {
+        if (curseur.horsLimites()) {
+            return ArbreSyntaxique.AUCUN;
+        }
+        
+        int instruction;
+        switch (curseur.type()) {
+            // While (analyse détaillée)
+            case TypeToken.MC_WHILE:
+                return While(pile);
+            // If (reconnu mais ignoré)
+            case TypeToken.MC_IF:
+                trace.evenement(EcouteurAnalyse.IF, curseur);
+                instruction = noeud(ArbreSyntaxique.IF);
+                IgnorerIf();
+                return instruction;
+            // For (reconnu mais ignoré)
+            case TypeToken.MC_FOR:
+                trace.evenement(EcouteurAnalyse.FOR, curseur);
+                instruction = noeud(ArbreSyntaxique.FOR);
+                IgnorerFor();
+                return instruction;
+            // Declaration (commence par un type)
+            case TypeToken.MC_INT:
+            case TypeToken.MC_DOUBLE:
+            case TypeToken.MC_FLOAT:
+            case TypeToken.MC_BOOLEAN:
+            case TypeToken.MC_STRING:
+                return Declaration();
+            default:
+                // Affectation (commence par un identificateur)
+                if (verifierDans(M_IDENT)) {
+                    return Affectation();
+                }
+                instruction = noeud(ArbreSyntaxique.ERREUR);
+                ajouterErreur("Instruction invalide : '%s'", curseur.valeur());
+                curseur.avancer();
+                return instruction;
+        }
+    }
+    
+    /**
+     * Règle : Declaration → Type IDENTIFICATEUR = Expression ;
+     */
+    private int Declaration() {
+        trace.evenement(EcouteurAnalyse.DECLARATION, curseur);
+        
+        int declaration = noeud(ArbreSyntaxique.DECLARATION);
+        Type();
+        
+        int variable = ArbreSyntaxique.AUCUN;
+        if (verifierDans(M_IDENT)) {
+            trace.evenement(EcouteurAnalyse.DECLARATION_VARIABLE, curseur);
+            variable = noeud(ArbreSyntaxique.IDENTIFICATEUR);
+            curseur.avancer();
+        } else {
+            ajouterErreur("Nom de variable attendu");
+        }
+        
+        consommerType(TypeToken.AFFECTATION);
+        int valeur = Expression();
+        consommerType(TypeToken.POINT_VIRGULE);
+        
+        lier(declaration, lier(declaration, ArbreSyntaxique.AUCUN, variable), valeur);
+        return declaration;
+    }
+    
+    /**
+     * Règle : Type → int | double | float | boolean | String
+     */
+    private void Type() {
+        if (verifierDans(M_TYPE)) {
+            curseur.avancer();
+        } else {
+            ajouterErreur("Type de données invalide");
+        }
+    }
+    
+    /**
+     * Règle : Affectation → IDENTIFICATEUR OpAffect ;
+     */
+    private int Affectation() {
+        trace.evenement(EcouteurAnalyse.AFFECTATION, curseur);
+        
+        int variable;
+        if (verifierDans(M_IDENT)) {
+            variable = noeud(ArbreSyntaxique.IDENTIFICATEUR);
+            curseur.avancer();
+        } else {
+            ajouterErreur("Identificateur attendu");
+            return ArbreSyntaxique.AUCUN;
+        }
+        
+        int affectation = OpAffect(variable);
+        consommerType(TypeToken.POINT_VIRGULE);
+        return affectation;
+    }
+    
+    /**
+     * Règle : OpAffect → = Expression | ++ | --
+     */
+    private int OpAffect(int variable) {
+        if (verifierType(TypeToken.AFFECTATION)) {
+            int affectation = noeud(ArbreSyntaxique.AFFECTATION);
+            curseur.avancer();
+            return binaire(affectation, variable, Expression());
+        } else if (verifierDans(M_INCR_DECR)) {
+            int affectation = noeud(ArbreSyntaxique.AFFECTATION);
+            curseur.avancer();
+            lier(affectation, ArbreSyntaxique.AUCUN, variable);
+            return affectation;
+        } else {
+            int erreur = noeud(ArbreSyntaxique.ERREUR);
+            ajouterErreur("Opérateur d'affectation attendu (=, ++, --)");
+            return erreur;
+        }
+    }
+    
+    /**
+     * Règle : While → while ( Condition ) Bloc
+     * INSTRUCTION PRINCIPALE - ANALYSE DÉTAILLÉE
+     * Après l'en-tête, la boucle est empilée avec son Bloc (EN_ATTENTE) ;
+     * FermerWhile() la termine quand le bloc est fermé.
+     */
+    private int While(ArrayDeque<Cadre> pile) {
+        int debut = curseur.index();
+        if (editeur != null && reprendre(debut, REGLE_WHILE)) {
+            return ArbreSyntaxique.AUCUN;
+        }
+        trace.evenement(EcouteurAnalyse.WHILE_DEBUT, curseur);
+        Cadre boucle = new Cadre(true, noeud(ArbreSyntaxique.WHILE), debut, erreurs.size());
+        
+        if (!DeriverWhile(boucle)) {
+            // En-tête incomplet : la boucle s'arrête là
+            if (editeur != null) {
+                memoriser(debut, REGLE_WHILE, boucle.premiereErreur);
+            }
+            return boucle.noeud;
+        }
+        pile.push(boucle);
+        return OuvrirBloc(pile);
+    }
+    
+    /**
+     * En-tête while ( Condition ) ; false sur une erreur qui arrête la boucle
+     */
+    private boolean DeriverWhile(Cadre boucle) {
+        if (!verifierType(TypeToken.MC_WHILE)) {
+            ajouterErreur("Mot-clé 'while' attendu");
+            return false;
+        }
+        curseur.avancer();
+        trace.evenement(EcouteurAnalyse.WHILE_MOT_CLE, curseur);
+        
+        if (!verifierType(TypeToken.PAREN_OUVRANT)) {
+            ajouterErreur("Parenthèse ouvrante '(' attendue");
+            trace.evenement(EcouteurAnalyse.WHILE_ERR_PAREN_OUVRANTE, curseur);
+            return false;
+        }
+        curseur.avancer();
+        trace.evenement(EcouteurAnalyse.WHILE_PAREN_OUVRANTE, curseur);
+        
+        trace.evenement(EcouteurAnalyse.WHILE_CONDITION_DEBUT, curseur);
+        boucle.condition = Condition();
+        lier(boucle.noeud, ArbreSyntaxique.AUCUN, boucle.condition);
+        trace.evenement(EcouteurAnalyse.WHILE_CONDITION_FIN, curseur);
+        
+        if (!verifierType(TypeToken.PAREN_FERMANT)) {
+            ajouterErreur("Parenthèse fermante ')' attendue");
+            trace.evenement(EcouteurAnalyse.WHILE_ERR_PAREN_FERMANTE, curseur);
+            return false;
+        }
+        curseur.avancer();
+        trace.evenement(EcouteurAnalyse.WHILE_PAREN_FERMANTE, curseur);
+        
+        trace.evenement(EcouteurAnalyse.WHILE_BLOC_DEBUT, curseur);
+        return true;
+    }
+    
+    /**
+     * Fin d'un While dont le Bloc est analysé
+     */
+    private int FermerWhile(Cadre boucle, int bloc) {
+        lier(boucle.noeud, boucle.condition, bloc);
+        trace.evenement(EcouteurAnalyse.WHILE_BLOC_FIN, curseur);
+        
+        trace.evenement(EcouteurAnalyse.WHILE_FIN, curseur);
+        if (editeur != null) {
+            memoriser(boucle.debut, REGLE_WHILE, boucle.premiereErreur);
+        }
+        return boucle.noeud;
+    }
+    
+    /**
+     * Ignore l'instruction if
+     */
+    private void IgnorerIf() {
+        curseur.avancer(); // if
+        
+        if (verifierType(TypeToken.PAREN_OUVRANT)) {
+            SauterEntete();
+        }
+        
+        if (verifierType(TypeToken.ACCOLADE_OUVRANTE)) {
+            sauterGroupe(TypeToken.ACCOLADE_OUVRANTE, TypeToken.ACCOLADE_FERMANTE);
+            panique = false;    // Une ')' manquante ne déborde pas du corps
+        }
+    }
+    
+    /**
+     * Ignore l'instruction for
+     */
+    private void IgnorerFor() {
+        curseur.avancer(); // for
+        
+        if (verifierType(TypeToken.PAREN_OUVRANT)) {
+            SauterEntete();
+        }
+        
+        if (verifierType(TypeToken.ACCOLADE_OUVRANTE)) {
+            sauterGroupe(TypeToken.ACCOLADE_OUVRANTE, TypeToken.ACCOLADE_FERMANTE);
+            panique = false;    // Une ')' manquante ne déborde pas du corps
+        }
+    }
+    
+    /**
+     * Saute l'en-tête ( ... ) d'un if ou d'un for. Une accolade avant la
+     * parenthèse fermante signale une ')' manquante : le saut s'arrête là
+     * pour ne pas avaler le corps et la suite du programme.
+     */
+    private void SauterEntete() {
+        if (curseurTampon != null) {
+            int partenaire = tampon.partenaire(curseur.index());
+            if (partenaire != TamponTokens.SANS_PARTENAIRE && !tampon.contientAccolade(curseur.index())) {
+                curseurTampon.positionner(partenaire + 1);
+                return;
+            }
+        }
+        curseur.avancer();
+        int niveau = 1;
+        while (!curseur.horsLimites() && niveau > 0) {
+            if (verifierType(TypeToken.ACCOLADE_OUVRANTE) || verifierType(TypeToken.ACCOLADE_FERMANTE)) {
+                ajouterErreur("Parenthèse fermante ')' attendue");
+                return;
+            }
+            if (verifierType(TypeToken.PAREN_OUVRANT)) niveau++;
+            if (verifierType(TypeToken.PAREN_FERMANT)) niveau--;
+            curseur.avancer();
+        }
+    }
+    
+    /**
+     * Règle : Condition → Expression OpComp Expression | Expression
+     */
+    private int Condition() {
+        int gauche = Expression();
+        
+        // OpComp optionnel
+        if (verifierDans(M_OP_COMP)) {
+            int comparaison = noeud(ArbreSyntaxique.BINAIRE);
+            curseur.avancer();
+            return binaire(comparaison, gauche, Expression());
+        }
+        return gauche;
+    }
+    
+    /**
+     * Règle : Expression → Terme Suite_Expression
+     * Règle : Suite_Expression → + Terme Suite_Expression 
+     *                          | - Terme Suite_Expression 
+     *                          | ε
+     * Règle : Terme → Facteur Suite_Terme
+     * Règle : Suite_Terme → * Facteur Suite_Terme 
+     *                      | / Facteur Suite_Terme 
+     *                      | % Facteur Suite_Terme 
+     *                      | ε
+     * Les suites sont des boucles (l'arbre est associatif à gauche) et
+     * chaque Facteur ( Expression ) empile l'état de l'expression qui
+     * l'entoure dans pileExpression : ni une longue somme ni des
+     * parenthèses imbriquées ne consomment la pile d'appels.
+     */
+    private int Expression() {
+        int sommet = 0;
+        int gauche = ArbreSyntaxique.AUCUN;     // Suite_Expression : opérande déjà lu
+        int additif = SANS_OPERATEUR;           // Opérateur + ou - en attente de son Terme
+        int terme = ArbreSyntaxique.AUCUN;      // Suite_Terme : opérande déjà lu
+        int multiplicatif = SANS_OPERATEUR;     // Opérateur *, / ou % en attente de son Facteur
+        
+        while (true) {
+            int valeur;
+            if (!verifierType(TypeToken.PAREN_OUVRANT)) {
+                valeur = Facteur();
+            } else if (sommet / 4 == profondeurMax) {
+                valeur = noeud(ArbreSyntaxique.ERREUR);
+                ajouterErreur("Imbrication trop profonde : plus de %d parenthèses", profondeurMax);
+                sauterGroupe(TypeToken.PAREN_OUVRANT, TypeToken.PAREN_FERMANT);
+            } else {
+                // Facteur → ( Expression ) : l'expression courante attend
+                curseur.avancer();
+                if (sommet + 4 > pileExpression.length) {
+                    pileExpression = Arrays.copyOf(pileExpression, 2 * pileExpression.length);
+                }
+                pileExpression[sommet++] = gauche;
+                pileExpression[sommet++] = additif;
+                pileExpression[sommet++] = terme;
+                pileExpression[sommet++] = multiplicatif;
+                gauche = ArbreSyntaxique.AUCUN;
+                additif = SANS_OPERATEUR;
+                terme = ArbreSyntaxique.AUCUN;
+                multiplicatif = SANS_OPERATEUR;
+                continue;
+            }
+            
+            while (true) {
+                // Suite_Terme
+                if (multiplicatif != SANS_OPERATEUR) {
+                    valeur = binaire(multiplicatif, terme, valeur);
+                }
+                if (verifierDans(M_MULTIPLICATIF)) {
+                    multiplicatif = noeud(ArbreSyntaxique.BINAIRE);
+                    curseur.avancer();
+                    terme = valeur;
+                    break;
+                }
+                multiplicatif = SANS_OPERATEUR;
+                
+                // Suite_Expression
+                if (additif != SANS_OPERATEUR) {
+                    valeur = binaire(additif, gauche, valeur);
+                }
+                if (verifierDans(M_ADDITIF)) {
+                    additif = noeud(ArbreSyntaxique.BINAIRE);
+                    curseur.avancer();
+                    gauche = valeur;
+                    break;
+                }
+                
+                // ε (epsilon) : fin de l'Expression
+                if (sommet == 0) {
+                    return valeur;
+                }
+                // Fin du Facteur ( Expression ) : reprendre l'expression qui l'entoure
+                consommerType(TypeToken.PAREN_FERMANT);
+                multiplicatif = pileExpression[--sommet];
+                terme = pileExpression[--sommet];
+                additif = pileExpression[--sommet];
+                gauche = pileExpression[--sommet];
+            }
+        }
+    }
+    
+    /**
+     * Règle : Facteur → NOMBRE 
+     *                 | IDENTIFICATEUR 
+     *                 | IDENTIFICATEUR ++ 
+     *                 | IDENTIFICATEUR -- 
+     *                 | ( Expression )
+     * Le cas ( Expression ) est traité par Expression().
+     */
+    private int Facteur() {
+        if (curseur.horsLimites()) {
+            ajouterErreur("Facteur attendu");
+            return ArbreSyntaxique.AUCUN;
+        }
+        
+        // Nombre
+        if (verifierDans(M_NOMBRE)) {
+            int nombre = noeud(ArbreSyntaxique.NOMBRE);
+            curseur.avancer();
+            return nombre;
+        }
+        // Identificateur
+        else if (verifierDans(M_IDENT)) {
+            int variable = noeud(ArbreSyntaxique.IDENTIFICATEUR);
+            curseur.avancer();
+            // Vérifier si suivi de ++ ou --
+            if (verifierDans(M_INCR_DECR)) {
+                int postfixe = noeud(ArbreSyntaxique.POSTFIXE);
+                curseur.avancer();
+                lier(postfixe, ArbreSyntaxique.AUCUN, variable);
+                return postfixe;
+            }
+            return variable;
+        }
+        else {
+            int erreur = noeud(ArbreSyntaxique.ERREUR);
+            ajouterErreur("Facteur invalide : nombre, identificateur ou (expression) attendu");
+            return erreur;
+        }
+    }
+    
+    // ==================== AFFICHAGE ====================
+    
+    /**
+     * Affiche les erreurs syntaxiques
+     */
+    public void afficherErreurs() {
+        if (erreurs.isEmpty()) {
+           if (error) {
+            // Il y a eu une erreur mais la liste est vide ?
+            System.out.println("⚠ Erreurs détectées pendant l'analyse\n");
+        } else {
+            System.out.println("✓ Aucune erreur syntaxique détectée\n");
+        }
+        } else {
+            System.out.println("\n" + "=".repeat(70));
+            System.out.println("                  ERREURS SYNTAXIQUES DÉTECTÉES");
+            System.out.println("=".repeat(70));
+            for (Diagnostic err : erreurs) {
+                System.out.println("✗ " + err);
+            }
+            System.out.println("=".repeat(70));
+            // Le résumé "Trop d'erreurs" remplace les erreurs ignorées
+            int total = (erreursIgnorees > 0) ? erreurs.size() - 1 + erreursIgnorees : erreurs.size();
+            System.out.println("Total : " + total + " erreurs\n");
+        }
+    }
+    
+    /**
+     * Erreurs syntaxiques avec leur position, dans l'ordre du source
+     */
+    public List<Diagnostic> getDiagnostics() {
+        return erreurs;
+    }
+    
+    /**
+     * Erreurs de la dernière analyse au-delà de erreursMax, résumées par
+     * le dernier diagnostic
+     */
+    public int getErreursIgnorees() {
+        return erreursIgnorees;
+    }
+    
+    /**
+     * Erreurs lexicales et syntaxiques entrelacées dans l'ordre du source
+     */
+    public List<Diagnostic> getDiagnosticsEntrelaces() {
+        if (lexer == null) {
+            return erreurs;
+        }
+        return Diagnostic.fusionner(lexer.getDiagnostics(), erreurs);
+    }
+    
+    /**
+     * Verdict de Z() : programme accepté (EOF atteint, aucune erreur)
+     */
+    public boolean estAccepte() {
+        return accepte;
+    }
+    
+    /**
+     * Arbre de la dernière analyse en mode tampon (null dans les modes
+     * flux et incrémental, qui ne gardent pas l'arbre)
+     */
+    public ArbreSyntaxique getArbre() {
+        return arbre;
+    }
+    
+    /**
+     * Mode incrémental : règles reprises sans être refaites à la dernière analyse
+     */
+    public int getDerivationsReutilisees() {
+        return derivationsReutilisees;
+    }
+    
+    /**
+     * Mode incrémental : tokens couverts par ces règles reprises
+     */
+    public int getTokensReutilises() {
+        return tokensReutilises;
+    }
+    
+    /**
+     * Retourne true s'il y a des erreurs
+     */
+    public boolean aDesErreurs() {
+        return !erreurs.isEmpty();
+    }
+    
+    // ==================== MAIN POUR TESTER ====================
+    
+    /**
+     * Démonstration du mode incrémental : coût de la réanalyse après
+     * modification d'un identificateur, comparé à une analyse complète
+     */
+    private static void analyseIncrementale(CharSequence code, EcouteurAnalyse trace) {
+        EditeurLexical editeur = new EditeurLexical(code);
+        AnalyseurSyntaxique parser = new AnalyseurSyntaxique(editeur);
+        parser.setEcouteur(trace);
+        long debut = System.nanoTime();
+        parser.Z();
+        long complete = System.nanoTime() - debut;
+        
+        // Premier identificateur après le milieu du fichier
+        int i = editeur.taille() / 2;
+        while (i < editeur.taille() && editeur.type(i) != TypeToken.IDENTIFICATEUR) {
+            i++;
+        }
+        if (i == editeur.taille()) {
+            System.out.println("Aucun identificateur à modifier\n");
+            return;
+        }
+        String nom = editeur.valeur(i);
+        editeur.modifier(editeur.debut(i), nom.length(), nom + "_2");
+        
+        parser.setEcouteur(Trace.SILENCE);
+        debut = System.nanoTime();
+        parser.Z();
+        long incrementale = System.nanoTime() - debut;
+        
+        System.out.println(String.format("Modification : '%s' → '%s_2' (ligne %d)", nom, nom, editeur.ligne(i)));
+        System.out.println(String.format("Analyse complète : %d tokens en %.3f ms",
+                                        editeur.taille(), complete / 1e6));
+        System.out.println(String.format("Réanalyse : %.3f ms, %d règles reprises (%d tokens), %d tokens réanalysés",
+                                        incrementale / 1e6, parser.getDerivationsReutilisees(),
+                                        parser.getTokensReutilises(),
+                                        editeur.taille() - parser.getTokensReutilises()));
+        System.out.println(parser.estAccepte() ? "✓ PROGRAMME ACCEPTÉ\n" : "✗ PROGRAMME REJETÉ\n");
+    }
+    
+    /**
+     * Vérification du mode incrémental : programmes générés, modifiés au
+     * hasard (un token remplacé ou précédé d'un autre) ; après chaque
+     * modification, la réanalyse doit donner le verdict et les diagnostics
+     * d'une analyse complète du même texte
+     */
+    private static void verifierIncremental(int programmes, int modifications) {
+        String[] morceaux = {"x", "fbc", "\"abc\"", "4", "9", "2.5", "%", "*", "+", "=", ";",
+                             "(", ")", "{", "}", "&&", "while", "int", " ", ""};
+        SplittableRandom aleatoire = new SplittableRandom(programmes);
+        int divergences = 0;
+        for (int g = 1; g <= programmes; g++) {
+            GenerateurProgrammes generateur = new GenerateurProgrammes(g);
+            generateur.setTaille(2_000);
+            EditeurLexical editeur = new EditeurLexical(generateur.generer());
+            AnalyseurSyntaxique parser = new AnalyseurSyntaxique(editeur);
+            parser.setEcouteur(Trace.SILENCE);
+            parser.Z();
+            
+            for (int m = 0; m < modifications; m++) {
+                int i = aleatoire.nextInt(Math.max(1, editeur.taille() - 1));     // Pas EOF
+                String morceau = morceaux[aleatoire.nextInt(morceaux.length)];
+                int supprimes = aleatoire.nextBoolean() ? editeur.longueur(i) : 0;
+                editeur.modifier(editeur.debut(i), supprimes, morceau);
+                parser.Z();
+                
+                AnalyseurLexical lexer = new AnalyseurLexical(editeur.texte().toString());
+                lexer.setEcouteur(Trace.SILENCE);
+                lexer.analyser();
+                AnalyseurSyntaxique complet = new AnalyseurSyntaxique(lexer.getTampon());
+                complet.setEcouteur(Trace.SILENCE);
+                complet.Z();
+                
+                if (parser.estAccepte() != complet.estAccepte()
+                    || !parser.getDiagnostics().toString().equals(complet.getDiagnostics().toString())) {
+                    divergences++;
+                    System.out.println(String.format("✗ Programme %d, modification %d : '%s' au token %d", g, m + 1, morceau, i));
+                    System.out.println("    réanalyse : " + parser.getDiagnostics());
+                    System.out.println("    complète  : " + complet.getDiagnostics());
+                    break;
+                }
+            }
+        }
+        System.out.println(divergences == 0
+            ? String.format("✓ %d programmes, %d modifications chacun : réanalyse identique à l'analyse complète\n",
+                            programmes, modifications)
+            : String.format("✗ %d programmes sur %d divergent\n", divergences, programmes));
+    }
+    
+    /**
+     * Analyse syntaxique seule, sur des tokens relus en binaire (FormatTokens)
+     */
+    private static void analyseDepuisTokens(String fichier, String[] args) {
+        FormatTokens.Lecture lecture;
+        long debut = System.nanoTime();
+        try {
+            lecture = FormatTokens.lire(Paths.get(fichier));
+        } catch (IOException e) {
+            System.err.println("Erreur : " + fichier + " : " + e.getMessage() + "\n");
+            return;
+        }
+        TamponTokens tampon = lecture.getTampon();
+        System.out.println(String.format("Tokens : %s (%d tokens relus en %.3f ms, sans analyse lexicale)\n",
+                                        fichier, tampon.taille(), (System.nanoTime() - debut) / 1e6));
+        
+        if (lecture.aDesErreurs()) {
+            for (Diagnostic d : lecture.getDiagnostics()) {
+                System.out.println("✗ " + d);
+            }
+            System.err.println("⚠ Impossible de continuer : erreurs lexicales détectées\n");
+            return;
+        }
+        
+        AnalyseurSyntaxique parser = new AnalyseurSyntaxique(tampon);
+        parser.setEcouteur(Trace.console(Trace.niveau(args, Trace.WHILE_DETAILLE)));
+        for (String a : args) {
+            if (a.startsWith("--profondeur-max=")) {
+                parser.setProfondeurMax(Integer.parseInt(a.substring("--profondeur-max=".length())));
+            } else if (a.startsWith("--erreurs-max=")) {
+                parser.setErreursMax(Integer.parseInt(a.substring("--erreurs-max=".length())));
+            }
+        }
+        parser.Z();
+        parser.afficherErreurs();
+    }
+    
+    public static void main(String[] args) {
+        System.out.println("\n╔════════════════════════════════════════════════════╗");
+        System.out.println("║   MINI-COMPILATEUR JAVA - ANALYSEUR SYNTAXIQUE    ║");
+        System.out.println("║   Étudiant : Malek Leiticia                       ║");
+        System.out.println("║   Instruction : WHILE (Descente Récursive)        ║");
+        System.out.println("╚════════════════════════════════════════════════════╝\n");
+        
+        // Tokens déjà produits par le lexer : --tokens=fichier (AnalyseurLexical --ecrire-tokens)
+        for (String a : args) {
+            if (a.startsWith("--tokens=")) {
+                analyseDepuisTokens(a.substring("--tokens=".length()), args);
+                return;
+            }
+        }
+        
+        // Réanalyse comparée à l'analyse complète : --verifier-incremental[=programmes]
+        for (String a : args) {
+            if (a.startsWith("--verifier-incremental")) {
+                int programmes = a.startsWith("--verifier-incremental=")
+                    ? Integer.parseInt(a.substring("--verifier-incremental=".length())) : 200;
+                verifierIncremental(programmes, 15);
+                return;
+            }
+        }
+        
+        // Projeter le fichier en mémoire (chemin relatif)
+        ChargeurSource source = ChargeurSource.charger("test.java");
+        
+        if (source == null) {
+            System.err.println("Erreur : Impossible de lire test.java\n");
+            return;
+        }
+        
+        CharSequence code = source.texte();
+        System.out.println("Fichier : test.java");
+        System.out.println("Taille : " + code.length() + " caractères");
+        System.out.println(source.rapport() + "\n");
+        
+        // Niveau de trace : --trace=off|erreurs|regles|while (défaut : while)
+        EcouteurAnalyse trace = Trace.console(Trace.niveau(args, Trace.WHILE_DETAILLE));
+        
+        // Imbrication maximale des blocs et des parenthèses : --profondeur-max=N
+        // Diagnostics gardés : --erreurs-max=N
+        int profondeurMax = PROFONDEUR_MAX;
+        int erreursMax = ERREURS_MAX;
+        for (String a : args) {
+            if (a.startsWith("--profondeur-max=")) {
+                profondeurMax = Integer.parseInt(a.substring("--profondeur-max=".length()));
+            } else if (a.startsWith("--erreurs-max=")) {
+                erreursMax = Integer.parseInt(a.substring("--erreurs-max=".length()));
+            }
+        }
+        
+        // Mode incrémental : analyse, modification d'un identificateur au milieu, réanalyse
+        if (Arrays.asList(args).contains("--incremental")) {
+            analyseIncrementale(code, trace);
+            return;
+        }
+        
+        // Mode flux : lexer et parser avancent ensemble, mémoire constante
+        // Mode pipeline : lexer sur un second thread (trace de l'analyse syntaxique seule)
+        boolean pipeline = Arrays.asList(args).contains("--pipeline");
+        if (pipeline || Arrays.asList(args).contains("--flux")) {
+            AnalyseurLexical lexerFlux = new AnalyseurLexical(code);
+            lexerFlux.setEcouteur(pipeline ? Trace.SILENCE : trace);
+            AnalyseurSyntaxique parser = pipeline ? AnalyseurSyntaxique.pipeline(lexerFlux)
+                                                  : new AnalyseurSyntaxique(lexerFlux);
+            parser.setEcouteur(trace);
+            parser.setProfondeurMax(profondeurMax);
+            parser.setErreursMax(erreursMax);
+            parser.Z();
+            
+            List<Diagnostic> diagnostics = parser.getDiagnosticsEntrelaces();
+            if (diagnostics.isEmpty()) {
+                System.out.println("✓ Aucune erreur lexicale ni syntaxique\n");
+            } else {
+                System.out.println("=".repeat(70));
+                System.out.println("          ERREURS LEXICALES ET SYNTAXIQUES (ordre du source)");
+                System.out.println("=".repeat(70));
+                for (Diagnostic d : diagnostics) {
+                    System.out.println("✗ " + d);
+                }
+                System.out.println("=".repeat(70));
+                System.out.println("Total : " + diagnostics.size() + " erreurs\n");
+            }
+            return;
+        }
+        
+        // Analyse lexicale
+        AnalyseurLexical lexer = new AnalyseurLexical(code);
+        lexer.setEcouteur(trace);
+        lexer.analyser();
+        lexer.afficherTokens();
+        lexer.afficherErreurs();
+        
+        // Si erreurs lexicales, ne pas continuer
+        if (lexer.aDesErreurs()) {
+            System.err.println("⚠ Impossible de continuer : erreurs lexicales détectées\n");
+            return;
+        }
+        
+        System.out.println("\n" + "=".repeat(70));
+        System.out.println("     PASSAGE À L'ANALYSE SYNTAXIQUE");
+        System.out.println("=".repeat(70) + "\n");
+        
+        // Analyse syntaxique
+        AnalyseurSyntaxique parser = new AnalyseurSyntaxique(lexer.getTampon());
+        parser.setEcouteur(trace);
+        parser.setProfondeurMax(profondeurMax);
+        parser.setErreursMax(erreursMax);
+        parser.Z();
+        parser.afficherErreurs();
+        
+        // Programme rejeté : les délimiteurs non appariés par le lexer situent
+        // souvent la cause mieux que l'erreur syntaxique, signalée plus loin
+        if (!parser.estAccepte() && lexer.getTampon().nonApparies() > 0) {
+            System.out.println("Délimiteurs non appariés :");
+            for (Diagnostic d : lexer.getTampon().delimiteursNonApparies()) {
+                System.out.println("  ⚠ " + d);
+            }
+            System.out.println();
+        }
+        
+        // Optimisation de l'arbre d'un programme accepté : --optimiser
+        if (Arrays.asList(args).contains("--optimiser") && parser.estAccepte()) {
+            Optimiseur optimiseur = new Optimiseur(parser.getArbre());
+            optimiseur.optimiser();
+            optimiseur.afficherStatistiques();
+        }
+        
+        // Arbre syntaxique : --arbre
+        if (Arrays.asList(args).contains("--arbre")) {
+            ArbreSyntaxique arbre = parser.getArbre();
+            arbre.afficher();
+            System.out.println(String.format("\nArbre : %d nœuds pour %d tokens (%d octets réservés)\n",
+                                            arbre.taille(), lexer.getTampon().taille(), arbre.octets()));
+        }
+    }
+}
+
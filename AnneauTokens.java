@@ -0,0 +1,255 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - ANNEAU DE TOKENS ENTRE DEUX THREADS
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Anneau sans verrou à un producteur et un consommateur (SPSC) : le lexer
+ * y écrit les tokens sur son thread, l'analyseur syntaxique les lit sur
+ * le sien (mode pipeline).
+ *
+ * Chaque côté garde ses compteurs en local et ne publie qu'un lot de
+ * tokens à la fois (écriture release, lue en acquire de l'autre côté) :
+ * une seule écriture partagée par LOT tokens. Les deux compteurs publiés
+ * sont éloignés de 128 octets pour ne pas partager de ligne de cache.
+ * Anneau plein ou vide : attente active (Thread.onSpinWait, sauf sur un
+ * seul cœur où elle ne ferait que retarder l'autre thread), Thread.yield()
+ * puis parkNanos ; l'autre côté réveille le thread garé à sa prochaine
+ * publication.
+ */
+final class AnneauTokens implements RecepteurTokens, FluxTokens {
+
+    // ==================== ATTRIBUTS ====================
+
+    private static final int CAPACITE = 1 << 12;            // Tokens, puissance de 2
+    private static final int MASQUE = CAPACITE - 1;
+    private static final int LOT = 64;                      // Tokens publiés ou libérés à la fois
+    private static final int ANTICIPATION = CAPACITE - LOT; // peek(k) : k < ANTICIPATION
+    private static final int TOURS_ACTIFS =                 // Attente active avant de se garer
+        (Runtime.getRuntime().availableProcessors() > 1) ? 1 << 10 : 0;
+    private static final int TOURS_CEDES = 16;              // Puis Thread.yield()
+    private static final long PAUSE_NS = 50_000;
+
+    private static final int PUBLIES = 0;                   // Index dans compteurs
+    private static final int LIBERES = 16;
+
+    private final int[] types = new int[CAPACITE];
+    private final int[] debuts = new int[CAPACITE];
+    private final int[] longueurs = new int[CAPACITE];
+    private final AtomicLongArray compteurs = new AtomicLongArray(32);
+    private final CharSequence code;
+    private final IndexLignes lignes;                       // Propre au consommateur
+
+    private volatile boolean fini;                          // Producteur terminé (EOF ou échec)
+    private volatile Throwable echec;
+    private volatile boolean abandonne;                     // Consommateur parti
+    private volatile Thread producteurGare;
+    private volatile Thread consommateurGare;
+
+    // Côté producteur
+    private long produits;
+    private long liberesVus;
+
+    // Côté consommateur
+    private long consommes;
+    private long publiesVus;
+
+    // ==================== CONSTRUCTEUR ====================
+
+    AnneauTokens(CharSequence code) {
+        this.code = code;
+        this.lignes = new IndexLignes(code);
+    }
+
+    // ==================== PRODUCTEUR ====================
+
+    @Override
+    public void ajouter(int type, int debut, int longueur) {
+        if (produits - liberesVus >= CAPACITE && !attendrePlace()) {
+            return;                                         // Plus de lecteur : token ignoré
+        }
+        int k = (int) produits & MASQUE;
+        types[k] = type;
+        debuts[k] = debut;
+        longueurs[k] = longueur;
+        produits++;
+        if ((produits & (LOT - 1)) == 0 || type == TypeToken.EOF) {
+            publier();
+        }
+    }
+
+    private void publier() {
+        compteurs.setRelease(PUBLIES, produits);
+        Thread gare = consommateurGare;
+        if (gare != null) {
+            LockSupport.unpark(gare);
+        }
+    }
+
+    // Faux si le consommateur a abandonné
+    private boolean attendrePlace() {
+        publier();
+        for (int tours = 0; ; tours++) {
+            liberesVus = compteurs.getAcquire(LIBERES);
+            if (produits - liberesVus < CAPACITE) return true;
+            if (abandonne) return false;
+            if (tours < TOURS_ACTIFS) {
+                Thread.onSpinWait();
+            } else if (tours < TOURS_ACTIFS + TOURS_CEDES) {
+                Thread.yield();
+            } else {
+                producteurGare = Thread.currentThread();
+                if (compteurs.getAcquire(LIBERES) == liberesVus && !abandonne) {
+                    LockSupport.parkNanos(this, PAUSE_NS);
+                }
+                producteurGare = null;
+            }
+        }
+    }
+
+    /**
+     * Fin du producteur (normale ou sur exception) : le consommateur voit
+     * les derniers tokens puis la fin du flot
+     */
+    void terminer(Throwable erreur) {
+        echec = erreur;
+        publier();
+        fini = true;
+        Thread gare = consommateurGare;
+        if (gare != null) {
+            LockSupport.unpark(gare);
+        }
+    }
+
+    // ==================== CONSOMMATEUR ====================
+
+    // Vrai si k + 1 tokens sont disponibles à partir du token actuel
+    private boolean disponible(int k) {
+        return publiesVus - consommes > k || attendre(k);
+    }
+
+    private boolean attendre(int k) {
+        if (k >= ANTICIPATION) {
+            throw new IllegalArgumentException("Anticipation limitée à " + (ANTICIPATION - 1) + " tokens");
+        }
+        liberer();
+        for (int tours = 0; ; tours++) {
+            publiesVus = compteurs.getAcquire(PUBLIES);
+            if (publiesVus - consommes > k) return true;
+            if (fini) {
+                publiesVus = compteurs.getAcquire(PUBLIES);
+                Throwable erreur = echec;
+                if (erreur != null) {
+                    throw new IllegalStateException("Échec de l'analyse lexicale", erreur);
+                }
+                return publiesVus - consommes > k;
+            }
+            if (tours < TOURS_ACTIFS) {
+                Thread.onSpinWait();
+            } else if (tours < TOURS_ACTIFS + TOURS_CEDES) {
+                Thread.yield();
+            } else {
+                consommateurGare = Thread.currentThread();
+                if (compteurs.getAcquire(PUBLIES) == publiesVus && !fini) {
+                    LockSupport.parkNanos(this, PAUSE_NS);
+                }
+                consommateurGare = null;
+            }
+        }
+    }
+
+    private void liberer() {
+        compteurs.setRelease(LIBERES, consommes);
+        Thread gare = producteurGare;
+        if (gare != null) {
+            LockSupport.unpark(gare);
+        }
+    }
+
+    /**
+     * Le consommateur n'attend plus de tokens : le producteur finit son
+     * analyse sans plus rien écrire dans l'anneau
+     */
+    void abandonner() {
+        abandonne = true;
+        Thread gare = producteurGare;
+        if (gare != null) {
+            LockSupport.unpark(gare);
+        }
+    }
+
+    @Override
+    public int type() {
+        return peek(0);
+    }
+
+    @Override
+    public int peek(int k) {
+        return disponible(k) ? types[(int) (consommes + k) & MASQUE] : TypeToken.AUCUN;
+    }
+
+    @Override
+    public void avancer() {
+        consommes++;
+        if ((consommes & (LOT - 1)) == 0) {
+            liberer();
+        }
+    }
+
+    @Override
+    public int index() {
+        return (int) consommes;
+    }
+
+    @Override
+    public boolean horsLimites() {
+        return !disponible(0);
+    }
+
+    @Override
+    public String valeur() {
+        int k = (int) consommes & MASQUE;
+        String fixe = TypeToken.orthographe(types[k]);
+        if (fixe != null) return fixe;
+        return code.subSequence(debuts[k], debuts[k] + longueurs[k]).toString();
+    }
+
+    @Override
+    public boolean valeurEgale(String attendu) {
+        if (!disponible(0)) return false;
+        int k = (int) consommes & MASQUE;
+        return types[k] != TypeToken.EOF
+            && longueurs[k] == attendu.length()
+            && TamponTokens.regionEgale(code, debuts[k], attendu);
+    }
+
+    @Override
+    public int debut() {
+        return disponible(0) ? debuts[(int) consommes & MASQUE] : code.length();
+    }
+
+    @Override
+    public int ligne() {
+        return lignes.ligne(unite((int) consommes & MASQUE));
+    }
+
+    @Override
+    public int colonne() {
+        return lignes.colonne(unite((int) consommes & MASQUE));
+    }
+
+    // Début de l'unité lexicale (guillemet ouvrant d'une chaîne)
+    private int unite(int k) {
+        return (types[k] == TypeToken.CHAINE) ? debuts[k] - 1 : debuts[k];
+    }
+}
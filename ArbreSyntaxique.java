@@ -0,0 +1,321 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - ARBRE SYNTAXIQUE
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Arbre syntaxique produit par l'analyseur, rangé dans quatre tableaux
+ * d'entiers indexés par numéro de nœud : genre, premier enfant, frère
+ * suivant et token associé (indice dans le tampon). Aucun objet par
+ * nœud : 16 octets par nœud, moins d'un nœud par token.
+ *
+ * Forme des nœuds (enfants entre crochets) :
+ *   PROGRAMME [CLASSE]             CLASSE (nom) [METHODE]
+ *   METHODE (main) [BLOC]          BLOC ({) [instructions...]
+ *   DECLARATION (type) [IDENTIFICATEUR, expression]
+ *   AFFECTATION (=, ++, --) [IDENTIFICATEUR, expression si =]
+ *   WHILE [condition, BLOC]        IF, FOR (ignorés, sans enfant)
+ *   BINAIRE (opérateur) [gauche, droite]
+ *   POSTFIXE (++, --) [IDENTIFICATEUR]
+ *   NOMBRE, IDENTIFICATEUR         ERREUR (token en faute)
+ * Un enfant manquant après une erreur est simplement absent.
+ *
+ * L'Optimiseur modifie l'arbre sur place : un NOMBRE qu'il a calculé
+ * garde le token de l'expression d'origine (pour sa ligne) et sa valeur
+ * est rangée à part (voir constante).
+ */
+public final class ArbreSyntaxique {
+
+    // ==================== GENRES DE NŒUDS ====================
+
+    public static final int PROGRAMME      = 0;
+    public static final int CLASSE         = 1;
+    public static final int METHODE        = 2;
+    public static final int BLOC           = 3;
+    public static final int DECLARATION    = 4;
+    public static final int AFFECTATION    = 5;
+    public static final int WHILE          = 6;
+    public static final int IF             = 7;
+    public static final int FOR            = 8;
+    public static final int BINAIRE        = 9;
+    public static final int POSTFIXE       = 10;
+    public static final int NOMBRE         = 11;
+    public static final int IDENTIFICATEUR = 12;
+    public static final int ERREUR         = 13;
+
+    // Absence de nœud (enfant, frère) ou de token
+    public static final int AUCUN = -1;
+
+    private static final String[] NOMS = {
+        "PROGRAMME", "CLASSE", "METHODE", "BLOC", "DECLARATION", "AFFECTATION",
+        "WHILE", "IF", "FOR", "BINAIRE", "POSTFIXE", "NOMBRE", "IDENTIFICATEUR", "ERREUR"
+    };
+
+    // ==================== ATTRIBUTS ====================
+
+    private final TamponTokens tampon;
+    private int[] genres;
+    private int[] premiersEnfants;
+    private int[] freresSuivants;
+    private int[] tokens;
+    private int taille;
+    private int racine;
+    private HashMap<Integer, Number> calcules;     // NOMBRE calculé → valeur (null : aucun)
+
+    // ==================== CONSTRUCTEUR ====================
+
+    /**
+     * Arbre vide pour les tokens du tampon (capacité initiale estimée
+     * d'après le nombre de tokens)
+     */
+    ArbreSyntaxique(TamponTokens tampon) {
+        this.tampon = tampon;
+        int capacite = Math.max(16, tampon.taille() / 2);
+        this.genres = new int[capacite];
+        this.premiersEnfants = new int[capacite];
+        this.freresSuivants = new int[capacite];
+        this.tokens = new int[capacite];
+        this.racine = AUCUN;
+    }
+
+    // ==================== CONSTRUCTION (ANALYSEUR) ====================
+
+    /**
+     * Nouveau nœud sans enfant ; retourne son numéro
+     */
+    int ajouter(int genre, int token) {
+        if (taille == genres.length) {
+            int capacite = 2 * taille;
+            genres = Arrays.copyOf(genres, capacite);
+            premiersEnfants = Arrays.copyOf(premiersEnfants, capacite);
+            freresSuivants = Arrays.copyOf(freresSuivants, capacite);
+            tokens = Arrays.copyOf(tokens, capacite);
+        }
+        genres[taille] = genre;
+        premiersEnfants[taille] = AUCUN;
+        freresSuivants[taille] = AUCUN;
+        tokens[taille] = token;
+        return taille++;
+    }
+
+    /**
+     * Accroche enfant sous parent, après precedent (AUCUN : premier enfant).
+     * Retourne le nouveau dernier enfant ; un enfant AUCUN est ignoré.
+     */
+    int lier(int parent, int precedent, int enfant) {
+        if (enfant == AUCUN) return precedent;
+        if (precedent == AUCUN) {
+            premiersEnfants[parent] = enfant;
+        } else {
+            freresSuivants[precedent] = enfant;
+        }
+        return enfant;
+    }
+
+    void setRacine(int noeud) {
+        this.racine = noeud;
+    }
+
+    // ==================== TRANSFORMATION (OPTIMISEUR) ====================
+
+    /**
+     * Le nœud devient un NOMBRE de valeur donnée (Integer ou Double),
+     * sans enfant ; il garde son token et sa place parmi ses frères
+     */
+    void remplacerParConstante(int noeud, Number valeur) {
+        if (calcules == null) calcules = new HashMap<>();
+        genres[noeud] = NOMBRE;
+        premiersEnfants[noeud] = AUCUN;
+        calcules.put(noeud, valeur);
+    }
+
+    /**
+     * Le nœud prend le contenu de par (genre, enfants, token, valeur) et
+     * garde sa place parmi ses frères ; par n'est plus atteignable
+     */
+    void remplacer(int noeud, int par) {
+        genres[noeud] = genres[par];
+        premiersEnfants[noeud] = premiersEnfants[par];
+        tokens[noeud] = tokens[par];
+        if (calcules != null) {
+            Number valeur = calcules.get(par);
+            if (valeur != null) calcules.put(noeud, valeur);
+            else calcules.remove(noeud);
+        }
+    }
+
+    /**
+     * Détache enfant de parent (precedent : son frère précédent, AUCUN s'il
+     * est le premier)
+     */
+    void retirer(int parent, int precedent, int enfant) {
+        if (precedent == AUCUN) {
+            premiersEnfants[parent] = freresSuivants[enfant];
+        } else {
+            freresSuivants[precedent] = freresSuivants[enfant];
+        }
+    }
+
+    // ==================== LECTURE ====================
+
+    public int racine() {
+        return racine;
+    }
+
+    /**
+     * Nombre de nœuds
+     */
+    public int taille() {
+        return taille;
+    }
+
+    public int genre(int noeud) {
+        return genres[noeud];
+    }
+
+    public int premierEnfant(int noeud) {
+        return premiersEnfants[noeud];
+    }
+
+    public int frereSuivant(int noeud) {
+        return freresSuivants[noeud];
+    }
+
+    /**
+     * Indice du token associé dans le tampon (AUCUN si le nœud n'en a pas)
+     */
+    public int token(int noeud) {
+        return tokens[noeud];
+    }
+
+    /**
+     * Texte du token associé ("" s'il n'y en a pas) ; pour un NOMBRE
+     * calculé, sa valeur
+     */
+    public String valeur(int noeud) {
+        if (calcules != null && genres[noeud] == NOMBRE && calcules.containsKey(noeud)) {
+            return String.valueOf(calcules.get(noeud));
+        }
+        int t = tokens[noeud];
+        return (t == AUCUN || t >= tampon.taille()) ? "" : tampon.valeur(t);
+    }
+
+    public int ligne(int noeud) {
+        int t = tokens[noeud];
+        return (t == AUCUN || t >= tampon.taille()) ? 0 : tampon.ligne(t);
+    }
+
+    /**
+     * Valeur d'un NOMBRE : Integer ou Double (null si ce n'est pas un
+     * NOMBRE ou si l'entier ne tient pas dans un int)
+     */
+    public Number constante(int noeud) {
+        if (genres[noeud] != NOMBRE) return null;
+        if (calcules != null) {
+            Number valeur = calcules.get(noeud);
+            if (valeur != null) return valeur;
+        }
+        int t = tokens[noeud];
+        if (t == AUCUN || t >= tampon.taille()) return null;
+        try {
+            return (tampon.type(t) == TypeToken.NOMBRE_ENTIER)
+                    ? (Number) Integer.parseInt(tampon.texte(t), 0, tampon.longueur(t), 10)
+                    : (Number) Double.parseDouble(tampon.valeur(t));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public TamponTokens getTampon() {
+        return tampon;
+    }
+
+    public static String nomGenre(int genre) {
+        return NOMS[genre];
+    }
+
+    /**
+     * Mémoire occupée par les tableaux (octets)
+     */
+    public long octets() {
+        return 4L * 4 * genres.length;
+    }
+
+    // ==================== PARCOURS ====================
+
+    /**
+     * Visite en profondeur (préfixe à l'entrée, suffixe à la sortie).
+     * Si entrer() retourne false, les enfants du nœud sont sautés.
+     */
+    public interface Visiteur {
+        boolean entrer(ArbreSyntaxique arbre, int noeud, int profondeur);
+
+        default void sortir(ArbreSyntaxique arbre, int noeud, int profondeur) {
+        }
+    }
+
+    /**
+     * Parcours itératif depuis la racine (pile explicite : la profondeur
+     * de l'arbre n'est pas limitée par celle de la pile Java)
+     */
+    public void parcourir(Visiteur visiteur) {
+        parcourir(racine, visiteur);
+    }
+
+    /**
+     * Parcours itératif du sous-arbre de depuis (ses frères ne sont pas
+     * visités ; profondeur comptée à partir de depuis)
+     */
+    public void parcourir(int depuis, Visiteur visiteur) {
+        if (depuis == AUCUN) return;
+
+        int[] pile = new int[64];
+        int profondeur = 0;
+        int noeud = depuis;
+        while (true) {
+            // Descente : entrée du nœud et de ses premiers enfants
+            if (visiteur.entrer(this, noeud, profondeur) && premiersEnfants[noeud] != AUCUN) {
+                if (profondeur == pile.length) pile = Arrays.copyOf(pile, 2 * pile.length);
+                pile[profondeur++] = noeud;
+                noeud = premiersEnfants[noeud];
+                continue;
+            }
+            // Remontée jusqu'au premier nœud qui a un frère
+            visiteur.sortir(this, noeud, profondeur);
+            while (freresSuivants[noeud] == AUCUN) {
+                if (profondeur == 0) return;
+                noeud = pile[--profondeur];
+                visiteur.sortir(this, noeud, profondeur);
+            }
+            if (profondeur == 0) return;     // Le nœud de départ n'a pas de frère visité
+            noeud = freresSuivants[noeud];
+        }
+    }
+
+    /**
+     * Affiche l'arbre, un nœud par ligne, indenté selon la profondeur
+     */
+    public void afficher() {
+        StringBuilder sb = new StringBuilder();
+        parcourir((arbre, noeud, profondeur) -> {
+            sb.append("  ".repeat(profondeur)).append(nomGenre(genres[noeud]));
+            String valeur = valeur(noeud);
+            if (!valeur.isEmpty()) {
+                sb.append(" '").append(valeur).append('\'');
+            }
+            sb.append('\n');
+            return true;
+        });
+        System.out.print(sb);
+    }
+}
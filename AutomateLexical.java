@@ -0,0 +1,261 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - AUTOMATE LEXICAL
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Automate à états finis de l'analyseur lexical, sous forme de tables.
+ *
+ * Chaque caractère est d'abord ramené à une classe (table de 128 entrées
+ * pour l'ASCII, Character.isLetter/isDigit au-delà), puis une seule lecture
+ * de TRANSITIONS donne l'état suivant. L'automate couvre tous les tokens :
+ * identificateurs et mots-clés (trie fusionné), nombres, chaînes,
+ * commentaires, espaces, opérateurs simples et doubles, séparateurs.
+ */
+final class AutomateLexical {
+
+    // ==================== ACTIONS DES ÉTATS ====================
+    // >= 0 : état acceptant, code TypeToken du token reconnu
+
+    static final int NON_ACCEPTANT   = -1;
+    static final int IGNORER         = -2;   // Espaces et commentaires
+    static final int ERR_CARACTERE   = -3;   // Caractère invalide
+    static final int ERR_OPERATEUR   = -4;   // '&' ou '|' seul
+    static final int ERR_CHAINE      = -5;   // Chaîne non fermée
+    static final int ERR_COMMENTAIRE = -6;   // Commentaire non fermé
+
+    // ==================== CLASSES DE CARACTÈRES ====================
+    // Une classe par lettre présente dans un mot-clé, puis les classes
+    // ci-dessous, puis une classe par caractère de PONCTUATION.
+
+    private static final String PONCTUATION = "\"'\\/*.+-%=<>!&|(){}[];,";
+
+    static final int C_LETTRE;
+    static final int C_CHIFFRE;
+    static final int C_UNDERSCORE;
+    static final int C_ESPACE;
+    static final int C_NL;
+    static final int C_AUTRE;
+    static final int C_FIN;            // Fin du code (ou caractère '\0')
+    static final int NB_CLASSES;
+
+    private static final byte[] CLASSE_ASCII = new byte[128];
+
+    // ==================== TABLES ====================
+
+    static final int DEBUT = 0;
+    static final short[] TRANSITIONS;   // [etat * NB_CLASSES + classe], -1 : arrêt
+    static final int[] ACTION;          // Action de chaque état
+
+    // Table en construction (utilisée seulement par le bloc static)
+    private static final ArrayList<short[]> lignes = new ArrayList<>();
+    private static final ArrayList<Integer> actions = new ArrayList<>();
+
+    static {
+        // ----- Classes -----
+        int n = 0;
+        Arrays.fill(CLASSE_ASCII, (byte) -1);
+        for (String mc : TypeToken.MOTS_CLES) {
+            for (char c : mc.toCharArray()) {
+                if (CLASSE_ASCII[c] == -1) CLASSE_ASCII[c] = (byte) n++;
+            }
+        }
+        int premiereLettreMotCle = 0;
+        int derniereLettreMotCle = n - 1;
+        C_LETTRE = n++;
+        C_CHIFFRE = n++;
+        C_UNDERSCORE = n++;
+        C_ESPACE = n++;
+        C_NL = n++;
+        C_AUTRE = n++;
+        C_FIN = n++;
+        for (char c : PONCTUATION.toCharArray()) {
+            CLASSE_ASCII[c] = (byte) n++;
+        }
+        NB_CLASSES = n;
+
+        for (char c = 0; c < 128; c++) {
+            if (CLASSE_ASCII[c] != -1) continue;
+            if (Character.isLetter(c)) CLASSE_ASCII[c] = (byte) C_LETTRE;
+            else if (Character.isDigit(c)) CLASSE_ASCII[c] = (byte) C_CHIFFRE;
+            else if (c == '_') CLASSE_ASCII[c] = (byte) C_UNDERSCORE;
+            else if (c == ' ' || c == '\t' || c == '\r') CLASSE_ASCII[c] = (byte) C_ESPACE;
+            else if (c == '\n') CLASSE_ASCII[c] = (byte) C_NL;
+            else if (c == '\0') CLASSE_ASCII[c] = (byte) C_FIN;
+            else CLASSE_ASCII[c] = (byte) C_AUTRE;
+        }
+
+        // ----- États -----
+        int debut = etat(NON_ACCEPTANT);
+        arc(debut, C_FIN, etat(TypeToken.EOF));
+
+        // Espaces
+        int espace = etat(IGNORER);
+        for (int e : new int[] { debut, espace }) {
+            arc(e, C_ESPACE, espace);
+            arc(e, C_NL, espace);
+        }
+
+        // Identificateurs : lettre ou underscore, puis lettre, chiffre ou underscore
+        int ident = etat(TypeToken.IDENTIFICATEUR);
+        for (int c = premiereLettreMotCle; c <= derniereLettreMotCle; c++) {
+            arc(debut, c, ident);
+            arc(ident, c, ident);
+        }
+        for (int c : new int[] { C_LETTRE, C_UNDERSCORE }) arc(debut, c, ident);
+        for (int c : new int[] { C_LETTRE, C_CHIFFRE, C_UNDERSCORE }) arc(ident, c, ident);
+
+        // Mots-clés : trie dont chaque nœud se comporte comme un identificateur
+        for (int k = 0; k < TypeToken.MOTS_CLES.length; k++) {
+            int e = debut;
+            for (char c : TypeToken.MOTS_CLES[k].toCharArray()) {
+                int suivant = lignes.get(e)[CLASSE_ASCII[c]];
+                if (suivant == ident) {
+                    suivant = etat(TypeToken.IDENTIFICATEUR);
+                    lignes.set(suivant, lignes.get(ident).clone());
+                    arc(e, CLASSE_ASCII[c], suivant);
+                }
+                e = suivant;
+            }
+            actions.set(e, TypeToken.PREMIER_MOT_CLE + k);
+        }
+
+        // Nombres : chiffres, puis éventuellement '.' suivi d'au moins un chiffre
+        int entier = etat(TypeToken.NOMBRE_ENTIER);
+        int point = etat(NON_ACCEPTANT);
+        int decimal = etat(TypeToken.NOMBRE_DECIMAL);
+        arc(debut, C_CHIFFRE, entier);
+        arc(entier, C_CHIFFRE, entier);
+        arc(entier, classe('.'), point);
+        arc(point, C_CHIFFRE, decimal);
+        arc(decimal, C_CHIFFRE, decimal);
+
+        // Chaînes entre " ou ' (\ protège le caractère suivant)
+        int erreurChaine = etat(ERR_CHAINE);
+        for (char guillemet : new char[] { '"', '\'' }) {
+            int dans = etat(NON_ACCEPTANT);
+            int echappe = etat(NON_ACCEPTANT);
+            arc(debut, classe(guillemet), dans);
+            sauf(dans, dans);
+            sauf(echappe, dans);
+            arc(dans, classe(guillemet), etat(TypeToken.CHAINE));
+            arc(dans, classe('\\'), echappe);
+            arc(dans, C_FIN, erreurChaine);
+            arc(echappe, C_FIN, erreurChaine);
+        }
+
+        // '/' : division, commentaire ligne ou commentaire bloc
+        int slash = etat(TypeToken.DIVISION);
+        int ligne = etat(IGNORER);
+        int bloc = etat(NON_ACCEPTANT);
+        int etoile = etat(NON_ACCEPTANT);
+        int erreurBloc = etat(ERR_COMMENTAIRE);
+        arc(debut, classe('/'), slash);
+        arc(slash, classe('/'), ligne);
+        sauf(ligne, ligne);
+        arc(ligne, C_NL, -1);
+        arc(slash, classe('*'), bloc);
+        sauf(bloc, bloc);
+        arc(bloc, classe('*'), etoile);
+        sauf(etoile, bloc);
+        arc(etoile, classe('*'), etoile);
+        arc(etoile, classe('/'), etat(IGNORER));
+        arc(bloc, C_FIN, erreurBloc);
+        arc(etoile, C_FIN, erreurBloc);
+
+        // Opérateurs simples et doubles
+        operateur(debut, '+', TypeToken.PLUS, '+', TypeToken.INCREMENT);
+        operateur(debut, '-', TypeToken.MOINS, '-', TypeToken.DECREMENT);
+        operateur(debut, '=', TypeToken.AFFECTATION, '=', TypeToken.EGAL);
+        operateur(debut, '<', TypeToken.INFERIEUR, '=', TypeToken.INFERIEUR_EGAL);
+        operateur(debut, '>', TypeToken.SUPERIEUR, '=', TypeToken.SUPERIEUR_EGAL);
+        operateur(debut, '!', TypeToken.NON_LOGIQUE, '=', TypeToken.DIFFERENT);
+        operateur(debut, '&', ERR_OPERATEUR, '&', TypeToken.ET_LOGIQUE);
+        operateur(debut, '|', ERR_OPERATEUR, '|', TypeToken.OU_LOGIQUE);
+        arc(debut, classe('*'), etat(TypeToken.FOIS));
+        arc(debut, classe('%'), etat(TypeToken.MODULO));
+
+        // Séparateurs
+        arc(debut, classe('('), etat(TypeToken.PAREN_OUVRANT));
+        arc(debut, classe(')'), etat(TypeToken.PAREN_FERMANT));
+        arc(debut, classe('{'), etat(TypeToken.ACCOLADE_OUVRANTE));
+        arc(debut, classe('}'), etat(TypeToken.ACCOLADE_FERMANTE));
+        arc(debut, classe('['), etat(TypeToken.CROCHET_OUVRANT));
+        arc(debut, classe(']'), etat(TypeToken.CROCHET_FERMANT));
+        arc(debut, classe(';'), etat(TypeToken.POINT_VIRGULE));
+        arc(debut, classe(','), etat(TypeToken.VIRGULE));
+        arc(debut, classe('.'), etat(TypeToken.POINT));
+
+        // Tout le reste est un caractère invalide (consommé seul)
+        int invalide = etat(ERR_CARACTERE);
+        for (int c = 0; c < NB_CLASSES; c++) {
+            if (lignes.get(debut)[c] == -1 && c != C_FIN) arc(debut, c, invalide);
+        }
+
+        // ----- Aplatissement -----
+        TRANSITIONS = new short[lignes.size() * NB_CLASSES];
+        ACTION = new int[lignes.size()];
+        for (int e = 0; e < lignes.size(); e++) {
+            System.arraycopy(lignes.get(e), 0, TRANSITIONS, e * NB_CLASSES, NB_CLASSES);
+            ACTION[e] = actions.get(e);
+        }
+        lignes.clear();
+        actions.clear();
+    }
+
+    private AutomateLexical() {
+    }
+
+    // ==================== CLASSE D'UN CARACTÈRE ====================
+
+    /**
+     * Classe d'un caractère : une lecture de table en ASCII
+     */
+    static int classe(char c) {
+        if (c < 128) return CLASSE_ASCII[c];
+        if (Character.isLetter(c)) return C_LETTRE;
+        if (Character.isDigit(c)) return C_CHIFFRE;
+        return C_AUTRE;
+    }
+
+    static int nombreEtats() {
+        return ACTION.length;
+    }
+
+    // ==================== CONSTRUCTION ====================
+
+    private static int etat(int action) {
+        short[] ligne = new short[NB_CLASSES];
+        Arrays.fill(ligne, (short) -1);
+        lignes.add(ligne);
+        actions.add(action);
+        return lignes.size() - 1;
+    }
+
+    private static void arc(int de, int classe, int vers) {
+        lignes.get(de)[classe] = (short) vers;
+    }
+
+    // Toutes les classes sauf la fin du code mènent à vers
+    private static void sauf(int de, int vers) {
+        for (int c = 0; c < NB_CLASSES; c++) {
+            if (c != C_FIN) arc(de, c, vers);
+        }
+    }
+
+    private static void operateur(int debut, char c, int action, char c2, int action2) {
+        int simple = etat(action);
+        arc(debut, classe(c), simple);
+        arc(simple, classe(c2), etat(action2));
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - BANC D'ESSAI
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mesures de débit du compilateur, à la manière de JMH : itérations
+ * d'échauffement puis itérations mesurées de durée fixe, chacune
+ * répétant l'opération autant de fois qu'elle le peut ; le résultat de
+ * chaque opération est consommé (puits) pour que le JIT ne la supprime
+ * pas. Six mesures :
+ *   - lexer    : AnalyseurLexical.analyser(), en Mo/s ;
+ *   - parser   : AnalyseurSyntaxique.Z() sur un tampon déjà rempli, en
+ *                tokens/s ;
+ *   - complet  : lexer + parser, en Mo/s, avec l'allocation (octets par
+ *                opération et Mo/s alloués, compteur du thread) et le
+ *                temps passé en GC, comme le profileur gc de JMH ;
+ *   - flux     : lexer et parser avancent ensemble sur un thread, en Mo/s ;
+ *   - pipeline : lexer sur un second thread, relié au parser par un
+ *                anneau sans verrou, en Mo/s (l'allocation du thread du
+ *                lexer n'est pas comptée ; le gain demande deux cœurs) ;
+ *   - parallele: AnalyseurLexical.analyserEnParallele(), en Mo/s, sur
+ *                --threads=N threads (défaut : nombre de cœurs).
+ *
+ * L'entrée vient du GenerateurProgrammes (mêmes options : --taille,
+ * --graine, --profondeur, --commentaires, --melange, --erreurs) ou d'un
+ * fichier. Pas de fork : lancer une JVM par configuration à comparer.
+ *
+ * Usage : BancEssai [options du générateur] [--echauffement=N]
+ *         [--iterations=N] [--duree=ms] [--mesure=lexer|parser|complet|flux|pipeline|parallele] [--threads=N]
+ *         [fichier]
+ */
+public final class BancEssai {
+
+    // ==================== ATTRIBUTS ====================
+
+    private final CharSequence source;
+    private final int tokens;                   // Tokens de la source (pour le débit du parser)
+    private int echauffement = 3;
+    private int iterations = 5;
+    private long dureeIteration = 1_000_000_000L;
+
+    // Puits : le résultat de chaque opération y est ajouté
+    private volatile long puits;
+
+    /**
+     * Mesure d'une opération : temps par opération de chaque itération
+     * mesurée, allocation et GC sur l'ensemble des itérations mesurées
+     */
+    public static final class Resultat {
+        private final String nom;
+        private final double[] nsParOperation;
+        private final long octetsAlloues;       // -1 : compteur indisponible
+        private final long operations;
+        private final long dureeGcMs;
+        private final int collections;
+
+        Resultat(String nom, double[] nsParOperation, long octetsAlloues, long operations,
+                 long dureeGcMs, int collections) {
+            this.nom = nom;
+            this.nsParOperation = nsParOperation;
+            this.octetsAlloues = octetsAlloues;
+            this.operations = operations;
+            this.dureeGcMs = dureeGcMs;
+            this.collections = collections;
+        }
+
+        public String getNom() {
+            return nom;
+        }
+
+        /**
+         * Moyenne des itérations (ns par opération)
+         */
+        public double moyenne() {
+            double somme = 0;
+            for (double v : nsParOperation) somme += v;
+            return somme / nsParOperation.length;
+        }
+
+        /**
+         * Écart-type des itérations (ns par opération)
+         */
+        public double ecartType() {
+            double m = moyenne();
+            double somme = 0;
+            for (double v : nsParOperation) somme += (v - m) * (v - m);
+            return nsParOperation.length < 2 ? 0 : Math.sqrt(somme / (nsParOperation.length - 1));
+        }
+
+        public double meilleure() {
+            return Arrays.stream(nsParOperation).min().orElse(0);
+        }
+
+        /**
+         * Octets alloués par opération (-1 si le compteur est indisponible)
+         */
+        public long octetsParOperation() {
+            return octetsAlloues < 0 ? -1 : octetsAlloues / Math.max(operations, 1);
+        }
+
+        public long getDureeGcMs() {
+            return dureeGcMs;
+        }
+
+        public int getCollections() {
+            return collections;
+        }
+    }
+
+    // ==================== CONSTRUCTEUR ====================
+
+    public BancEssai(CharSequence source) {
+        this.source = source;
+        AnalyseurLexical lexer = new AnalyseurLexical(source);
+        lexer.setEcouteur(Trace.SILENCE);
+        lexer.analyser();
+        this.tokens = lexer.getTampon().taille();
+    }
+
+    public void setEchauffement(int iterations) {
+        this.echauffement = iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Durée d'une itération (millisecondes)
+     */
+    public void setDuree(long millisecondes) {
+        this.dureeIteration = millisecondes * 1_000_000L;
+    }
+
+    public int getTokens() {
+        return tokens;
+    }
+
+    // ==================== OPÉRATIONS MESURÉES ====================
+
+    public Resultat lexer() {
+        return mesurer("lexer", () -> {
+            AnalyseurLexical lexer = new AnalyseurLexical(source);
+            lexer.setEcouteur(Trace.SILENCE);
+            lexer.analyser();
+            return lexer.getTampon().taille();
+        });
+    }
+
+    public Resultat parser() {
+        AnalyseurLexical lexer = new AnalyseurLexical(source);
+        lexer.setEcouteur(Trace.SILENCE);
+        lexer.analyser();
+        TamponTokens tampon = lexer.getTampon();
+        return mesurer("parser", () -> {
+            AnalyseurSyntaxique parser = new AnalyseurSyntaxique(tampon);
+            parser.setEcouteur(Trace.SILENCE);
+            parser.Z();
+            return parser.getDiagnostics().size() + (parser.estAccepte() ? 1 : 0);
+        });
+    }
+
+    public Resultat complet() {
+        return mesurer("complet", () -> {
+            AnalyseurLexical lexer = new AnalyseurLexical(source);
+            lexer.setEcouteur(Trace.SILENCE);
+            lexer.analyser();
+            AnalyseurSyntaxique parser = new AnalyseurSyntaxique(lexer.getTampon());
+            parser.setEcouteur(Trace.SILENCE);
+            parser.Z();
+            return lexer.getTampon().taille() + parser.getDiagnostics().size();
+        });
+    }
+
+    public Resultat flux() {
+        return mesurer("flux", () -> {
+            AnalyseurLexical lexer = new AnalyseurLexical(source);
+            lexer.setEcouteur(Trace.SILENCE);
+            AnalyseurSyntaxique parser = new AnalyseurSyntaxique(lexer);
+            parser.setEcouteur(Trace.SILENCE);
+            parser.Z();
+            return parser.getDiagnosticsEntrelaces().size() + (parser.estAccepte() ? 1 : 0);
+        });
+    }
+
+    public Resultat pipeline() {
+        return mesurer("pipeline", () -> {
+            AnalyseurLexical lexer = new AnalyseurLexical(source);
+            lexer.setEcouteur(Trace.SILENCE);
+            AnalyseurSyntaxique parser = AnalyseurSyntaxique.pipeline(lexer);
+            parser.setEcouteur(Trace.SILENCE);
+            parser.Z();
+            return parser.getDiagnosticsEntrelaces().size() + (parser.estAccepte() ? 1 : 0);
+        });
+    }
+
+    public Resultat parallele(int threads) {
+        return mesurer("parallele", () -> {
+            AnalyseurLexical lexer = new AnalyseurLexical(source);
+            lexer.setEcouteur(Trace.SILENCE);
+            lexer.analyserEnParallele(threads);
+            return lexer.getTampon().taille();
+        });
+    }
+
+    // ==================== MESURE ====================
+
+    private interface Operation {
+        long executer();
+    }
+
+    private Resultat mesurer(String nom, Operation operation) {
+        for (int k = 0; k < echauffement; k++) {
+            iteration(operation);
+        }
+
+        com.sun.management.ThreadMXBean allocations = compteurAllocations();
+        long threadId = Thread.currentThread().getId();
+        long gcAvant = dureeGc();
+        int collectionsAvant = collections();
+        long allouesAvant = (allocations == null) ? -1 : allocations.getThreadAllocatedBytes(threadId);
+
+        double[] nsParOperation = new double[iterations];
+        long operations = 0;
+        for (int k = 0; k < iterations; k++) {
+            long[] mesure = iteration(operation);
+            nsParOperation[k] = (double) mesure[1] / mesure[0];
+            operations += mesure[0];
+        }
+
+        long alloues = (allocations == null) ? -1
+                : allocations.getThreadAllocatedBytes(threadId) - allouesAvant;
+        return new Resultat(nom, nsParOperation, alloues, operations,
+                            dureeGc() - gcAvant, collections() - collectionsAvant);
+    }
+
+    /**
+     * Répète l'opération pendant la durée d'une itération ; retourne
+     * {opérations, nanosecondes}
+     */
+    private long[] iteration(Operation operation) {
+        long debut = System.nanoTime();
+        long fin = debut + dureeIteration;
+        long operations = 0;
+        long somme = 0;
+        long maintenant;
+        do {
+            somme += operation.executer();
+            operations++;
+            maintenant = System.nanoTime();
+        } while (maintenant < fin);
+        puits += somme;
+        return new long[] {operations, maintenant - debut};
+    }
+
+    private static com.sun.management.ThreadMXBean compteurAllocations() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean compteur = (com.sun.management.ThreadMXBean) threads;
+            if (compteur.isThreadAllocatedMemorySupported() && compteur.isThreadAllocatedMemoryEnabled()) {
+                return compteur;
+            }
+        }
+        return null;
+    }
+
+    private static long dureeGc() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(gc.getCollectionTime(), 0);
+        }
+        return total;
+    }
+
+    private static int collections() {
+        int total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += (int) Math.max(gc.getCollectionCount(), 0);
+        }
+        return total;
+    }
+
+    // ==================== AFFICHAGE ====================
+
+    /**
+     * Une ligne par mesure : débit (Mo/s, tokens/s pour le parser),
+     * temps par opération, allocation et GC
+     */
+    public void afficher(List<Resultat> resultats) {
+        System.out.println("=".repeat(97));
+        System.out.println(String.format("%-9s | %-20s | %-20s | %-20s | %s",
+                                        "MESURE", "DÉBIT", "MS/OP (± ÉCART)", "ALLOCATION/OP", "GC"));
+        System.out.println("-".repeat(97));
+        for (Resultat r : resultats) {
+            double secondes = r.moyenne() / 1e9;
+            String debit = r.getNom().equals("parser")
+                    ? String.format("%.2f M tokens/s", tokens / 1e6 / secondes)
+                    : String.format("%.1f Mo/s", source.length() / 1e6 / secondes);
+            String allocation = r.octetsParOperation() < 0 ? "indisponible"
+                    : String.format("%.2f Mo (%.0f Mo/s)", r.octetsParOperation() / 1e6,
+                                    r.octetsParOperation() / 1e6 / secondes);
+            System.out.println(String.format("%-9s | %-20s | %9.3f ± %-8.3f | %-20s | %d coll., %d ms",
+                                            r.getNom(), debit, r.moyenne() / 1e6, r.ecartType() / 1e6,
+                                            allocation, r.getCollections(), r.getDureeGcMs()));
+        }
+        System.out.println("=".repeat(97) + "\n");
+    }
+
+    // ==================== MAIN ====================
+
+    public static void main(String[] args) {
+        System.out.println("\n╔════════════════════════════════════════════════════╗");
+        System.out.println("║   MINI-COMPILATEUR JAVA - BANC D'ESSAI            ║");
+        System.out.println("║   Étudiant : Malek Leiticia                       ║");
+        System.out.println("║   Instruction : WHILE (Descente Récursive)        ║");
+        System.out.println("╚════════════════════════════════════════════════════╝\n");
+
+        String fichier = null;
+        String mesure = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (String a : args) {
+            if (a.startsWith("--mesure=")) mesure = a.substring("--mesure=".length());
+            else if (a.startsWith("--threads=")) threads = Integer.parseInt(a.substring("--threads=".length()));
+            else if (!a.startsWith("--")) fichier = a;
+        }
+
+        CharSequence source;
+        if (fichier != null) {
+            ChargeurSource chargeur = ChargeurSource.charger(fichier);
+            if (chargeur == null) {
+                System.err.println("Erreur : Impossible de lire " + fichier + "\n");
+                return;
+            }
+            source = chargeur.texte();
+            System.out.println("Entrée : " + fichier);
+        } else {
+            GenerateurProgrammes generateur = GenerateurProgrammes.depuisArguments(args);
+            source = generateur.generer();
+            System.out.println("Entrée : programme généré, " + generateur.getErreursInjectees()
+                               + " erreurs injectées");
+        }
+
+        BancEssai banc = new BancEssai(source);
+        for (String a : args) {
+            if (a.startsWith("--echauffement=")) {
+                banc.setEchauffement(Integer.parseInt(a.substring("--echauffement=".length())));
+            } else if (a.startsWith("--iterations=")) {
+                banc.setIterations(Integer.parseInt(a.substring("--iterations=".length())));
+            } else if (a.startsWith("--duree=")) {
+                banc.setDuree(Long.parseLong(a.substring("--duree=".length())));
+            }
+        }
+        System.out.println(String.format("Taille : %d caractères, %d tokens\n", source.length(), banc.getTokens()));
+
+        List<Resultat> resultats = new ArrayList<>();
+        if (mesure == null || mesure.equals("lexer")) resultats.add(banc.lexer());
+        if (mesure == null || mesure.equals("parser")) resultats.add(banc.parser());
+        if (mesure == null || mesure.equals("complet")) resultats.add(banc.complet());
+        if (mesure == null || mesure.equals("flux")) resultats.add(banc.flux());
+        if (mesure == null || mesure.equals("pipeline")) resultats.add(banc.pipeline());
+        if (mesure == null || mesure.equals("parallele")) resultats.add(banc.parallele(threads));
+        banc.afficher(resultats);
+    }
+}
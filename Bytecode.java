@@ -0,0 +1,204 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - BYTECODE
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+/**
+ * Programme compilé pour la MachineVirtuelle : bytecode à registres.
+ *
+ * Chaque instruction occupe 4 entiers (code, a, b, c). Les registres
+ * sont typés : un banc d'int (booléens compris) et un banc de double
+ * (float compris) ; les variables occupent les premiers registres, les
+ * temporaires viennent après. Les sauts gardent leur cible (indice
+ * dans code) dans c.
+ */
+public final class Bytecode {
+
+    // ==================== JEU D'INSTRUCTIONS ====================
+
+    public static final int TAILLE_INSTRUCTION = 4;
+
+    // Chargements et conversions
+    public static final int FIN         = 0;    //                  arrêt
+    public static final int CONST_I     = 1;    // a, valeur        i[a] = valeur
+    public static final int CONST_D     = 2;    // a, k             d[a] = constantes[k]
+    public static final int COPIE_I     = 3;    // a, b             i[a] = i[b]
+    public static final int COPIE_D     = 4;    // a, b             d[a] = d[b]
+    public static final int I_VERS_D    = 5;    // a, b             d[a] = i[b]
+    public static final int INC_I       = 6;    // a, valeur        i[a] += valeur
+    public static final int INC_D       = 7;    // a, valeur        d[a] += valeur
+
+    // Arithmétique : a = b op c
+    public static final int ADD_I       = 8;
+    public static final int SUB_I       = 9;
+    public static final int MUL_I       = 10;
+    public static final int DIV_I       = 11;
+    public static final int MOD_I       = 12;
+    public static final int ADD_D       = 13;
+    public static final int SUB_D       = 14;
+    public static final int MUL_D       = 15;
+    public static final int DIV_D       = 16;
+    public static final int MOD_D       = 17;
+
+    // Sauts (cible dans c)
+    public static final int SAUT        = 18;   //                  toujours
+    public static final int SI_VRAI_I   = 19;   // a                i[a] != 0
+    public static final int SI_FAUX_I   = 20;   // a                i[a] == 0
+    public static final int SI_VRAI_D   = 21;   // a                d[a] != 0
+    public static final int SI_FAUX_D   = 22;   // a                d[a] == 0
+
+    // Comparaisons, dans l'ordre LT, LE, GT, GE, EQ, NE (+ COMPARAISON)
+    public static final int SI_I        = 23;   // a, b             i[a] op i[b]
+    public static final int SI_IK       = 29;   // a, valeur        i[a] op valeur
+    public static final int SI_D        = 35;   // a, b             d[a] op d[b]
+    public static final int SAUF_D      = 41;   // a, b             !(d[a] op d[b]) (NaN compris)
+
+    public static final int NOMBRE_CODES = 47;
+
+    public static final int LT = 0;
+    public static final int LE = 1;
+    public static final int GT = 2;
+    public static final int GE = 3;
+    public static final int EQ = 4;
+    public static final int NE = 5;
+
+    private static final String[] COMPARAISONS = {"<", "<=", ">", ">=", "==", "!="};
+
+    // Comparaison contraire (sur des entiers) : LT ↔ GE, LE ↔ GT, EQ ↔ NE
+    private static final int[] CONTRAIRES = {GE, GT, LE, LT, NE, EQ};
+
+    private static final String[] NOMS = {
+        "FIN", "CONST_I", "CONST_D", "COPIE_I", "COPIE_D", "I_VERS_D", "INC_I", "INC_D",
+        "ADD_I", "SUB_I", "MUL_I", "DIV_I", "MOD_I", "ADD_D", "SUB_D", "MUL_D", "DIV_D", "MOD_D",
+        "SAUT", "SI_VRAI_I", "SI_FAUX_I", "SI_VRAI_D", "SI_FAUX_D"
+    };
+
+    // ==================== ATTRIBUTS ====================
+
+    final int[] code;               // Instructions (4 entiers chacune)
+    final int[] lignes;             // Ligne source de chaque instruction
+    final double[] constantes;      // Constantes décimales
+    final int registresI;           // Taille des bancs de registres
+    final int registresD;
+    final String[] variables;       // Variables de main (portée de la méthode)
+    final int[] registres;          // Leur registre (voir CompilateurBytecode.operande)
+
+    Bytecode(int[] code, int[] lignes, double[] constantes, int registresI, int registresD,
+             String[] variables, int[] registres) {
+        this.code = code;
+        this.lignes = lignes;
+        this.constantes = constantes;
+        this.registresI = registresI;
+        this.registresD = registresD;
+        this.variables = variables;
+        this.registres = registres;
+    }
+
+    // ==================== CODES ====================
+
+    public static int contraire(int comparaison) {
+        return CONTRAIRES[comparaison];
+    }
+
+    public static boolean estSaut(int op) {
+        return op >= SAUT;
+    }
+
+    public static String nom(int op) {
+        if (op < SI_I) return NOMS[op];
+        if (op < SI_IK) return "SI_I " + COMPARAISONS[op - SI_I];
+        if (op < SI_D) return "SI_IK " + COMPARAISONS[op - SI_IK];
+        if (op < SAUF_D) return "SI_D " + COMPARAISONS[op - SI_D];
+        return "SAUF_D " + COMPARAISONS[op - SAUF_D];
+    }
+
+    // ==================== LECTURE ====================
+
+    /**
+     * Nombre d'instructions
+     */
+    public int taille() {
+        return code.length / TAILLE_INSTRUCTION;
+    }
+
+    public int getRegistresI() {
+        return registresI;
+    }
+
+    public int getRegistresD() {
+        return registresD;
+    }
+
+    /**
+     * Listing : une instruction par ligne, précédée de son adresse
+     */
+    public String desassembler() {
+        StringBuilder sb = new StringBuilder();
+        for (int pc = 0; pc < code.length; pc += TAILLE_INSTRUCTION) {
+            int op = code[pc];
+            sb.append(String.format("%5d  %-12s", pc, nom(op)));
+            switch (op) {
+                case FIN:
+                    break;
+                case CONST_I:
+                    sb.append("i").append(code[pc + 1]).append(", ").append(code[pc + 2]);
+                    break;
+                case CONST_D:
+                    sb.append("d").append(code[pc + 1]).append(", ").append(constantes[code[pc + 2]]);
+                    break;
+                case COPIE_I:
+                    sb.append("i").append(code[pc + 1]).append(", i").append(code[pc + 2]);
+                    break;
+                case COPIE_D:
+                    sb.append("d").append(code[pc + 1]).append(", d").append(code[pc + 2]);
+                    break;
+                case I_VERS_D:
+                    sb.append("d").append(code[pc + 1]).append(", i").append(code[pc + 2]);
+                    break;
+                case INC_I:
+                    sb.append("i").append(code[pc + 1]).append(", ").append(code[pc + 2]);
+                    break;
+                case INC_D:
+                    sb.append("d").append(code[pc + 1]).append(", ").append(code[pc + 2]);
+                    break;
+                case SAUT:
+                    sb.append("→ ").append(code[pc + 3]);
+                    break;
+                case SI_VRAI_I:
+                case SI_FAUX_I:
+                    sb.append("i").append(code[pc + 1]).append(" → ").append(code[pc + 3]);
+                    break;
+                case SI_VRAI_D:
+                case SI_FAUX_D:
+                    sb.append("d").append(code[pc + 1]).append(" → ").append(code[pc + 3]);
+                    break;
+                default:
+                    if (op <= MOD_I) {
+                        sb.append("i").append(code[pc + 1]).append(", i").append(code[pc + 2])
+                          .append(", i").append(code[pc + 3]);
+                    } else if (op <= MOD_D) {
+                        sb.append("d").append(code[pc + 1]).append(", d").append(code[pc + 2])
+                          .append(", d").append(code[pc + 3]);
+                    } else if (op < SI_IK) {
+                        sb.append("i").append(code[pc + 1]).append(", i").append(code[pc + 2])
+                          .append(" → ").append(code[pc + 3]);
+                    } else if (op < SI_D) {
+                        sb.append("i").append(code[pc + 1]).append(", ").append(code[pc + 2])
+                          .append(" → ").append(code[pc + 3]);
+                    } else {
+                        sb.append("d").append(code[pc + 1]).append(", d").append(code[pc + 2])
+                          .append(" → ").append(code[pc + 3]);
+                    }
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,490 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - CACHE DISQUE DES ANALYSES
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Résultats d'analyse conservés sur disque d'une exécution à l'autre.
+ *
+ * Une entrée est nommée par l'empreinte SHA-256 du source et de la version
+ * de l'analyseur (empreinte de ses classes et de leurs classes internes,
+ * index des lignes et décodage du source compris : toute modification du
+ * lexer ou de la grammaire change les clés). Elle contient le verdict, les
+ * erreurs lexicales et syntaxiques et le flot de tokens, en binaire
+ * compact.
+ *
+ * Plusieurs processus peuvent partager le dossier : chaque entrée est
+ * écrite dans un fichier temporaire puis renommée atomiquement, et une
+ * entrée illisible (somme de contrôle CRC32C fausse) est traitée comme
+ * absente. La taille du dossier est
+ * bornée : les entrées les moins récemment lues sont supprimées d'abord
+ * (la date de modification sert de date d'accès). Seuls les fichiers du
+ * cache (ab/<clé>.res et ab/ecriture-*.tmp) sont comptés ou supprimés.
+ */
+public final class CacheDisque {
+
+    // ==================== ATTRIBUTS ====================
+
+    private static final int MAGIE = 0x4D435231;            // "MCR1"
+    private static final String EXTENSION = ".res";
+    private static final long TEMPORAIRE_ABANDONNE_MS = 3_600_000;
+
+    // Classes dont dépend le contenu d'une entrée (leurs classes internes
+    // comprises) ; CompilationParLot calcule le verdict enregistré
+    private static final Class<?>[] VERSION = {
+        AutomateLexical.class, AnalyseurLexical.class, TamponTokens.class, TypeToken.class,
+        AnalyseurSyntaxique.class, Diagnostic.class, IndexLignes.class, ChargeurSource.class,
+        TableSymboles.class, CacheDisque.class, CompilationParLot.class
+    };
+    private static volatile byte[] version;
+
+    private final Path dossier;
+    private final long capacite;                            // Octets
+    private final AtomicLong ecritsDepuisElagage = new AtomicLong();
+    private final AtomicInteger elaguees = new AtomicInteger();     // Depuis la création
+
+    // ==================== CONSTRUCTEUR ====================
+
+    public CacheDisque(Path dossier, long capacite) throws IOException {
+        this.dossier = dossier;
+        this.capacite = capacite;
+        Files.createDirectories(dossier);
+    }
+
+    // ==================== ENTRÉE ====================
+
+    /**
+     * Résultat relu : verdict et erreurs d'un source. Les tokens, rangés
+     * après les erreurs, ne sont décodés que si tampon() est appelé.
+     */
+    public static final class Entree {
+        private final boolean accepte;
+        private final List<Diagnostic> lexicales;
+        private final List<Diagnostic> syntaxiques;
+        private final byte[] octets;
+        private final int debutTokens;
+
+        Entree(boolean accepte, List<Diagnostic> lexicales, List<Diagnostic> syntaxiques,
+               byte[] octets, int debutTokens) {
+            this.accepte = accepte;
+            this.lexicales = lexicales;
+            this.syntaxiques = syntaxiques;
+            this.octets = octets;
+            this.debutTokens = debutTokens;
+        }
+
+        public boolean estAccepte() {
+            return accepte;
+        }
+
+        /**
+         * Tampon de tokens sur le source, sans repasser par le lexer
+         */
+        public TamponTokens tampon(CharSequence source) {
+            TamponTokens tampon = new TamponTokens(source);
+            try (DataInputStream in = new DataInputStream(
+                    new ByteArrayInputStream(octets, debutTokens, octets.length - 4 - debutTokens))) {
+                int nombre = lireEntier(in);
+                int fin = 0;
+                for (int k = 0; k < nombre; k++) {
+                    int type = in.readUnsignedByte();
+                    int debut = fin + lireEntier(in);
+                    int longueur = lireEntier(in);
+                    tampon.ajouter(type, debut, longueur);
+                    fin = debut + longueur;
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Tokens de l'entrée corrompus", e);
+            }
+            return tampon;
+        }
+
+        public List<Diagnostic> getLexicales() {
+            return lexicales;
+        }
+
+        public List<Diagnostic> getSyntaxiques() {
+            return syntaxiques;
+        }
+    }
+
+    // ==================== CLÉ ====================
+
+    /**
+     * Clé d'un source : SHA-256 de ses octets et de la version de l'analyseur
+     */
+    public static String cle(ChargeurSource source) {
+        MessageDigest sha = sha256();
+        sha.update(version());
+        sha.update(source.contenu());
+        byte[] h = sha.digest();
+        StringBuilder sb = new StringBuilder(2 * h.length);
+        for (byte b : h) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    // Empreinte des classes de l'analyseur, calculée une fois
+    private static byte[] version() {
+        byte[] v = version;
+        if (v == null) {
+            MessageDigest sha = sha256();
+            for (Class<?> c : VERSION) {
+                empreinte(sha, c);
+            }
+            v = sha.digest();
+            version = v;
+        }
+        return v;
+    }
+
+    // Octets de la classe puis de ses classes internes, dans un ordre stable
+    private static void empreinte(MessageDigest sha, Class<?> c) {
+        String nom = c.getName().substring(c.getName().lastIndexOf('.') + 1);
+        try (InputStream classe = c.getResourceAsStream(nom + ".class")) {
+            if (classe == null) {
+                // Classes inaccessibles (image native...) : version du format seule
+                sha.update(c.getName().getBytes(StandardCharsets.UTF_8));
+            } else {
+                sha.update(classe.readAllBytes());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Classe " + c.getName() + " illisible", e);
+        }
+        Class<?>[] internes = c.getDeclaredClasses();
+        Arrays.sort(internes, Comparator.comparing(Class::getName));
+        for (Class<?> interne : internes) {
+            empreinte(sha, interne);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    private Path chemin(String cle) {
+        return dossier.resolve(cle.substring(0, 2)).resolve(cle + EXTENSION);
+    }
+
+    // ==================== LECTURE ====================
+
+    /**
+     * Entrée de la clé, ou null si elle est absente ou illisible
+     */
+    public Entree lire(String cle) {
+        Path fichier = chemin(cle);
+        byte[] octets;
+        try {
+            octets = Files.readAllBytes(fichier);
+        } catch (IOException e) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(octets, 0, octets.length - 4))) {
+            if (octets.length < 8 || in.readInt() != MAGIE || controle(octets, octets.length - 4) != finale(octets)) {
+                throw new IOException("Entrée corrompue");
+            }
+            boolean accepte = in.readBoolean();
+            List<Diagnostic> lexicales = lireDiagnostics(in, Diagnostic.LEXICAL);
+            List<Diagnostic> syntaxiques = lireDiagnostics(in, Diagnostic.SYNTAXIQUE);
+            int debutTokens = octets.length - 4 - in.available();
+
+            toucher(fichier);
+            return new Entree(accepte, lexicales, syntaxiques, octets, debutTokens);
+        } catch (IOException | RuntimeException e) {
+            // Entrée tronquée ou d'un autre format : refaite à la prochaine écriture
+            supprimer(fichier);
+            return null;
+        }
+    }
+
+    private static List<Diagnostic> lireDiagnostics(DataInputStream in, int phase) throws IOException {
+        int n = lireEntier(in);
+        if (n < 0 || n > in.available()) {
+            throw new IOException("Entrée corrompue");
+        }
+        List<Diagnostic> diagnostics = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) {
+            int position = lireEntier(in);
+            int ligne = lireEntier(in);
+            int colonne = lireEntier(in);
+            diagnostics.add(new Diagnostic(phase, position, ligne, colonne, lireTexte(in)));
+        }
+        return diagnostics;
+    }
+
+    // LRU : la date de modification tient lieu de date du dernier accès
+    private static void toucher(Path fichier) {
+        try {
+            Files.setLastModifiedTime(fichier, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Entrée supprimée entre-temps par un autre processus
+        }
+    }
+
+    // ==================== ÉCRITURE ====================
+
+    /**
+     * Enregistre le résultat d'une analyse en mode tampon
+     */
+    public void ecrire(String cle, boolean accepte, TamponTokens tampon,
+                       List<Diagnostic> lexicales, List<Diagnostic> syntaxiques) throws IOException {
+        ByteArrayOutputStream octets = new ByteArrayOutputStream(64 + 4 * tampon.taille());
+        try (DataOutputStream out = new DataOutputStream(octets)) {
+            out.writeInt(MAGIE);
+            out.writeBoolean(accepte);
+            ecrireDiagnostics(out, lexicales);
+            ecrireDiagnostics(out, syntaxiques);
+            // Tokens : début relatif à la fin du précédent, entiers de taille variable
+            ecrireEntier(out, tampon.taille());
+            int fin = 0;
+            for (int i = 0; i < tampon.taille(); i++) {
+                out.writeByte(tampon.type(i));
+                ecrireEntier(out, tampon.debut(i) - fin);
+                ecrireEntier(out, tampon.longueur(i));
+                fin = tampon.debut(i) + tampon.longueur(i);
+            }
+            out.writeInt(controle(octets.toByteArray(), octets.size()));
+        }
+
+        // Fichier temporaire du même dossier, puis renommage atomique :
+        // un lecteur voit l'ancienne entrée, la nouvelle ou rien
+        Path fichier = chemin(cle);
+        Files.createDirectories(fichier.getParent());
+        Path temporaire = Files.createTempFile(fichier.getParent(), "ecriture-", ".tmp");
+        try {
+            Files.write(temporaire, octets.toByteArray());
+            try {
+                Files.move(temporaire, fichier, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaire, fichier, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaire);
+        }
+
+        if (ecritsDepuisElagage.addAndGet(octets.size()) > capacite / 8) {
+            elaguer();
+        }
+    }
+
+    private static void ecrireDiagnostics(DataOutputStream out, List<Diagnostic> diagnostics)
+            throws IOException {
+        ecrireEntier(out, diagnostics.size());
+        for (Diagnostic d : diagnostics) {
+            ecrireEntier(out, d.getPosition());
+            ecrireEntier(out, d.getLigne());
+            ecrireEntier(out, d.getColonne());
+            ecrireTexte(out, d.getMessage());
+        }
+    }
+
+    // Somme de contrôle des n premiers octets
+    private static int controle(byte[] octets, int n) {
+        CRC32C crc = new CRC32C();
+        crc.update(octets, 0, n);
+        return (int) crc.getValue();
+    }
+
+    // Somme enregistrée dans les 4 derniers octets
+    private static int finale(byte[] octets) {
+        int n = octets.length;
+        return (octets[n - 4] & 0xFF) << 24 | (octets[n - 3] & 0xFF) << 16
+             | (octets[n - 2] & 0xFF) << 8 | (octets[n - 1] & 0xFF);
+    }
+
+    // Entier positif sur 7 bits par octet (bit de poids fort : octet suivant)
+    private static void ecrireEntier(DataOutputStream out, int n) throws IOException {
+        while ((n & ~0x7F) != 0) {
+            out.writeByte((n & 0x7F) | 0x80);
+            n >>>= 7;
+        }
+        out.writeByte(n);
+    }
+
+    private static int lireEntier(DataInputStream in) throws IOException {
+        int n = 0;
+        for (int decalage = 0; decalage < 35; decalage += 7) {
+            int b = in.readUnsignedByte();
+            n |= (b & 0x7F) << decalage;
+            if ((b & 0x80) == 0) return n;
+        }
+        throw new IOException("Entier trop long");
+    }
+
+    // Longueur puis octets UTF-8, comme FormatTokens (writeUTF est limité à 64 Ko)
+    private static void ecrireTexte(DataOutputStream out, String s) throws IOException {
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        ecrireEntier(out, utf8.length);
+        out.write(utf8);
+    }
+
+    private static String lireTexte(DataInputStream in) throws IOException {
+        int n = lireEntier(in);
+        if (n < 0 || n > in.available()) {
+            throw new IOException("Entrée corrompue");
+        }
+        byte[] utf8 = new byte[n];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    // ==================== ÉLAGAGE ====================
+
+    /**
+     * Ramène le dossier sous sa capacité en supprimant les entrées les
+     * moins récemment lues (jusqu'à 90 % de la capacité) ; supprime aussi
+     * les fichiers temporaires abandonnés.
+     * Retourne le nombre d'entrées supprimées.
+     */
+    public synchronized int elaguer() throws IOException {
+        ecritsDepuisElagage.set(0);
+        long maintenant = System.currentTimeMillis();
+        List<Path> entrees;
+        try (Stream<Path> fichiers = Files.walk(dossier, 2)) {
+            // Seuls les fichiers du cache : les autres ne sont ni comptés ni supprimés
+            entrees = fichiers.filter(p -> estEntree(p) || estTemporaire(p))
+                              .filter(Files::isRegularFile)
+                              .collect(Collectors.toList());
+        }
+
+        List<Candidat> candidats = new ArrayList<>(entrees.size());
+        long total = 0;
+        for (Path p : entrees) {
+            try {
+                long date = Files.getLastModifiedTime(p).toMillis();
+                long taille = Files.size(p);
+                if (estTemporaire(p)) {
+                    if (maintenant - date > TEMPORAIRE_ABANDONNE_MS) supprimer(p);
+                    continue;
+                }
+                candidats.add(new Candidat(p, date, taille));
+                total += taille;
+            } catch (NoSuchFileException e) {
+                // Supprimé par un autre processus pendant le parcours
+            }
+        }
+        if (total <= capacite) return 0;
+
+        candidats.sort(Comparator.comparingLong(c -> c.date));
+        int supprimees = 0;
+        long cible = capacite - capacite / 10;
+        for (Candidat c : candidats) {
+            if (total <= cible) break;
+            supprimer(c.chemin);
+            total -= c.taille;
+            supprimees++;
+        }
+        elaguees.addAndGet(supprimees);
+        return supprimees;
+    }
+
+    /**
+     * Entrées supprimées par tous les élagages (y compris ceux déclenchés
+     * par ecrire())
+     */
+    public int getEntreesElaguees() {
+        return elaguees.get();
+    }
+
+    // ab/<64 chiffres hexadécimaux>.res, rangée sous ses deux premiers chiffres
+    private boolean estEntree(Path p) {
+        String nom = p.getFileName().toString();
+        String sous = sousDossier(p);
+        return sous != null && nom.length() == 64 + EXTENSION.length() && nom.endsWith(EXTENSION)
+            && nom.startsWith(sous) && hexadecimal(nom.substring(0, 64));
+    }
+
+    // ab/ecriture-*.tmp, laissé par un ecrire() interrompu
+    private boolean estTemporaire(Path p) {
+        String nom = p.getFileName().toString();
+        return sousDossier(p) != null && nom.startsWith("ecriture-") && nom.endsWith(".tmp");
+    }
+
+    // Nom du sous-dossier "ab" du cache qui contient p, null sinon
+    private String sousDossier(Path p) {
+        Path parent = p.getParent();
+        if (parent == null || !dossier.equals(parent.getParent())) return null;
+        String nom = parent.getFileName().toString();
+        return (nom.length() == 2 && hexadecimal(nom)) ? nom : null;
+    }
+
+    private static boolean hexadecimal(String s) {
+        for (int k = 0; k < s.length(); k++) {
+            if (Character.digit(s.charAt(k), 16) < 0 || Character.isUpperCase(s.charAt(k))) return false;
+        }
+        return !s.isEmpty();
+    }
+
+    private static final class Candidat {
+        final Path chemin;
+        final long date;
+        final long taille;
+
+        Candidat(Path chemin, long date, long taille) {
+            this.chemin = chemin;
+            this.date = date;
+            this.taille = taille;
+        }
+    }
+
+    private static void supprimer(Path fichier) {
+        try {
+            Files.deleteIfExists(fichier);
+        } catch (IOException e) {
+            // Déjà supprimé ou verrouillé : l'élagage suivant réessaiera
+        }
+    }
+
+    /**
+     * Taille actuelle du dossier en octets
+     */
+    public long taille() throws IOException {
+        try (Stream<Path> fichiers = Files.walk(dossier, 2)) {
+            return fichiers.filter(this::estEntree).mapToLong(p -> {
+                try {
+                    return Files.size(p);
+                } catch (IOException e) {
+                    return 0;
+                }
+            }).sum();
+        }
+    }
+}
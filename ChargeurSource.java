@@ -0,0 +1,239 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - CHARGEMENT DU CODE SOURCE
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Chargement d'un fichier source par projection mémoire (FileChannel.map).
+ *
+ * Fichier entièrement ASCII : le lexer lit directement les octets projetés,
+ * sans aucune copie. Sinon, les plages ASCII sont recopiées octet par octet
+ * et seules les plages non ASCII passent par le décodeur UTF-8.
+ */
+public final class ChargeurSource {
+
+    // ==================== ATTRIBUTS ====================
+
+    private final CharSequence texte;    // Code source prêt pour le lexer
+    private final ByteBuffer contenu;    // Octets du fichier (projetés)
+    private final long octets;           // Taille du fichier
+    private final long dureeNs;          // Durée du chargement
+    private final boolean ascii;         // Vrai si aucun décodage
+
+    private ChargeurSource(CharSequence texte, ByteBuffer contenu, long octets, long dureeNs, boolean ascii) {
+        this.texte = texte;
+        this.contenu = contenu;
+        this.octets = octets;
+        this.dureeNs = dureeNs;
+        this.ascii = ascii;
+    }
+
+    // ==================== CHARGEMENT ====================
+
+    /**
+     * Projette le fichier en mémoire et prépare le texte.
+     * Retourne null (message sur System.err) si le fichier est illisible.
+     */
+    public static ChargeurSource charger(String cheminFichier) {
+        long debut = System.nanoTime();
+
+        try (FileChannel canal = FileChannel.open(Paths.get(cheminFichier), StandardOpenOption.READ)) {
+            long taille = canal.size();
+            if (taille > Integer.MAX_VALUE) {
+                System.err.println("Erreur : Fichier '" + cheminFichier + "' trop volumineux");
+                return null;
+            }
+
+            ByteBuffer octets = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille);
+            int premierNonAscii = premierNonAscii(octets, 0);
+
+            CharSequence texte = (premierNonAscii == octets.limit())
+                               ? new TexteAscii(octets)
+                               : decoder(octets, premierNonAscii);
+
+            return new ChargeurSource(texte, octets, taille, System.nanoTime() - debut,
+                                      premierNonAscii == octets.limit());
+
+        } catch (NoSuchFileException e) {
+            System.err.println("Erreur : Fichier '" + cheminFichier + "' introuvable");
+            return null;
+        } catch (IOException e) {
+            System.err.println("Erreur de lecture : " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Prépare le texte d'un source déjà en mémoire (UTF-8), sans copie s'il
+     * est entièrement ASCII
+     */
+    public static ChargeurSource depuis(byte[] contenu) {
+        long debut = System.nanoTime();
+        ByteBuffer octets = ByteBuffer.wrap(contenu);
+        int premierNonAscii = premierNonAscii(octets, 0);
+        CharSequence texte = (premierNonAscii == octets.limit())
+                           ? new TexteAscii(octets)
+                           : decoder(octets, premierNonAscii);
+        return new ChargeurSource(texte, octets, contenu.length, System.nanoTime() - debut,
+                                  premierNonAscii == octets.limit());
+    }
+
+    /**
+     * Position du premier octet >= 0x80 à partir de debut (limit() si aucun).
+     * Huit octets sont testés à la fois.
+     */
+    private static int premierNonAscii(ByteBuffer octets, int debut) {
+        int n = octets.limit();
+        int i = debut;
+        while (i + 8 <= n && (octets.getLong(i) & 0x8080808080808080L) == 0) {
+            i += 8;
+        }
+        while (i < n && octets.get(i) >= 0) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Copie les plages ASCII telles quelles et ne décode que les plages non ASCII.
+     * En UTF-8, une séquence multi-octets ne contient que des octets >= 0x80 :
+     * chaque plage non ASCII se termine donc au premier octet ASCII.
+     */
+    private static CharSequence decoder(ByteBuffer octets, int premierNonAscii) {
+        int n = octets.limit();
+        char[] caracteres = new char[n];    // UTF-8 : jamais plus de caractères que d'octets
+        CharBuffer sortie = CharBuffer.wrap(caracteres);
+        CharsetDecoder decodeur = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        int i = 0;
+        int asciiFin = premierNonAscii;
+        while (true) {
+            // Plage ASCII : un octet = un caractère
+            for (; i < asciiFin; i++) {
+                sortie.put((char) octets.get(i));
+            }
+            if (i == n) break;
+
+            // Plage non ASCII : jusqu'au prochain octet ASCII
+            int fin = i;
+            while (fin < n && octets.get(fin) < 0) {
+                fin++;
+            }
+            ByteBuffer plage = octets.duplicate();
+            plage.limit(fin).position(i);
+            decodeur.reset();
+            CoderResult r = decodeur.decode(plage, sortie, true);
+            if (r.isOverflow()) {
+                throw new IllegalStateException("Décodage UTF-8 : dépassement inattendu");
+            }
+            decodeur.flush(sortie);
+
+            i = fin;
+            asciiFin = premierNonAscii(octets, i);
+        }
+
+        return CharBuffer.wrap(caracteres, 0, sortie.position());
+    }
+
+    // ==================== GETTERS ====================
+
+    public CharSequence texte() {
+        return texte;
+    }
+
+    public long octets() {
+        return octets;
+    }
+
+    /**
+     * Octets bruts du source (vue en lecture seule, position 0)
+     */
+    public ByteBuffer contenu() {
+        return contenu.asReadOnlyBuffer().position(0);
+    }
+
+    public long dureeNs() {
+        return dureeNs;
+    }
+
+    public boolean estAscii() {
+        return ascii;
+    }
+
+    /**
+     * Débit de chargement en Mo/s
+     */
+    public double debitMoParSeconde() {
+        return (dureeNs == 0) ? 0 : (octets / 1e6) / (dureeNs / 1e9);
+    }
+
+    public String rapport() {
+        return String.format("Chargement : %d octets en %.3f ms (%.1f Mo/s, %s)",
+                             octets, dureeNs / 1e6, debitMoParSeconde(),
+                             ascii ? "ASCII, sans copie" : "UTF-8 décodé");
+    }
+
+    // ==================== TEXTE ASCII PROJETÉ ====================
+
+    /**
+     * Vue caractère des octets projetés : aucune copie du fichier
+     */
+    static final class TexteAscii implements CharSequence {
+        private final ByteBuffer octets;
+        private final int debut;
+        private final int longueur;
+
+        TexteAscii(ByteBuffer octets) {
+            this(octets, 0, octets.limit());
+        }
+
+        private TexteAscii(ByteBuffer octets, int debut, int longueur) {
+            this.octets = octets;
+            this.debut = debut;
+            this.longueur = longueur;
+        }
+
+        @Override
+        public int length() {
+            return longueur;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) octets.get(debut + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int de, int a) {
+            return new TexteAscii(octets, debut + de, a - de);
+        }
+
+        @Override
+        public String toString() {
+            byte[] copie = new byte[longueur];
+            octets.get(debut, copie);
+            return new String(copie, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,653 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - GÉNÉRATION DE BYTECODE
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Traduit l'arbre d'un programme accepté en Bytecode pour la
+ * MachineVirtuelle.
+ *
+ * Types : int et boolean dans les registres entiers, double et float
+ * dans les registres décimaux (promotion int → double comme en Java) ;
+ * String n'est pas exécutable. if et for, ignorés par l'analyseur, ne
+ * produisent pas de code. Une boucle while teste sa condition en bas
+ * (un seul saut par tour) ; && et || deviennent des sauts.
+ */
+public final class CompilateurBytecode {
+
+    // ==================== OPÉRANDES ====================
+
+    // Un opérande est (registre << 1) | type
+    static final int ENTIER = 0;
+    static final int DECIMAL = 1;
+
+    static int operande(int registre, int type) {
+        return (registre << 1) | type;
+    }
+
+    static int registre(int operande) {
+        return operande >> 1;
+    }
+
+    static int type(int operande) {
+        return operande & 1;
+    }
+
+    private static final int AUCUN = ArbreSyntaxique.AUCUN;
+
+    // ==================== ATTRIBUTS ====================
+
+    private final ArbreSyntaxique arbre;
+    private final TamponTokens tampon;
+    private final List<Diagnostic> erreurs;
+
+    private int[] code;
+    private int taille;                       // Entiers utilisés dans code
+    private int[] lignes;
+    private double[] constantes;
+    private int nombreConstantes;
+    private int[] etiquettes;                 // Adresse de chaque étiquette (-1 : pas encore placée)
+    private int nombreEtiquettes;
+    private int ligne;                        // Ligne de l'instruction source en cours
+    private int[] operations;                 // expression() : nœud, cible, opérande gauche par opération en attente
+    private int enAttente;                    // Entiers utilisés dans operations
+
+    // Registres : variables puis temporaires (libérés après chaque instruction)
+    private int libresI;
+    private int libresD;
+    private int maxI;
+    private int maxD;
+
+    private final ArrayList<HashMap<String, Integer>> portees;   // Nom → opérande, par bloc
+    private final List<String> variables;                        // Variables de main
+    private final List<Integer> registres;
+
+    // ==================== CONSTRUCTEUR ====================
+
+    public CompilateurBytecode(ArbreSyntaxique arbre) {
+        this.arbre = arbre;
+        this.tampon = arbre.getTampon();
+        this.erreurs = new ArrayList<>();
+        this.code = new int[256];
+        this.lignes = new int[64];
+        this.constantes = new double[8];
+        this.etiquettes = new int[16];
+        this.operations = new int[3 * 16];
+        this.portees = new ArrayList<>();
+        this.variables = new ArrayList<>();
+        this.registres = new ArrayList<>();
+    }
+
+    // ==================== COMPILATION ====================
+
+    /**
+     * Compile le corps de main ; null en cas d'erreur sémantique
+     * (voir getDiagnostics)
+     */
+    public Bytecode compiler() {
+        // PROGRAMME → CLASSE → METHODE → BLOC
+        int bloc = arbre.racine();
+        for (int k = 0; k < 3 && bloc != AUCUN; k++) {
+            bloc = arbre.premierEnfant(bloc);
+        }
+        if (bloc == AUCUN || arbre.genre(bloc) != ArbreSyntaxique.BLOC) {
+            erreurs.add(new Diagnostic(Diagnostic.SEMANTIQUE, 0, 0, 0, "Programme incomplet"));
+            return null;
+        }
+
+        bloc(bloc);
+        emettre(Bytecode.FIN, 0, 0, 0);
+        if (!erreurs.isEmpty()) {
+            return null;
+        }
+
+        // Résolution des sauts : étiquette → adresse
+        for (int pc = 0; pc < taille; pc += Bytecode.TAILLE_INSTRUCTION) {
+            if (Bytecode.estSaut(code[pc])) {
+                code[pc + 3] = etiquettes[code[pc + 3]];
+            }
+        }
+
+        int[] operandes = new int[registres.size()];
+        for (int k = 0; k < operandes.length; k++) {
+            operandes[k] = registres.get(k);
+        }
+        return new Bytecode(Arrays.copyOf(code, taille),
+                            Arrays.copyOf(lignes, taille / Bytecode.TAILLE_INSTRUCTION),
+                            Arrays.copyOf(constantes, nombreConstantes),
+                            Math.max(maxI, 1), Math.max(maxD, 1),
+                            variables.toArray(new String[0]), operandes);
+    }
+
+    public List<Diagnostic> getDiagnostics() {
+        return erreurs;
+    }
+
+    // ==================== INSTRUCTIONS ====================
+
+    /**
+     * Cadre de la pile explicite de bloc() : un bloc ouvert ou un while
+     * dont le corps est en cours de compilation
+     */
+    private static final class Cadre {
+        final boolean boucle;           // true : While en attente de la fin de son Bloc
+        final int noeud;                // Nœud BLOC ou WHILE
+        int suivante = AUCUN;           // Bloc : prochaine instruction
+        int sauveI;                     // Bloc : registres libres à l'entrée
+        int sauveD;
+        int debutCorps;                 // While : étiquettes et ligne du test
+        int test;
+        int ligne;
+
+        Cadre(boolean boucle, int noeud) {
+            this.boucle = boucle;
+            this.noeud = noeud;
+        }
+    }
+
+    /**
+     * Bloc : nouvelle portée ; ses variables libèrent leurs registres à la
+     * fin. Les blocs des while imbriqués sont empilés sur le tas et non sur
+     * la pile d'appels : des milliers de while imbriqués, acceptés par
+     * l'analyseur, ne provoquent pas de StackOverflowError.
+     */
+    private void bloc(int n) {
+        ArrayDeque<Cadre> pile = new ArrayDeque<>();
+        ouvrirBloc(n, pile);
+        while (!pile.isEmpty()) {
+            Cadre bloc = pile.peek();
+            if (bloc.suivante != AUCUN) {
+                int i = bloc.suivante;
+                bloc.suivante = arbre.frereSuivant(i);
+                instruction(i, pile);
+                continue;
+            }
+
+            // Fin du bloc, puis du while dont il est le corps
+            pile.pop();
+            portees.remove(portees.size() - 1);
+            libresI = bloc.sauveI;
+            libresD = bloc.sauveD;
+            if (!pile.isEmpty() && pile.peek().boucle) {
+                fermerBoucle(pile.pop());
+            }
+        }
+    }
+
+    private void ouvrirBloc(int n, ArrayDeque<Cadre> pile) {
+        portees.add(new HashMap<>());
+        Cadre bloc = new Cadre(false, n);
+        bloc.suivante = arbre.premierEnfant(n);
+        bloc.sauveI = libresI;
+        bloc.sauveD = libresD;
+        pile.push(bloc);
+    }
+
+    private void instruction(int n, ArrayDeque<Cadre> pile) {
+        ligne = arbre.ligne(n);
+        int sauveI = libresI;
+        int sauveD = libresD;
+
+        switch (arbre.genre(n)) {
+            case ArbreSyntaxique.DECLARATION:
+                declaration(n);
+                return;         // Garde le registre de la variable
+            case ArbreSyntaxique.AFFECTATION:
+                affectation(n);
+                break;
+            case ArbreSyntaxique.WHILE:
+                ouvrirBoucle(n, pile);
+                break;
+            case ArbreSyntaxique.IF:
+            case ArbreSyntaxique.FOR:
+                break;          // Ignorés, comme à l'analyse syntaxique
+            default:
+                erreur(n, "Instruction non exécutable");
+        }
+        libresI = sauveI;
+        libresD = sauveD;
+    }
+
+    /**
+     * Declaration → Type IDENTIFICATEUR = Expression ;
+     */
+    private void declaration(int n) {
+        int type;
+        switch (tampon.type(arbre.token(n))) {
+            case TypeToken.MC_INT:
+            case TypeToken.MC_BOOLEAN:
+                type = ENTIER;
+                break;
+            case TypeToken.MC_DOUBLE:
+            case TypeToken.MC_FLOAT:
+                type = DECIMAL;
+                break;
+            default:
+                erreur(n, "Type %s non exécutable", arbre.valeur(n));
+                return;
+        }
+
+        int variable = arbre.premierEnfant(n);
+        String nom = arbre.valeur(variable);
+        if (chercher(nom) != AUCUN) {
+            erreur(variable, "Variable '%s' déjà déclarée", nom);
+        }
+
+        // Registre réservé avant les temporaires de l'expression ;
+        // la variable n'est visible qu'après (int x = x ; est refusé)
+        int cible = allouer(type);
+        int sauveI = libresI;
+        int sauveD = libresD;
+        affecter(cible, expression(arbre.frereSuivant(variable), cible), variable);
+        libresI = sauveI;
+        libresD = sauveD;
+
+        portees.get(portees.size() - 1).put(nom, cible);
+        if (portees.size() == 1) {
+            variables.add(nom);
+            registres.add(cible);
+        }
+    }
+
+    /**
+     * Affectation → IDENTIFICATEUR = Expression ; | IDENTIFICATEUR ++ ; | IDENTIFICATEUR -- ;
+     */
+    private void affectation(int n) {
+        int variable = arbre.premierEnfant(n);
+        int cible = variable(variable);
+        if (cible == AUCUN) return;
+
+        switch (tampon.type(arbre.token(n))) {
+            case TypeToken.INCREMENT:
+                incrementer(cible, 1);
+                break;
+            case TypeToken.DECREMENT:
+                incrementer(cible, -1);
+                break;
+            default:
+                affecter(cible, expression(arbre.frereSuivant(variable), cible), variable);
+        }
+    }
+
+    /**
+     * While → while ( Condition ) Bloc, condition testée en bas :
+     *         SAUT test ; corps : Bloc ; test : si Condition → corps
+     * Le corps est empilé ; le test est émis par fermerBoucle à sa fin.
+     */
+    private void ouvrirBoucle(int n, ArrayDeque<Cadre> pile) {
+        int condition = arbre.premierEnfant(n);
+        int corps = (condition == AUCUN) ? AUCUN : arbre.frereSuivant(condition);
+        if (corps == AUCUN) {
+            erreur(n, "Boucle while incomplète");
+            return;
+        }
+
+        Cadre boucle = new Cadre(true, n);
+        boucle.ligne = ligne;
+        boucle.debutCorps = nouvelleEtiquette();
+        boucle.test = nouvelleEtiquette();
+        emettre(Bytecode.SAUT, 0, 0, boucle.test);
+        placer(boucle.debutCorps);
+        pile.push(boucle);
+        ouvrirBloc(corps, pile);
+    }
+
+    private void fermerBoucle(Cadre boucle) {
+        placer(boucle.test);
+        ligne = boucle.ligne;
+        sauterSi(arbre.premierEnfant(boucle.noeud), true, boucle.debutCorps);
+    }
+
+    // ==================== CONDITIONS ====================
+
+    /**
+     * Saute à l'étiquette si la condition vaut valeur ; && et || n'évaluent
+     * leur second opérande que si nécessaire. Condition → Expression OpComp
+     * Expression : un && ou un || n'a que des expressions pour opérandes,
+     * la récursion s'arrête au niveau suivant.
+     */
+    private void sauterSi(int n, boolean valeur, int etiquette) {
+        int sauveI = libresI;
+        int sauveD = libresD;
+
+        int operateur = (arbre.genre(n) == ArbreSyntaxique.BINAIRE) ? tampon.type(arbre.token(n)) : AUCUN;
+        int gauche = arbre.premierEnfant(n);
+        int droite = (gauche == AUCUN) ? AUCUN : arbre.frereSuivant(gauche);
+
+        if (operateur == TypeToken.ET_LOGIQUE || operateur == TypeToken.OU_LOGIQUE) {
+            // Court-circuit : a && b est faux dès que a l'est, a || b vrai dès que a l'est
+            boolean decisif = (operateur == TypeToken.OU_LOGIQUE);
+            if (valeur == decisif) {
+                sauterSi(gauche, valeur, etiquette);
+                sauterSi(droite, valeur, etiquette);
+            } else {
+                int suite = nouvelleEtiquette();
+                sauterSi(gauche, decisif, suite);
+                sauterSi(droite, valeur, etiquette);
+                placer(suite);
+            }
+        } else if (comparaison(operateur) != AUCUN) {
+            int cmp = comparaison(operateur);
+            int a = lectureGauche(gauche, droite, expression(gauche, AUCUN));
+            int constante = entierLitteral(droite);
+            if (type(a) == ENTIER && constante != AUCUN) {
+                // Comparaison avec une constante entière : sans registre
+                int valeurConstante = arbre.constante(droite).intValue();
+                emettre(Bytecode.SI_IK + (valeur ? cmp : Bytecode.contraire(cmp)),
+                        registre(a), valeurConstante, etiquette);
+            } else {
+                int b = expression(droite, AUCUN);
+                if (type(a) == ENTIER && type(b) == ENTIER) {
+                    emettre(Bytecode.SI_I + (valeur ? cmp : Bytecode.contraire(cmp)),
+                            registre(a), registre(b), etiquette);
+                } else {
+                    emettre((valeur ? Bytecode.SI_D : Bytecode.SAUF_D) + cmp,
+                            registre(versDecimal(a)), registre(versDecimal(b)), etiquette);
+                }
+            }
+        } else {
+            // Expression seule : vraie si non nulle
+            int a = expression(n, AUCUN);
+            int op = (type(a) == ENTIER)
+                    ? (valeur ? Bytecode.SI_VRAI_I : Bytecode.SI_FAUX_I)
+                    : (valeur ? Bytecode.SI_VRAI_D : Bytecode.SI_FAUX_D);
+            emettre(op, registre(a), 0, etiquette);
+        }
+
+        libresI = sauveI;
+        libresD = sauveD;
+    }
+
+    private static int comparaison(int operateur) {
+        switch (operateur) {
+            case TypeToken.INFERIEUR:      return Bytecode.LT;
+            case TypeToken.INFERIEUR_EGAL: return Bytecode.LE;
+            case TypeToken.SUPERIEUR:      return Bytecode.GT;
+            case TypeToken.SUPERIEUR_EGAL: return Bytecode.GE;
+            case TypeToken.EGAL:           return Bytecode.EQ;
+            case TypeToken.DIFFERENT:      return Bytecode.NE;
+            default:                       return AUCUN;
+        }
+    }
+
+    // Nœud littéral entier représentable : le nœud, sinon AUCUN
+    private int entierLitteral(int n) {
+        return (n != AUCUN && arbre.constante(n) instanceof Integer) ? n : AUCUN;
+    }
+
+    // ==================== EXPRESSIONS ====================
+
+    /**
+     * Compile une expression ; retourne l'opérande qui contient sa valeur
+     * (une variable est lue sans copie). Si cible n'est pas AUCUN et a le
+     * même type, le résultat y est écrit directement.
+     *
+     * Les opérations en attente de leurs opérandes sont empilées dans
+     * operations et non sur la pile d'appels : une somme de milliers de
+     * termes, ou autant de parenthèses, ne provoque pas de StackOverflowError.
+     * Le code émis est celui d'une descente récursive (gauche, droite, puis
+     * l'opération).
+     */
+    private int expression(int n, int cible) {
+        int base = enAttente;
+        while (true) {
+            // Descente jusqu'à l'opérande gauche le plus profond
+            while (n != AUCUN && arbre.genre(n) == ArbreSyntaxique.BINAIRE
+                    && rang(tampon.type(arbre.token(n))) != AUCUN) {
+                if (enAttente + 3 > operations.length) {
+                    operations = Arrays.copyOf(operations, 2 * operations.length);
+                }
+                operations[enAttente] = n;
+                operations[enAttente + 1] = cible;
+                operations[enAttente + 2] = AUCUN;      // Opérande gauche pas encore calculé
+                enAttente += 3;
+                n = arbre.premierEnfant(n);
+                cible = AUCUN;
+            }
+            int valeur = feuille(n, cible);
+
+            // Remontée : l'opérande droit reste à calculer, ou l'opération est prête
+            while (true) {
+                if (enAttente == base) return valeur;
+                int operation = operations[enAttente - 3];
+                int gauche = arbre.premierEnfant(operation);
+                int droite = (gauche == AUCUN) ? AUCUN : arbre.frereSuivant(gauche);
+                if (operations[enAttente - 1] == AUCUN) {
+                    operations[enAttente - 1] = lectureGauche(gauche, droite, valeur);
+                    n = droite;
+                    cible = AUCUN;
+                    break;
+                }
+                valeur = arithmetique(operation, operations[enAttente - 2], operations[enAttente - 1], valeur);
+                enAttente -= 3;
+            }
+        }
+    }
+
+    // Expression sans opération arithmétique à sa racine
+    private int feuille(int n, int cible) {
+        if (n == AUCUN) {
+            erreur(AUCUN, "Expression incomplète");
+            return operande(0, ENTIER);
+        }
+
+        switch (arbre.genre(n)) {
+            case ArbreSyntaxique.NOMBRE:
+                return nombre(n, cible);
+            case ArbreSyntaxique.IDENTIFICATEUR: {
+                int variable = variable(n);
+                return (variable == AUCUN) ? operande(0, ENTIER) : variable;
+            }
+            case ArbreSyntaxique.POSTFIXE: {
+                // Valeur avant l'incrémentation, jamais dans la cible (x = x++ ; garde x)
+                int variable = variable(arbre.premierEnfant(n));
+                if (variable == AUCUN) return operande(0, ENTIER);
+                int copie = temporaire(type(variable));
+                emettre(type(variable) == ENTIER ? Bytecode.COPIE_I : Bytecode.COPIE_D,
+                        registre(copie), registre(variable), 0);
+                incrementer(variable, tampon.type(arbre.token(n)) == TypeToken.INCREMENT ? 1 : -1);
+                return copie;
+            }
+            case ArbreSyntaxique.BINAIRE:
+                erreur(n, "Opérateur '%s' hors d'une condition", arbre.valeur(n));
+                return operande(0, ENTIER);
+            default:
+                erreur(n, "Expression invalide");
+                return operande(0, ENTIER);
+        }
+    }
+
+    private int nombre(int n, int cible) {
+        Number constante = arbre.constante(n);
+        if (constante == null) {
+            erreur(n, "Entier trop grand : %s", arbre.valeur(n));
+            return operande(0, ENTIER);
+        }
+        if (constante instanceof Integer) {
+            int valeur = constante.intValue();
+            if (cible != AUCUN && type(cible) == DECIMAL) {
+                return constanteDecimale(valeur, cible);
+            }
+            int r = (cible != AUCUN) ? cible : temporaire(ENTIER);
+            emettre(Bytecode.CONST_I, registre(r), valeur, 0);
+            return r;
+        }
+        double valeur = constante.doubleValue();
+        return constanteDecimale(valeur, (cible != AUCUN && type(cible) == DECIMAL) ? cible : temporaire(DECIMAL));
+    }
+
+    private int constanteDecimale(double valeur, int cible) {
+        if (nombreConstantes == constantes.length) {
+            constantes = Arrays.copyOf(constantes, 2 * nombreConstantes);
+        }
+        constantes[nombreConstantes] = valeur;
+        emettre(Bytecode.CONST_D, registre(cible), nombreConstantes++, 0);
+        return cible;
+    }
+
+    // Rang d'une opération + - * / % (ADD_I + rang), AUCUN pour un autre opérateur
+    private static int rang(int operateur) {
+        switch (operateur) {
+            case TypeToken.PLUS:     return 0;
+            case TypeToken.MOINS:    return 1;
+            case TypeToken.FOIS:     return 2;
+            case TypeToken.DIVISION: return 3;
+            case TypeToken.MODULO:   return 4;
+            default:                 return AUCUN;
+        }
+    }
+
+    /**
+     * Opération + - * / % sur les opérandes calculés ; un opérande int est
+     * converti si l'autre est double
+     */
+    private int arithmetique(int n, int cible, int a, int b) {
+        int rang = rang(tampon.type(arbre.token(n)));
+        if (type(a) == ENTIER && type(b) == ENTIER) {
+            int r = (cible != AUCUN && type(cible) == ENTIER) ? cible : temporaire(ENTIER);
+            emettre(Bytecode.ADD_I + rang, registre(r), registre(a), registre(b));
+            return r;
+        }
+        a = versDecimal(a);
+        b = versDecimal(b);
+        int r = (cible != AUCUN && type(cible) == DECIMAL) ? cible : temporaire(DECIMAL);
+        emettre(Bytecode.ADD_D + rang, registre(r), registre(a), registre(b));
+        return r;
+    }
+
+    /**
+     * Opérande gauche a d'une opération binaire, déjà calculé. Une variable
+     * est lue sans copie : si l'opérande droit l'incrémente (x + x++), elle
+     * est d'abord recopiée, pour garder la valeur lue avant, comme en Java.
+     */
+    private int lectureGauche(int gauche, int droite, int a) {
+        if (gauche != AUCUN && arbre.genre(gauche) == ArbreSyntaxique.IDENTIFICATEUR
+                && incremente(droite, arbre.valeur(gauche))) {
+            int copie = temporaire(type(a));
+            emettre(type(a) == ENTIER ? Bytecode.COPIE_I : Bytecode.COPIE_D, registre(copie), registre(a), 0);
+            return copie;
+        }
+        return a;
+    }
+
+    // Vrai si l'expression contient nom++ ou nom-- (parcours itératif)
+    private boolean incremente(int n, String nom) {
+        boolean[] trouve = new boolean[1];
+        arbre.parcourir(n, (a, noeud, profondeur) -> {
+            if (a.genre(noeud) == ArbreSyntaxique.POSTFIXE) {
+                int variable = a.premierEnfant(noeud);
+                trouve[0] |= variable != AUCUN && nom.equals(a.valeur(variable));
+                return false;
+            }
+            return !trouve[0];
+        });
+        return trouve[0];
+    }
+
+    // ==================== UTILITAIRES ====================
+
+    private void affecter(int cible, int valeur, int n) {
+        if (valeur == cible) return;
+        if (type(cible) == type(valeur)) {
+            emettre(type(cible) == ENTIER ? Bytecode.COPIE_I : Bytecode.COPIE_D,
+                    registre(cible), registre(valeur), 0);
+        } else if (type(cible) == DECIMAL) {
+            emettre(Bytecode.I_VERS_D, registre(cible), registre(valeur), 0);
+        } else {
+            erreur(n, "Conversion impossible de double vers int ('%s')", arbre.valeur(n));
+        }
+    }
+
+    private void incrementer(int variable, int pas) {
+        emettre(type(variable) == ENTIER ? Bytecode.INC_I : Bytecode.INC_D, registre(variable), pas, 0);
+    }
+
+    private int versDecimal(int a) {
+        if (type(a) == DECIMAL) return a;
+        int r = temporaire(DECIMAL);
+        emettre(Bytecode.I_VERS_D, registre(r), registre(a), 0);
+        return r;
+    }
+
+    // Opérande d'une variable déclarée (AUCUN et erreur sinon)
+    private int variable(int n) {
+        String nom = arbre.valeur(n);
+        int operande = chercher(nom);
+        if (operande == AUCUN) {
+            erreur(n, "Variable '%s' non déclarée", nom);
+        }
+        return operande;
+    }
+
+    private int chercher(String nom) {
+        for (int k = portees.size() - 1; k >= 0; k--) {
+            Integer operande = portees.get(k).get(nom);
+            if (operande != null) return operande;
+        }
+        return AUCUN;
+    }
+
+    private int allouer(int type) {
+        if (type == ENTIER) {
+            maxI = Math.max(maxI, libresI + 1);
+            return operande(libresI++, ENTIER);
+        }
+        maxD = Math.max(maxD, libresD + 1);
+        return operande(libresD++, DECIMAL);
+    }
+
+    private int temporaire(int type) {
+        return allouer(type);
+    }
+
+    private int nouvelleEtiquette() {
+        if (nombreEtiquettes == etiquettes.length) {
+            etiquettes = Arrays.copyOf(etiquettes, 2 * nombreEtiquettes);
+        }
+        etiquettes[nombreEtiquettes] = -1;
+        return nombreEtiquettes++;
+    }
+
+    private void placer(int etiquette) {
+        etiquettes[etiquette] = taille;
+    }
+
+    private void emettre(int op, int a, int b, int c) {
+        if (taille + Bytecode.TAILLE_INSTRUCTION > code.length) {
+            code = Arrays.copyOf(code, 2 * code.length);
+        }
+        int instruction = taille / Bytecode.TAILLE_INSTRUCTION;
+        if (instruction == lignes.length) {
+            lignes = Arrays.copyOf(lignes, 2 * lignes.length);
+        }
+        lignes[instruction] = ligne;
+        code[taille] = op;
+        code[taille + 1] = a;
+        code[taille + 2] = b;
+        code[taille + 3] = c;
+        taille += Bytecode.TAILLE_INSTRUCTION;
+    }
+
+    private void erreur(int n, String modele, Object... arguments) {
+        int t = (n == AUCUN) ? AUCUN : arbre.token(n);
+        if (t == AUCUN) {
+            erreurs.add(new Diagnostic(Diagnostic.SEMANTIQUE, 0, ligne, 0, modele, arguments));
+        } else {
+            erreurs.add(new Diagnostic(Diagnostic.SEMANTIQUE, tampon.debut(t), tampon.ligne(t),
+                                       tampon.colonne(t), modele, arguments));
+        }
+    }
+}
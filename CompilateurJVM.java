@@ -0,0 +1,584 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - GÉNÉRATION DE CLASSES JVM
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Traduit un Bytecode en une vraie classe JVM, chargée comme classe
+ * cachée (MethodHandles.Lookup.defineHiddenClass) : HotSpot la compile
+ * ensuite comme n'importe quel code Java.
+ *
+ * Chaque registre devient une variable locale de la méthode
+ *   static void executer(int[] entiers, double[] decimaux)
+ * et chaque saut une instruction de branchement JVM. À la fin, les
+ * registres sont recopiés dans les tableaux, dans le même format que
+ * ceux de la MachineVirtuelle. Le fichier de classe est en version 49
+ * (Java 5) : le vérificateur infère les types lui-même, il n'y a pas de
+ * StackMapTable à produire.
+ *
+ * Limites : une méthode JVM fait au plus 64 Ko (compiler() retourne
+ * null au-delà : la MachineVirtuelle reste utilisable) et la limite de
+ * tours de la MachineVirtuelle n'est pas reprise.
+ */
+public final class CompilateurJVM {
+
+    // ==================== CODES JVM ====================
+
+    private static final int ICONST_0 = 0x03;
+    private static final int DCONST_0 = 0x0e;
+    private static final int DCONST_1 = 0x0f;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int LDC2_W = 0x14;
+    private static final int ILOAD = 0x15;
+    private static final int DLOAD = 0x18;
+    private static final int ALOAD = 0x19;
+    private static final int ISTORE = 0x36;
+    private static final int DSTORE = 0x39;
+    private static final int IASTORE = 0x4f;
+    private static final int DASTORE = 0x52;
+    private static final int IADD = 0x60;
+    private static final int DADD = 0x63;
+    private static final int I2D = 0x87;
+    private static final int DCMPL = 0x97;
+    private static final int DCMPG = 0x98;
+    private static final int IFEQ = 0x99;
+    private static final int IF_ICMPEQ = 0x9f;
+    private static final int GOTO = 0xa7;
+    private static final int IINC = 0x84;
+    private static final int RETURN = 0xb1;
+    private static final int WIDE = 0xc4;
+
+    // Décalage entre une opération int et sa version double (iadd → dadd...)
+    private static final int DECALAGE_DOUBLE = DADD - IADD;
+
+    // IFEQ + k : eq, ne, lt, ge, gt, le ; index par comparaison Bytecode (LT, LE, GT, GE, EQ, NE)
+    private static final int[] SI_ZERO = {2, 5, 4, 3, 0, 1};
+
+    private static final int TAILLE_MAX = 65535;
+    private static final String NOM_CLASSE = "compilateur/ProgrammeCompile";
+
+    // ==================== ATTRIBUTS ====================
+
+    private final Bytecode programme;
+    private final int premierDecimal;         // Variable locale du premier registre double
+
+    private byte[] code = new byte[1024];
+    private int taille;
+
+    // Pool de constantes
+    private byte[] pool = new byte[256];
+    private int taillePool;
+    private int entreesPool = 1;              // L'entrée 0 n'existe pas
+    private final HashMap<Object, Integer> entrees = new HashMap<>();
+
+    private String erreur;
+
+    public CompilateurJVM(Bytecode programme) {
+        this.programme = programme;
+        this.premierDecimal = 2 + programme.registresI;
+    }
+
+    // ==================== TRADUCTION ====================
+
+    /**
+     * Fichier de classe complet ; null si le programme dépasse les
+     * limites d'une méthode JVM (voir getErreur)
+     */
+    public byte[] compiler() {
+        int[] vm = programme.code;
+        int instructions = vm.length / Bytecode.TAILLE_INSTRUCTION;
+        int[] adresses = new int[instructions];   // Adresse JVM de chaque instruction
+        int[] sauts = new int[instructions];       // Adresse du saut émis (-1 : aucun)
+        Arrays.fill(sauts, -1);
+
+        // Toutes les variables locales initialisées : le vérificateur
+        // exige une affectation sur chaque chemin avant lecture
+        for (int r = 0; r < programme.registresI; r++) {
+            octet(ICONST_0);
+            local(ISTORE, localEntier(r));
+        }
+        for (int r = 0; r < programme.registresD; r++) {
+            octet(DCONST_0);
+            local(DSTORE, localDecimal(r));
+        }
+
+        for (int k = 0; k < instructions; k++) {
+            int pc = k * Bytecode.TAILLE_INSTRUCTION;
+            adresses[k] = taille;
+            int op = vm[pc];
+            int a = vm[pc + 1];
+            int b = vm[pc + 2];
+            int c = vm[pc + 3];
+
+            switch (op) {
+                case Bytecode.FIN:
+                    fin();
+                    break;
+                case Bytecode.CONST_I:
+                    entier(b);
+                    local(ISTORE, localEntier(a));
+                    break;
+                case Bytecode.CONST_D:
+                    octet(LDC2_W);
+                    mot(constante(programme.constantes[b]));
+                    local(DSTORE, localDecimal(a));
+                    break;
+                case Bytecode.COPIE_I:
+                    local(ILOAD, localEntier(b));
+                    local(ISTORE, localEntier(a));
+                    break;
+                case Bytecode.COPIE_D:
+                    local(DLOAD, localDecimal(b));
+                    local(DSTORE, localDecimal(a));
+                    break;
+                case Bytecode.I_VERS_D:
+                    local(ILOAD, localEntier(b));
+                    octet(I2D);
+                    local(DSTORE, localDecimal(a));
+                    break;
+                case Bytecode.INC_I:
+                    octet(WIDE);
+                    octet(IINC);
+                    mot(localEntier(a));
+                    mot(b);
+                    break;
+                case Bytecode.INC_D:
+                    local(DLOAD, localDecimal(a));
+                    if (b == 1 || b == -1) {
+                        octet(DCONST_1);
+                        octet(b == 1 ? DADD : DADD + 4);      // dadd / dsub
+                    } else {
+                        entier(b);
+                        octet(I2D);
+                        octet(DADD);
+                    }
+                    local(DSTORE, localDecimal(a));
+                    break;
+                case Bytecode.SAUT:
+                    sauts[k] = taille;
+                    octet(GOTO);
+                    mot(0);
+                    break;
+                case Bytecode.SI_VRAI_I:
+                case Bytecode.SI_FAUX_I:
+                    local(ILOAD, localEntier(a));
+                    sauts[k] = taille;
+                    octet(op == Bytecode.SI_VRAI_I ? IFEQ + 1 : IFEQ);
+                    mot(0);
+                    break;
+                case Bytecode.SI_VRAI_D:
+                case Bytecode.SI_FAUX_D:
+                    local(DLOAD, localDecimal(a));
+                    octet(DCONST_0);
+                    octet(DCMPL);
+                    sauts[k] = taille;
+                    octet(op == Bytecode.SI_VRAI_D ? IFEQ + 1 : IFEQ);
+                    mot(0);
+                    break;
+                default:
+                    if (op <= Bytecode.MOD_D) {
+                        arithmetique(op, a, b, c);
+                    } else {
+                        sauts[k] = comparaison(op, a, b);
+                    }
+            }
+        }
+
+        // Déplacements des sauts (relatifs, sur 16 bits)
+        for (int k = 0; k < instructions; k++) {
+            if (sauts[k] < 0) continue;
+            int cible = adresses[vm[k * Bytecode.TAILLE_INSTRUCTION + 3] / Bytecode.TAILLE_INSTRUCTION];
+            int deplacement = cible - sauts[k];
+            if (deplacement < Short.MIN_VALUE || deplacement > Short.MAX_VALUE) {
+                erreur = "Saut trop long pour une méthode JVM";
+                return null;
+            }
+            code[sauts[k] + 1] = (byte) (deplacement >> 8);
+            code[sauts[k] + 2] = (byte) deplacement;
+        }
+        if (taille > TAILLE_MAX) {
+            erreur = "Méthode de " + taille + " octets (maximum JVM : " + TAILLE_MAX + ")";
+            return null;
+        }
+        return classe();
+    }
+
+    public String getErreur() {
+        return erreur;
+    }
+
+    // a = b op c ; les codes Bytecode suivent l'ordre iadd, isub, imul, idiv, irem
+    private void arithmetique(int op, int a, int b, int c) {
+        if (op <= Bytecode.MOD_I) {
+            local(ILOAD, localEntier(b));
+            local(ILOAD, localEntier(c));
+            octet(IADD + 4 * (op - Bytecode.ADD_I));
+            local(ISTORE, localEntier(a));
+        } else {
+            local(DLOAD, localDecimal(b));
+            local(DLOAD, localDecimal(c));
+            octet(IADD + DECALAGE_DOUBLE + 4 * (op - Bytecode.ADD_D));
+            local(DSTORE, localDecimal(a));
+        }
+    }
+
+    /**
+     * Saut conditionnel ; retourne l'adresse de l'instruction de saut.
+     * Comparaisons de double : dcmpg quand NaN doit rendre le test faux
+     * (< et <=), dcmpl sinon, comme javac.
+     */
+    private int comparaison(int op, int a, int b) {
+        int cmp;
+        boolean contraire = false;
+        if (op < Bytecode.SI_IK) {
+            cmp = op - Bytecode.SI_I;
+            local(ILOAD, localEntier(a));
+            local(ILOAD, localEntier(b));
+            int saut = taille;
+            octet(IF_ICMPEQ + SI_ZERO[cmp]);
+            mot(0);
+            return saut;
+        }
+        if (op < Bytecode.SI_D) {
+            cmp = op - Bytecode.SI_IK;
+            local(ILOAD, localEntier(a));
+            int saut;
+            if (b == 0) {
+                saut = taille;
+                octet(IFEQ + SI_ZERO[cmp]);
+            } else {
+                entier(b);
+                saut = taille;
+                octet(IF_ICMPEQ + SI_ZERO[cmp]);
+            }
+            mot(0);
+            return saut;
+        }
+        if (op < Bytecode.SAUF_D) {
+            cmp = op - Bytecode.SI_D;
+        } else {
+            cmp = op - Bytecode.SAUF_D;
+            contraire = true;
+        }
+        local(DLOAD, localDecimal(a));
+        local(DLOAD, localDecimal(b));
+        octet((cmp == Bytecode.LT || cmp == Bytecode.LE) ? DCMPG : DCMPL);
+        int saut = taille;
+        octet(IFEQ + SI_ZERO[contraire ? Bytecode.contraire(cmp) : cmp]);
+        mot(0);
+        return saut;
+    }
+
+    /**
+     * FIN : recopie des registres dans les tableaux, puis retour
+     */
+    private void fin() {
+        for (int r = 0; r < programme.registresI; r++) {
+            local(ALOAD, 0);
+            entier(r);
+            local(ILOAD, localEntier(r));
+            octet(IASTORE);
+        }
+        for (int r = 0; r < programme.registresD; r++) {
+            local(ALOAD, 1);
+            entier(r);
+            local(DLOAD, localDecimal(r));
+            octet(DASTORE);
+        }
+        octet(RETURN);
+    }
+
+    private int localEntier(int registre) {
+        return 2 + registre;
+    }
+
+    private int localDecimal(int registre) {
+        return premierDecimal + 2 * registre;
+    }
+
+    // ==================== ÉMISSION ====================
+
+    private void octet(int valeur) {
+        if (taille == code.length) {
+            code = Arrays.copyOf(code, 2 * code.length);
+        }
+        code[taille++] = (byte) valeur;
+    }
+
+    private void mot(int valeur) {
+        octet(valeur >> 8);
+        octet(valeur);
+    }
+
+    // xLOAD / xSTORE, forme large au-delà de la variable 255
+    private void local(int op, int variable) {
+        if (variable > 255) {
+            octet(WIDE);
+            octet(op);
+            mot(variable);
+        } else {
+            octet(op);
+            octet(variable);
+        }
+    }
+
+    private void entier(int valeur) {
+        if (valeur >= -1 && valeur <= 5) {
+            octet(ICONST_0 + valeur);
+        } else if (valeur >= Byte.MIN_VALUE && valeur <= Byte.MAX_VALUE) {
+            octet(BIPUSH);
+            octet(valeur);
+        } else if (valeur >= Short.MIN_VALUE && valeur <= Short.MAX_VALUE) {
+            octet(SIPUSH);
+            mot(valeur);
+        } else {
+            octet(LDC_W);
+            mot(constante(valeur));
+        }
+    }
+
+    // ==================== FICHIER DE CLASSE ====================
+
+    private byte[] classe() {
+        int nomClasse = classeRef(NOM_CLASSE);
+        int superClasse = classeRef("java/lang/Object");
+        int nomMethode = utf8("executer");
+        int descripteur = utf8("([I[D)V");
+        int attributCode = utf8("Code");
+
+        int maxLocaux = premierDecimal + 2 * programme.registresD;
+        Sortie s = new Sortie(taillePool + taille + 64);
+        s.u4(0xCAFEBABE);
+        s.u2(0);
+        s.u2(49);                             // Java 5 : vérification par inférence
+        s.u2(entreesPool);
+        s.octets(pool, taillePool);
+        s.u2(0x0031);                         // public final super
+        s.u2(nomClasse);
+        s.u2(superClasse);
+        s.u2(0);                              // Interfaces
+        s.u2(0);                              // Champs
+        s.u2(1);                              // Méthodes
+        s.u2(0x0009);                         // public static
+        s.u2(nomMethode);
+        s.u2(descripteur);
+        s.u2(1);
+        s.u2(attributCode);
+        s.u4(12 + taille);
+        s.u2(6);                              // Pile : deux double, ou tableau + indice + double
+        s.u2(maxLocaux);
+        s.u4(taille);
+        s.octets(code, taille);
+        s.u2(0);                              // Exceptions
+        s.u2(0);                              // Attributs du code
+        s.u2(0);                              // Attributs de la classe
+        return s.resultat();
+    }
+
+    private int utf8(String texte) {
+        Integer existant = entrees.get(texte);
+        if (existant != null) return existant;
+        byte[] octets = texte.getBytes(StandardCharsets.UTF_8);
+        poolOctet(1);
+        poolOctet(octets.length >> 8);
+        poolOctet(octets.length);
+        for (byte o : octets) poolOctet(o);
+        entrees.put(texte, entreesPool);
+        return entreesPool++;
+    }
+
+    private int classeRef(String nom) {
+        int n = utf8(nom);
+        poolOctet(7);
+        poolOctet(n >> 8);
+        poolOctet(n);
+        return entreesPool++;
+    }
+
+    private int constante(int valeur) {
+        Integer existant = entrees.get(valeur);
+        if (existant != null) return existant;
+        poolOctet(3);
+        for (int k = 24; k >= 0; k -= 8) poolOctet(valeur >> k);
+        entrees.put(valeur, entreesPool);
+        return entreesPool++;
+    }
+
+    // Un double occupe deux entrées du pool
+    private int constante(double valeur) {
+        Integer existant = entrees.get(valeur);
+        if (existant != null) return existant;
+        long bits = Double.doubleToRawLongBits(valeur);
+        poolOctet(6);
+        for (int k = 56; k >= 0; k -= 8) poolOctet((int) (bits >> k));
+        entrees.put(valeur, entreesPool);
+        int index = entreesPool;
+        entreesPool += 2;
+        return index;
+    }
+
+    private void poolOctet(int valeur) {
+        if (taillePool == pool.length) {
+            pool = Arrays.copyOf(pool, 2 * pool.length);
+        }
+        pool[taillePool++] = (byte) valeur;
+    }
+
+    private static final class Sortie {
+        private final byte[] octets;
+        private int taille;
+
+        Sortie(int capacite) {
+            this.octets = new byte[capacite];
+        }
+
+        void u2(int v) {
+            octets[taille++] = (byte) (v >> 8);
+            octets[taille++] = (byte) v;
+        }
+
+        void u4(int v) {
+            u2(v >>> 16);
+            u2(v);
+        }
+
+        void octets(byte[] source, int n) {
+            System.arraycopy(source, 0, octets, taille, n);
+            taille += n;
+        }
+
+        byte[] resultat() {
+            return Arrays.copyOf(octets, taille);
+        }
+    }
+
+    // ==================== CHARGEMENT ====================
+
+    /**
+     * Charge la classe comme classe cachée et retourne sa méthode
+     * executer(int[], double[])
+     */
+    public static MethodHandle charger(byte[] classe) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classe, true);
+        return lookup.findStatic(lookup.lookupClass(), "executer",
+                                 MethodType.methodType(void.class, int[].class, double[].class));
+    }
+
+    // ==================== MAIN : BANC D'ESSAI ====================
+
+    /**
+     * Usage : CompilateurJVM [--tours=N] [--repetitions=R] [--optimiser] [fichier]
+     * Sans fichier, les boucles de Test.java (while (compteur < 5),
+     * while (x > 0)) sont portées à N tours chacune.
+     */
+    public static void main(String[] args) throws Throwable {
+        System.out.println("\n╔════════════════════════════════════════════════════╗");
+        System.out.println("║   MINI-COMPILATEUR JAVA - CLASSES JVM             ║");
+        System.out.println("║   Étudiant : Malek Leiticia                       ║");
+        System.out.println("║   Instruction : WHILE (Descente Récursive)        ║");
+        System.out.println("╚════════════════════════════════════════════════════╝\n");
+
+        String fichier = null;
+        int tours = 100_000_000;
+        int repetitions = 5;
+        boolean optimiser = false;
+        for (String a : args) {
+            if (a.equals("--optimiser")) optimiser = true;
+            else if (a.startsWith("--tours=")) tours = Integer.parseInt(a.substring("--tours=".length()));
+            else if (a.startsWith("--repetitions=")) repetitions = Integer.parseInt(a.substring("--repetitions=".length()));
+            else if (!a.startsWith("--")) fichier = a;
+        }
+
+        Bytecode programme;
+        if (fichier != null) {
+            System.out.println("Programme : " + fichier + "\n");
+            programme = MachineVirtuelle.compiler(fichier, optimiser);
+        } else {
+            System.out.println("Programme : boucles de Test.java, " + tours + " tours chacune\n");
+            programme = MachineVirtuelle.compilerSource(
+                    "public class Test {\n"
+                  + "    public static void main(String[] args) {\n"
+                  + "        int compteur = 0;\n"
+                  + "        int x = " + tours + ";\n"
+                  + "        int y = 20;\n"
+                  + "        while (compteur < " + tours + ") {\n"
+                  + "            compteur++;\n"
+                  + "        }\n"
+                  + "        while (x > 0) {\n"
+                  + "            x--;\n"
+                  + "        }\n"
+                  + "    }\n"
+                  + "}\n", optimiser);
+        }
+        if (programme == null) {
+            return;
+        }
+
+        long debut = System.nanoTime();
+        CompilateurJVM compilateur = new CompilateurJVM(programme);
+        byte[] classe = compilateur.compiler();
+        if (classe == null) {
+            System.err.println("✗ " + compilateur.getErreur() + "\n");
+            return;
+        }
+        MethodHandle executer = charger(classe);
+        long generation = System.nanoTime() - debut;
+        System.out.println(String.format("Classe : %d octets, générée et chargée en %.3f ms\n",
+                                        classe.length, generation / 1e6));
+
+        MachineVirtuelle machine = new MachineVirtuelle(programme);
+        int[] entiers = new int[programme.registresI];
+        double[] decimaux = new double[programme.registresD];
+        long meilleurVM = Long.MAX_VALUE;
+        long meilleurJVM = Long.MAX_VALUE;
+
+        System.out.println(String.format("%-12s | %-18s | %-18s", "RÉPÉTITION", "INTERPRÉTEUR", "CLASSE JVM"));
+        System.out.println("-".repeat(56));
+        for (int r = 1; r <= repetitions; r++) {
+            debut = System.nanoTime();
+            if (!machine.executer()) {
+                System.err.println("✗ " + machine.getErreur() + "\n");
+                return;
+            }
+            long vm = System.nanoTime() - debut;
+
+            debut = System.nanoTime();
+            try {
+                executer.invokeExact(entiers, decimaux);
+            } catch (ArithmeticException e) {
+                System.err.println("✗ Erreur d'exécution : division par zéro\n");
+                return;
+            }
+            long jvm = System.nanoTime() - debut;
+
+            meilleurVM = Math.min(meilleurVM, vm);
+            meilleurJVM = Math.min(meilleurJVM, jvm);
+            System.out.println(String.format("%-12d | %15.3f ms | %15.3f ms", r, vm / 1e6, jvm / 1e6));
+        }
+        System.out.println("-".repeat(56));
+        System.out.println(String.format("Meilleur : %.3f ms (interpréteur), %.3f ms (classe JVM), ×%.1f\n",
+                                        meilleurVM / 1e6, meilleurJVM / 1e6,
+                                        (double) meilleurVM / Math.max(meilleurJVM, 1)));
+
+        boolean identiques = Arrays.equals(entiers, machine.registresEntiers())
+                && Arrays.equals(decimaux, machine.registresDecimaux());
+        System.out.println(identiques ? "✓ Résultats identiques\n" : "✗ Résultats différents\n");
+        MachineVirtuelle.afficherVariables(programme, entiers, decimaux);
+    }
+}
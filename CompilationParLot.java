@@ -0,0 +1,380 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - COMPILATION PAR LOT
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Analyse lexicale et syntaxique d'un lot de fichiers en une seule JVM.
+ *
+ * Les fichiers sont projetés en mémoire par deux threads de lecture, en
+ * avance sur l'analyse (fenêtre de 2 fichiers par cœur), puis analysés
+ * sur un ForkJoinPool (vol de tâches) dimensionné au nombre de cœurs.
+ * Chaque analyse se fait en mode flux, sans trace ; un rapport unique
+ * est affiché à la fin, dans l'ordre des fichiers.
+ *
+ * Avec --cache=dossier, un fichier déjà analysé (même contenu, même
+ * version de l'analyseur) est relu dans le CacheDisque sans lexer ni
+ * parser ; --cache-max=Mo borne la taille du dossier.
+ *
+ * Usage : CompilationParLot [--erreurs] [--cache=dossier] [--cache-max=Mo] fichier|dossier|motif...
+ * (un motif contient * ? [ ou {, ex. "rendus/*.java")
+ */
+public final class CompilationParLot {
+
+    // ==================== RÉSULTAT D'UN FICHIER ====================
+
+    /**
+     * Verdict et erreurs d'un fichier
+     */
+    public static final class Resultat {
+        private final Path fichier;
+        private final boolean lisible;
+        private final boolean accepte;
+        private final long octets;
+        private final long dureeNs;                   // Analyse seule (hors chargement)
+        private final List<Diagnostic> lexicales;
+        private final List<Diagnostic> syntaxiques;
+        private final List<Diagnostic> diagnostics;   // Entrelacés, ordre du source
+        private final boolean relu;                   // Lu dans le cache disque
+
+        private Resultat(Path fichier, boolean lisible, boolean accepte, long octets, long dureeNs,
+                         List<Diagnostic> lexicales, List<Diagnostic> syntaxiques,
+                         List<Diagnostic> diagnostics, boolean relu) {
+            this.fichier = fichier;
+            this.lisible = lisible;
+            this.accepte = accepte;
+            this.octets = octets;
+            this.dureeNs = dureeNs;
+            this.lexicales = lexicales;
+            this.syntaxiques = syntaxiques;
+            this.diagnostics = diagnostics;
+            this.relu = relu;
+        }
+
+        static Resultat illisible(Path fichier) {
+            return new Resultat(fichier, false, false, 0, 0, List.of(), List.of(), List.of(), false);
+        }
+
+        public Path getFichier() {
+            return fichier;
+        }
+
+        public boolean estLisible() {
+            return lisible;
+        }
+
+        public boolean estAccepte() {
+            return accepte;
+        }
+
+        public long getOctets() {
+            return octets;
+        }
+
+        public long getDureeNs() {
+            return dureeNs;
+        }
+
+        public int getErreursLexicales() {
+            return lexicales.size();
+        }
+
+        public int getErreursSyntaxiques() {
+            return syntaxiques.size();
+        }
+
+        public List<Diagnostic> getDiagnostics() {
+            return diagnostics;
+        }
+
+        public boolean estRelu() {
+            return relu;
+        }
+
+        public String verdict() {
+            if (!lisible) return "✗ FICHIER ILLISIBLE";
+            return accepte ? "✓ PROGRAMME ACCEPTÉ" : "✗ PROGRAMME REJETÉ";
+        }
+    }
+
+    private static final long CACHE_MO = 256;
+
+    private CompilationParLot() {
+    }
+
+    // ==================== COLLECTE DES FICHIERS ====================
+
+    /**
+     * Développe les arguments en liste de fichiers (sans doublon) :
+     * fichier tel quel, dossier parcouru récursivement (*.java), motif glob
+     */
+    public static List<Path> collecter(List<String> arguments) throws IOException {
+        Set<Path> fichiers = new LinkedHashSet<>();
+
+        for (String arg : arguments) {
+            if (estMotif(arg)) {
+                PathMatcher motif = FileSystems.getDefault().getPathMatcher("glob:" + arg);
+                try (Stream<Path> chemins = Files.walk(racineMotif(arg))) {
+                    chemins.filter(Files::isRegularFile)
+                           .filter(motif::matches)
+                           .sorted()
+                           .forEach(fichiers::add);
+                }
+            } else {
+                Path chemin = Paths.get(arg);
+                if (Files.isDirectory(chemin)) {
+                    try (Stream<Path> chemins = Files.walk(chemin)) {
+                        chemins.filter(Files::isRegularFile)
+                               .filter(p -> p.toString().endsWith(".java"))
+                               .sorted()
+                               .forEach(fichiers::add);
+                    }
+                } else {
+                    // Fichier absent : signalé comme illisible dans le rapport
+                    fichiers.add(chemin);
+                }
+            }
+        }
+        return new ArrayList<>(fichiers);
+    }
+
+    private static boolean estMotif(String arg) {
+        for (char c : "*?[{".toCharArray()) {
+            if (arg.indexOf(c) >= 0) return true;
+        }
+        return false;
+    }
+
+    // Dossier le plus profond sans caractère de motif ("" : dossier courant),
+    // pour que les chemins parcourus gardent le même préfixe que le motif
+    private static Path racineMotif(String motif) {
+        int premier = motif.length();
+        for (char c : "*?[{".toCharArray()) {
+            int i = motif.indexOf(c);
+            if (i >= 0) premier = Math.min(premier, i);
+        }
+        int separateur = motif.lastIndexOf('/', premier);
+        return Paths.get(separateur < 0 ? "" : motif.substring(0, separateur));
+    }
+
+    // ==================== ANALYSE ====================
+
+    /**
+     * Analyse tous les fichiers ; les résultats suivent l'ordre de la liste
+     */
+    public static List<Resultat> compiler(List<Path> fichiers, int parallelisme) {
+        return compiler(fichiers, parallelisme, null);
+    }
+
+    /**
+     * Idem, en relisant dans le cache (s'il n'est pas null) les fichiers
+     * déjà analysés
+     */
+    public static List<Resultat> compiler(List<Path> fichiers, int parallelisme, CacheDisque cache) {
+        ForkJoinPool analyse = new ForkJoinPool(parallelisme);
+        ExecutorService lecture = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "lecture-lot");
+            t.setDaemon(true);
+            return t;
+        });
+        // Fenêtre de préchargement : fichiers chargés mais pas encore analysés
+        Semaphore fenetre = new Semaphore(2 * parallelisme);
+
+        List<CompletableFuture<Resultat>> taches = new ArrayList<>(fichiers.size());
+        try {
+            for (Path fichier : fichiers) {
+                fenetre.acquireUninterruptibly();
+                CompletableFuture<Resultat> tache = CompletableFuture
+                        .supplyAsync(() -> ChargeurSource.charger(fichier.toString()), lecture)
+                        .thenApplyAsync(source -> analyser(fichier, source, cache), analyse);
+                tache.whenComplete((r, e) -> fenetre.release());
+                taches.add(tache);
+            }
+            return taches.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } finally {
+            lecture.shutdown();
+            analyse.shutdown();
+        }
+    }
+
+    /**
+     * Lexer et parser en mode flux, sans trace
+     */
+    static Resultat analyser(Path fichier, ChargeurSource source) {
+        if (source == null) {
+            return Resultat.illisible(fichier);
+        }
+
+        long debut = System.nanoTime();
+        AnalyseurLexical lexer = new AnalyseurLexical(source.texte());
+        lexer.setEcouteur(Trace.SILENCE);
+        AnalyseurSyntaxique parser = new AnalyseurSyntaxique(lexer);
+        parser.setEcouteur(Trace.SILENCE);
+        parser.Z();
+
+        // Lexer la fin du fichier pour ne manquer aucune erreur lexicale
+        while (lexer.nextToken() != TypeToken.AUCUN) {
+            // Tokens après la fin du programme
+        }
+        long duree = System.nanoTime() - debut;
+
+        List<Diagnostic> lexicales = lexer.getDiagnostics();
+        List<Diagnostic> syntaxiques = parser.getDiagnostics();
+        boolean accepte = parser.estAccepte() && lexicales.isEmpty();
+        return new Resultat(fichier, true, accepte, source.octets(), duree,
+                            lexicales, syntaxiques, Diagnostic.fusionner(lexicales, syntaxiques), false);
+    }
+
+    /**
+     * Relit le résultat dans le cache, ou analyse en mode tampon (le flot
+     * de tokens complet est enregistré avec les erreurs)
+     */
+    static Resultat analyser(Path fichier, ChargeurSource source, CacheDisque cache) {
+        if (source == null || cache == null) {
+            return analyser(fichier, source);
+        }
+
+        long debut = System.nanoTime();
+        String cle = CacheDisque.cle(source);
+        CacheDisque.Entree entree = cache.lire(cle);
+        if (entree != null) {
+            List<Diagnostic> lexicales = entree.getLexicales();
+            List<Diagnostic> syntaxiques = entree.getSyntaxiques();
+            return new Resultat(fichier, true, entree.estAccepte(), source.octets(), System.nanoTime() - debut,
+                                lexicales, syntaxiques, Diagnostic.fusionner(lexicales, syntaxiques), true);
+        }
+
+        AnalyseurLexical lexer = new AnalyseurLexical(source.texte());
+        lexer.setEcouteur(Trace.SILENCE);
+        lexer.analyser();
+        AnalyseurSyntaxique parser = new AnalyseurSyntaxique(lexer.getTampon());
+        parser.setEcouteur(Trace.SILENCE);
+        parser.Z();
+        long duree = System.nanoTime() - debut;
+
+        List<Diagnostic> lexicales = lexer.getDiagnostics();
+        List<Diagnostic> syntaxiques = parser.getDiagnostics();
+        boolean accepte = parser.estAccepte() && lexicales.isEmpty();
+        try {
+            cache.ecrire(cle, accepte, lexer.getTampon(), lexicales, syntaxiques);
+        } catch (IOException e) {
+            // Cache en lecture seule ou disque plein : le résultat reste valable
+            System.err.println("Cache : écriture impossible pour " + fichier + " (" + e.getMessage() + ")");
+        }
+        return new Resultat(fichier, true, accepte, source.octets(), duree,
+                            lexicales, syntaxiques, Diagnostic.fusionner(lexicales, syntaxiques), false);
+    }
+
+    // ==================== RAPPORT ====================
+
+    /**
+     * Rapport agrégé : verdict par fichier, puis totaux et débit
+     */
+    public static void afficherRapport(List<Resultat> resultats, long dureeNs, int parallelisme,
+                                       boolean details) {
+        System.out.println("=".repeat(70));
+        System.out.println("                  RAPPORT DE COMPILATION PAR LOT");
+        System.out.println("=".repeat(70));
+        System.out.println(String.format("%-40s | %-20s | %-4s | %-4s",
+                                        "FICHIER", "VERDICT", "LEX", "SYN"));
+        System.out.println("-".repeat(70));
+
+        int acceptes = 0;
+        int illisibles = 0;
+        long lexicales = 0;
+        long syntaxiques = 0;
+        long octets = 0;
+        for (Resultat r : resultats) {
+            System.out.println(String.format("%-40s | %-20s | %-4d | %-4d",
+                                            r.fichier, r.verdict(),
+                                            r.getErreursLexicales(), r.getErreursSyntaxiques()));
+            if (details) {
+                for (Diagnostic d : r.diagnostics) {
+                    System.out.println("    ✗ " + d);
+                }
+            }
+            if (r.accepte) acceptes++;
+            if (!r.lisible) illisibles++;
+            lexicales += r.getErreursLexicales();
+            syntaxiques += r.getErreursSyntaxiques();
+            octets += r.octets;
+        }
+
+        System.out.println("=".repeat(70));
+        System.out.println("Fichiers : " + resultats.size() + " (" + acceptes + " acceptés, "
+                           + (resultats.size() - acceptes - illisibles) + " rejetés, "
+                           + illisibles + " illisibles)");
+        System.out.println("Erreurs : " + lexicales + " lexicales, " + syntaxiques + " syntaxiques");
+        System.out.println(String.format("Débit : %d octets en %.3f ms (%.1f Mo/s, %d threads d'analyse)\n",
+                                        octets, dureeNs / 1e6,
+                                        (dureeNs == 0) ? 0 : (octets / 1e6) / (dureeNs / 1e9),
+                                        parallelisme));
+    }
+
+    // ==================== MAIN ====================
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("\n╔════════════════════════════════════════════════════╗");
+        System.out.println("║   MINI-COMPILATEUR JAVA - COMPILATION PAR LOT      ║");
+        System.out.println("║   Étudiant : Malek Leiticia                       ║");
+        System.out.println("║   Instruction : WHILE (Descente Récursive)        ║");
+        System.out.println("╚════════════════════════════════════════════════════╝\n");
+
+        boolean details = false;
+        String dossierCache = null;
+        long cacheMo = CACHE_MO;
+        List<String> arguments = new ArrayList<>();
+        for (String a : args) {
+            if (a.equals("--erreurs")) details = true;
+            else if (a.startsWith("--cache=")) dossierCache = a.substring("--cache=".length());
+            else if (a.startsWith("--cache-max=")) cacheMo = Long.parseLong(a.substring("--cache-max=".length()));
+            else arguments.add(a);
+        }
+        if (arguments.isEmpty()) {
+            System.err.println("Usage : CompilationParLot [--erreurs] [--cache=dossier] [--cache-max=Mo] "
+                               + "fichier|dossier|motif...\n");
+            return;
+        }
+
+        List<Path> fichiers = collecter(arguments);
+        int parallelisme = Runtime.getRuntime().availableProcessors();
+        CacheDisque cache = (dossierCache == null) ? null : new CacheDisque(Paths.get(dossierCache), cacheMo << 20);
+
+        long debut = System.nanoTime();
+        List<Resultat> resultats = compiler(fichiers, parallelisme, cache);
+        long duree = System.nanoTime() - debut;
+
+        afficherRapport(resultats, duree, parallelisme, details);
+        if (cache != null) {
+            long relus = resultats.stream().filter(Resultat::estRelu).count();
+            cache.elaguer();
+            System.out.println(String.format("Cache : %d fichiers relus sur %d, %d entrées élaguées (%s)\n",
+                                            relus, resultats.size(), cache.getEntreesElaguees(), dossierCache));
+        }
+    }
+}
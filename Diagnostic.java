@@ -0,0 +1,152 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - DIAGNOSTIC
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Erreur lexicale, syntaxique, sémantique ou d'exécution, repérée par sa position dans le source.
+ * Le message est gardé sous forme de modèle et d'arguments : le texte
+ * n'est construit qu'à l'appel de getMessage() ou toString().
+ */
+public final class Diagnostic {
+
+    // ==================== PHASES ====================
+
+    public static final int LEXICAL = 0;
+    public static final int SYNTAXIQUE = 1;
+    public static final int SEMANTIQUE = 2;    // Compilation (variable non déclarée...)
+    public static final int EXECUTION = 3;     // Machine virtuelle (division par zéro...)
+
+    // ==================== ATTRIBUTS ====================
+
+    private final int phase;
+    private final int position;      // Position dans le source (tri)
+    private final int ligne;         // 0 : fin de fichier
+    private final int colonne;
+    private final String modele;     // Format String.format (ou message fixe)
+    private final Object[] arguments;
+    private String message;          // Construit à la première lecture
+
+    // ==================== CONSTRUCTEUR ====================
+
+    public Diagnostic(int phase, int position, int ligne, int colonne, String message) {
+        this(phase, position, ligne, colonne, message, (Object[]) null);
+    }
+
+    /**
+     * Message différé : modele est un format String.format appliqué aux
+     * arguments seulement si le message est lu
+     */
+    public Diagnostic(int phase, int position, int ligne, int colonne,
+                      String modele, Object... arguments) {
+        this.phase = phase;
+        this.position = position;
+        this.ligne = ligne;
+        this.colonne = colonne;
+        this.modele = modele;
+        this.arguments = arguments;
+    }
+
+    // ==================== GETTERS ====================
+
+    public int getPhase() {
+        return phase;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public int getLigne() {
+        return ligne;
+    }
+
+    public int getColonne() {
+        return colonne;
+    }
+
+    public String getMessage() {
+        if (message == null) {
+            message = (arguments == null || arguments.length == 0) ? modele : String.format(modele, arguments);
+        }
+        return message;
+    }
+
+    /**
+     * Même erreur, déplacée après une modification du source.
+     * Les seuls arguments entiers des messages sont des numéros de ligne
+     * ("débuté ligne N") : ils sont décalés avec la ligne.
+     */
+    Diagnostic decale(int dPosition, int dLigne, int dColonne) {
+        Object[] decales = arguments;
+        if (arguments != null && dLigne != 0) {
+            decales = arguments.clone();
+            for (int k = 0; k < decales.length; k++) {
+                if (decales[k] instanceof Integer) decales[k] = (Integer) decales[k] + dLigne;
+            }
+        }
+        return new Diagnostic(phase, position + dPosition, ligne + dLigne, colonne + dColonne,
+                              modele, decales);
+    }
+
+    /**
+     * Même erreur, reportée sur une autre occurrence des mêmes tokens
+     * (dérivation reprise par l'analyse incrémentale)
+     */
+    Diagnostic deplace(int position, int ligne, int colonne) {
+        return new Diagnostic(phase, position, ligne, colonne, modele, arguments);
+    }
+
+    /**
+     * Texte au format historique des listes d'erreurs
+     */
+    @Override
+    public String toString() {
+        String message = getMessage();
+        if (phase == LEXICAL) {
+            return "Erreur ligne " + ligne + ", colonne " + colonne + " : " + message;
+        }
+        if (phase == SEMANTIQUE) {
+            return "Erreur sémantique ligne " + ligne + ", colonne " + colonne + " : " + message;
+        }
+        if (phase == EXECUTION) {
+            return "Erreur d'exécution ligne " + ligne + " : " + message;
+        }
+        if (ligne == 0) {
+            return "Erreur syntaxique : " + message + " (fin de fichier)";
+        }
+        return "Erreur syntaxique ligne " + ligne + ", colonne " + colonne + " : " + message;
+    }
+
+    // ==================== FUSION ====================
+
+    /**
+     * Fusionne deux listes déjà triées par position (fusion stable :
+     * à position égale, l'erreur lexicale passe en premier)
+     */
+    public static List<Diagnostic> fusionner(List<Diagnostic> lexicales, List<Diagnostic> syntaxiques) {
+        List<Diagnostic> resultat = new ArrayList<>(lexicales.size() + syntaxiques.size());
+        int a = 0;
+        int b = 0;
+        while (a < lexicales.size() && b < syntaxiques.size()) {
+            if (lexicales.get(a).position <= syntaxiques.get(b).position) {
+                resultat.add(lexicales.get(a++));
+            } else {
+                resultat.add(syntaxiques.get(b++));
+            }
+        }
+        while (a < lexicales.size()) resultat.add(lexicales.get(a++));
+        while (b < syntaxiques.size()) resultat.add(syntaxiques.get(b++));
+        return resultat;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - ÉCOUTEUR D'ANALYSE
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+/**
+ * Reçoit les événements de l'analyse (règles traversées, erreurs, verdict).
+ * Les analyseurs ne construisent aucun texte : un événement n'est qu'un
+ * code entier et le curseur courant, que l'écouteur lit s'il en a besoin.
+ * Voir Trace pour les niveaux et l'écouteur console.
+ */
+public interface EcouteurAnalyse {
+
+    // ==================== ÉVÉNEMENTS ====================
+
+    // Analyse lexicale
+    int LEXIQUE_DEBUT               = 0;
+    int LEXIQUE_FIN                 = 1;
+
+    // Règles de l'analyse syntaxique
+    int SYNTAXE_DEBUT               = 2;
+    int PROGRAMME                   = 3;
+    int CLASSE                      = 4;
+    int CLASSE_NOM                  = 5;    // Curseur sur le nom de classe
+    int METHODE                     = 6;
+    int IF                          = 7;
+    int FOR                         = 8;
+    int DECLARATION                 = 9;
+    int DECLARATION_VARIABLE        = 10;   // Curseur sur le nom de variable
+    int AFFECTATION                 = 11;
+
+    // Analyse détaillée de WHILE
+    int WHILE_DEBUT                 = 12;
+    int WHILE_MOT_CLE               = 13;
+    int WHILE_PAREN_OUVRANTE        = 14;
+    int WHILE_ERR_PAREN_OUVRANTE    = 15;
+    int WHILE_CONDITION_DEBUT       = 16;
+    int WHILE_CONDITION_FIN         = 17;
+    int WHILE_PAREN_FERMANTE        = 18;
+    int WHILE_ERR_PAREN_FERMANTE    = 19;
+    int WHILE_BLOC_DEBUT            = 20;
+    int WHILE_BLOC_FIN              = 21;
+    int WHILE_FIN                   = 22;
+
+    int NOMBRE_EVENEMENTS           = 23;
+
+    // ==================== RAPPELS ====================
+
+    /**
+     * Un événement de la liste ci-dessus ; curseur peut être null
+     * pour les événements qui n'en ont pas besoin
+     */
+    void evenement(int evenement, FluxTokens curseur);
+
+    /**
+     * Erreur lexicale ou syntaxique, au moment où elle est détectée
+     */
+    void diagnostic(Diagnostic d);
+
+    /**
+     * Fin de l'analyse syntaxique
+     */
+    void verdict(boolean accepte, boolean finAtteinte);
+}
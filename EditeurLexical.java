@@ -0,0 +1,715 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - ANALYSE LEXICALE INCRÉMENTALE
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Texte en cours d'édition et ses tokens, tenus à jour après chaque
+ * modification sans relancer l'analyse lexicale sur tout le fichier.
+ *
+ * Le texte et les tokens sont deux tampons à trou. Les tokens situés
+ * après le trou stockent leur position comptée depuis la fin du texte
+ * et leur ligne comptée depuis la dernière ligne : une modification
+ * placée avant eux les décale donc sans qu'on les touche. Seule la
+ * colonne des tokens de la ligne modifiée est corrigée.
+ *
+ * Après une modification, l'automate repart de la fin du dernier token
+ * intact et s'arrête dès qu'il produit un token qui commence, après la
+ * zone modifiée, au même endroit qu'un ancien token du même type : la
+ * suite est alors identique. Un commentaire ou une chaîne ouvert (ou
+ * fermé) par la modification prolonge la fenêtre aussi loin qu'il faut,
+ * au pire jusqu'à EOF.
+ *
+ * Chaque token garde aussi un identifiant (inchangé tant qu'il n'est pas
+ * réanalysé) et une empreinte de son contenu ; empreinte(de, a) combine
+ * celles d'une plage en temps constant. L'analyseur syntaxique s'en sert
+ * pour réutiliser ses dérivations d'une analyse à l'autre.
+ */
+public final class EditeurLexical implements RecepteurTokens {
+
+    // ==================== ATTRIBUTS ====================
+
+    private static final int BLOC = 1024;
+
+    // Caractères lus par l'automate au-delà de la fin d'un token :
+    // le caractère qui l'arrête, plus un en cas de retour arrière ("3.x")
+    private static final int ANTICIPATION = 2;
+
+    // Base impaire des empreintes (calcul modulo 2^64) et son inverse
+    private static final long BASE = 0x9E3779B97F4A7C15L;
+    private static final long BASE_INVERSE = inverse(BASE);
+
+    private final Texte texte;
+    private final AnalyseurLexical lexer;
+
+    // Tokens [0, trouDebut) : valeurs absolues
+    // Tokens [trouFin, capacité) : début = longueur du texte - valeur,
+    //                              ligne = nombre de lignes - valeur
+    private int[] types;
+    private int[] debuts;
+    private int[] longueurs;
+    private int[] lignes;
+    private int[] colonnes;
+    private int[] identifiants;                // Stable tant que le token n'est pas réanalysé
+    private long[] hachages;                   // Empreinte du token (type et texte)
+    private long[] cumuls;                     // Avant le trou : somme des h(i) * BASE^i
+                                               // Après : somme des h(i) * BASE^-(distance à la fin)
+    private int trouDebut;
+    private int trouFin;
+    private long puissanceTrou;                // BASE^trouDebut
+    private long puissanceApres;               // BASE_INVERSE^(tokens après le trou)
+    private int prochainIdentifiant;
+
+    private ArrayList<Diagnostic> erreurs;     // Erreurs lexicales, ordre du source
+
+    // État de la modification en cours
+    private boolean incremental;               // Faux pendant l'analyse initiale
+    private int finEdition;                    // Fin du texte inséré
+    private boolean resynchronise;
+    private int positionResynchro;             // Début du premier token conservé
+
+    // Mesures de la dernière modification
+    private int tokensRelexes;
+    private int caracteresRelexes;
+
+    // ==================== CONSTRUCTEUR ====================
+
+    /**
+     * Copie le code dans le tampon d'édition et l'analyse entièrement
+     */
+    public EditeurLexical(CharSequence code) {
+        this.texte = new Texte(code);
+        this.types = new int[BLOC];
+        this.debuts = new int[BLOC];
+        this.longueurs = new int[BLOC];
+        this.lignes = new int[BLOC];
+        this.colonnes = new int[BLOC];
+        this.identifiants = new int[BLOC];
+        this.hachages = new long[BLOC];
+        this.cumuls = new long[BLOC];
+        this.trouDebut = 0;
+        this.trouFin = BLOC;
+        this.puissanceTrou = 1;
+        this.puissanceApres = 1;
+
+        this.lexer = new AnalyseurLexical(texte);
+        lexer.setEcouteur(Trace.SILENCE);
+        lexer.reprendre(texte, 0, 1, 0, this);
+        this.incremental = false;
+        while (lexer.etape()) {
+            // Analyse complète
+        }
+        this.erreurs = new ArrayList<>(lexer.getDiagnostics());
+        this.tokensRelexes = taille();
+        this.caracteresRelexes = texte.length();
+    }
+
+    // ==================== MODIFICATION ====================
+
+    /**
+     * Remplace supprimes caractères à partir de offset par insere,
+     * puis remet les tokens à jour.
+     * Retourne le nombre de tokens produits par la nouvelle analyse.
+     */
+    public int modifier(int offset, int supprimes, CharSequence insere) {
+        if (offset < 0 || supprimes < 0 || offset + supprimes > texte.length()) {
+            throw new IndexOutOfBoundsException("Modification hors du texte : " + offset + "+" + supprimes
+                                                + " / " + texte.length());
+        }
+
+        // Dernier token intact : l'automate ne l'a pas lu jusqu'à offset
+        int reprise = indexReprise(offset);
+        deplacerTrou(reprise);
+
+        // État du lexer à la fin de ce token
+        int positionReprise = 0;
+        int ligneReprise = 1;
+        int debutLigneReprise = 0;
+        if (reprise > 0) {
+            int j = reprise - 1;
+            positionReprise = finUnite(j);
+            ligneReprise = lignes[j];
+            debutLigneReprise = debutUnite(j) - (colonnes[j] - 1);
+            for (int k = debutUnite(j); k < positionReprise; k++) {
+                if (texte.charAt(k) == '\n') {
+                    ligneReprise++;
+                    debutLigneReprise = k + 1;
+                }
+            }
+        }
+
+        // Fin de la zone modifiée : ligne et colonne avant et après
+        int finAncienne = offset + supprimes;
+        int ligneFinAncienne = ligneReprise + texte.compterLignes(positionReprise, finAncienne);
+        int colonneFinAncienne = finAncienne - texte.debutLigne(finAncienne);
+        int lignesAvant = texte.lignes();
+
+        texte.remplacer(offset, supprimes, insere);
+
+        finEdition = offset + insere.length();
+        int ligneFinNouvelle = ligneReprise + texte.compterLignes(positionReprise, finEdition);
+        int deltaColonne = (finEdition - texte.debutLigne(finEdition)) - colonneFinAncienne;
+        int deltaLignes = texte.lignes() - lignesAvant;
+        int deltaPosition = insere.length() - supprimes;
+
+        // Nouvelle analyse jusqu'à la resynchronisation (au plus tard à EOF)
+        incremental = true;
+        resynchronise = false;
+        positionResynchro = positionReprise;
+        tokensRelexes = 0;
+        lexer.reprendre(texte, positionReprise, ligneReprise, debutLigneReprise, this);
+        while (!resynchronise && lexer.etape()) {
+            // Une unité par étape
+        }
+        if (!resynchronise) {
+            // EOF produit avant tout ancien token ('\0' dans le texte) : le reste disparaît
+            trouFin = types.length;
+            puissanceApres = 1;
+            positionResynchro = texte.length();
+        }
+        incremental = false;
+        caracteresRelexes = positionResynchro - positionReprise;
+
+        // Tokens conservés sur la ligne de fin de modification : colonne décalée
+        if (deltaColonne != 0) {
+            int nl = texte.lignes();
+            for (int k = trouFin; k < types.length && nl - lignes[k] == ligneFinNouvelle; k++) {
+                colonnes[k] += deltaColonne;
+            }
+        }
+
+        fusionnerErreurs(positionReprise,
+                         resynchronise ? positionResynchro - deltaPosition : Integer.MAX_VALUE,
+                         deltaPosition, deltaLignes, ligneFinAncienne, deltaColonne);
+        return tokensRelexes;
+    }
+
+    /**
+     * Nombre de tokens [0, reprise) que la modification ne peut pas changer
+     * (EOF, toujours dernier, est toujours réanalysé)
+     */
+    private int indexReprise(int offset) {
+        int bas = 0;
+        int haut = taille() - 1;
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (finUnite(milieu) + ANTICIPATION <= offset) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+        return bas;
+    }
+
+    /**
+     * Réception des tokens : pendant une modification, les anciens tokens
+     * dépassés sont supprimés et l'analyse s'arrête sur un token identique
+     */
+    @Override
+    public void ajouter(int type, int debut, int longueur) {
+        int unite = (type == TypeToken.CHAINE) ? debut - 1 : debut;
+        if (incremental) {
+            int n = texte.length();
+            while (trouFin < types.length) {
+                int ancien = n - debuts[trouFin];
+                if (ancien > debut) break;
+                if (ancien == debut && unite >= finEdition && types[trouFin] == type) {
+                    resynchronise = true;
+                    positionResynchro = unite;
+                    return;
+                }
+                trouFin++;
+                puissanceApres *= BASE;
+            }
+            positionResynchro = debut + longueur;
+            tokensRelexes++;
+        }
+
+        if (trouDebut == trouFin) {
+            agrandir();
+        }
+        long h = hacher(type, debut, longueur);
+        types[trouDebut] = type;
+        debuts[trouDebut] = debut;
+        longueurs[trouDebut] = longueur;
+        // Lignes conservées par token : elles sont décalées à chaque édition
+        lignes[trouDebut] = lexer.lignes().ligne(unite);
+        colonnes[trouDebut] = lexer.lignes().colonne(unite);
+        identifiants[trouDebut] = prochainIdentifiant++;
+        hachages[trouDebut] = h;
+        cumuls[trouDebut] = cumulAvant(trouDebut) + h * puissanceTrou;
+        trouDebut++;
+        puissanceTrou *= BASE;
+    }
+
+    /**
+     * Erreurs avant la fenêtre conservées, erreurs de la fenêtre remplacées,
+     * erreurs après la fenêtre décalées
+     */
+    private void fusionnerErreurs(int debutFenetre, int finFenetreAncienne, int deltaPosition,
+                                  int deltaLignes, int ligneFinAncienne, int deltaColonne) {
+        ArrayList<Diagnostic> resultat = new ArrayList<>(erreurs.size() + lexer.getDiagnostics().size());
+        int k = 0;
+        while (k < erreurs.size() && erreurs.get(k).getPosition() < debutFenetre) {
+            resultat.add(erreurs.get(k++));
+        }
+        resultat.addAll(lexer.getDiagnostics());
+        while (k < erreurs.size() && erreurs.get(k).getPosition() <= finFenetreAncienne) {
+            k++;
+        }
+        for (; k < erreurs.size(); k++) {
+            Diagnostic d = erreurs.get(k);
+            int dc = (d.getLigne() == ligneFinAncienne) ? deltaColonne : 0;
+            resultat.add(d.decale(deltaPosition, deltaLignes, dc));
+        }
+        erreurs = resultat;
+    }
+
+    // ==================== TROU DES TOKENS ====================
+
+    // Amène le trou devant le token index (coût : distance parcourue)
+    private void deplacerTrou(int index) {
+        int n = texte.length();
+        int nl = texte.lignes();
+        while (trouDebut > index) {
+            trouDebut--;
+            trouFin--;
+            puissanceTrou *= BASE_INVERSE;
+            types[trouFin] = types[trouDebut];
+            debuts[trouFin] = n - debuts[trouDebut];
+            longueurs[trouFin] = longueurs[trouDebut];
+            lignes[trouFin] = nl - lignes[trouDebut];
+            colonnes[trouFin] = colonnes[trouDebut];
+            identifiants[trouFin] = identifiants[trouDebut];
+            hachages[trouFin] = hachages[trouDebut];
+            cumuls[trouFin] = cumulApres(trouFin + 1) + hachages[trouFin] * puissanceApres;
+            puissanceApres *= BASE_INVERSE;
+        }
+        while (trouDebut < index) {
+            types[trouDebut] = types[trouFin];
+            debuts[trouDebut] = n - debuts[trouFin];
+            longueurs[trouDebut] = longueurs[trouFin];
+            lignes[trouDebut] = nl - lignes[trouFin];
+            colonnes[trouDebut] = colonnes[trouFin];
+            identifiants[trouDebut] = identifiants[trouFin];
+            hachages[trouDebut] = hachages[trouFin];
+            cumuls[trouDebut] = cumulAvant(trouDebut) + hachages[trouDebut] * puissanceTrou;
+            trouDebut++;
+            trouFin++;
+            puissanceTrou *= BASE;
+            puissanceApres *= BASE;
+        }
+    }
+
+    // Double la capacité ; les tokens après le trou restent en fin de tableau
+    private void agrandir() {
+        int capacite = types.length * 2;
+        types = elargir(types, capacite);
+        debuts = elargir(debuts, capacite);
+        longueurs = elargir(longueurs, capacite);
+        lignes = elargir(lignes, capacite);
+        colonnes = elargir(colonnes, capacite);
+        identifiants = elargir(identifiants, capacite);
+        hachages = elargir(hachages, capacite);
+        cumuls = elargir(cumuls, capacite);
+        trouFin += capacite - capacite / 2;
+    }
+
+    private int[] elargir(int[] t, int capacite) {
+        int[] nouveau = new int[capacite];
+        System.arraycopy(t, 0, nouveau, 0, trouDebut);
+        int apres = t.length - trouFin;
+        System.arraycopy(t, trouFin, nouveau, capacite - apres, apres);
+        return nouveau;
+    }
+
+    private long[] elargir(long[] t, int capacite) {
+        long[] nouveau = new long[capacite];
+        System.arraycopy(t, 0, nouveau, 0, trouDebut);
+        int apres = t.length - trouFin;
+        System.arraycopy(t, trouFin, nouveau, capacite - apres, apres);
+        return nouveau;
+    }
+
+    // ==================== EMPREINTES ====================
+
+    /**
+     * Empreinte des tokens [de, a) : somme des h(i) * BASE^(i - de).
+     * Ne dépend que des types et des textes, pas de la position.
+     */
+    public long empreinte(int de, int a) {
+        int milieu = Math.max(de, Math.min(a, trouDebut));
+        long avant = 0;
+        if (de < milieu) {
+            avant = (cumulAvant(milieu) - cumulAvant(de)) * puissance(BASE_INVERSE, de);
+        }
+        long apres = 0;
+        if (milieu < a) {
+            // Tokens logiques [milieu, a), tous après le trou
+            long somme = cumulApres(physique(milieu)) - cumulApres(physique(a));
+            apres = somme * puissance(BASE, taille() - 1 - milieu) * puissance(BASE, milieu - de);
+        }
+        return avant + apres;
+    }
+
+    /**
+     * Identifiant du token i : inchangé d'une modification à l'autre
+     * tant que le token n'est pas réanalysé
+     */
+    public int identifiant(int i) {
+        return identifiants[physique(i)];
+    }
+
+    // Somme des tokens [0, i) situés avant le trou
+    private long cumulAvant(int i) {
+        return (i == 0) ? 0 : cumuls[i - 1];
+    }
+
+    // Somme depuis l'indice physique p (après le trou) jusqu'à la fin
+    private long cumulApres(int p) {
+        return (p >= types.length) ? 0 : cumuls[p];
+    }
+
+    // Empreinte d'un token : type, caractères puis longueur. Le type est
+    // mélangé seul d'abord : combiné au premier caractère, '9' et '*'
+    // (3 ^ 0x39 == 16 ^ 0x2A) auraient la même empreinte
+    private long hacher(int type, int debut, int longueur) {
+        long h = (0xCBF29CE484222325L ^ type) * 0x100000001B3L;
+        for (int k = debut; k < debut + longueur; k++) {
+            h = (h ^ texte.charAt(k)) * 0x100000001B3L;
+        }
+        h = (h ^ longueur) * 0x100000001B3L;
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 32);
+    }
+
+    private static long puissance(long base, int exposant) {
+        long resultat = 1;
+        while (exposant > 0) {
+            if ((exposant & 1) != 0) resultat *= base;
+            base *= base;
+            exposant >>>= 1;
+        }
+        return resultat;
+    }
+
+    // Inverse modulo 2^64 d'un nombre impair (méthode de Newton)
+    private static long inverse(long impair) {
+        long x = impair;
+        for (int k = 0; k < 6; k++) {
+            x *= 2 - impair * x;
+        }
+        return x;
+    }
+
+    // Indice physique du token i
+    private int physique(int i) {
+        return (i < trouDebut) ? i : i + (trouFin - trouDebut);
+    }
+
+    // Étendue de l'unité lexicale du token i (guillemets compris)
+    private int debutUnite(int i) {
+        return debut(i) - ((type(i) == TypeToken.CHAINE) ? 1 : 0);
+    }
+
+    private int finUnite(int i) {
+        return debut(i) + longueur(i) + ((type(i) == TypeToken.CHAINE) ? 1 : 0);
+    }
+
+    // ==================== ACCÈS ====================
+
+    public int taille() {
+        return types.length - (trouFin - trouDebut);
+    }
+
+    public CharSequence texte() {
+        return texte;
+    }
+
+    // Retourne TypeToken.AUCUN au-delà du dernier token
+    public int type(int i) {
+        return (i < taille()) ? types[physique(i)] : TypeToken.AUCUN;
+    }
+
+    public int debut(int i) {
+        return (i < trouDebut) ? debuts[i] : texte.length() - debuts[physique(i)];
+    }
+
+    public int longueur(int i) {
+        return longueurs[physique(i)];
+    }
+
+    public int ligne(int i) {
+        return (i < trouDebut) ? lignes[i] : texte.lignes() - lignes[physique(i)];
+    }
+
+    public int colonne(int i) {
+        return colonnes[physique(i)];
+    }
+
+    public String valeur(int i) {
+        String fixe = TypeToken.orthographe(type(i));
+        if (fixe != null) return fixe;
+        return texte.subSequence(debut(i), debut(i) + longueur(i)).toString();
+    }
+
+    public boolean valeurEgale(int i, String attendu) {
+        return i < taille()
+            && longueur(i) == attendu.length()
+            && type(i) != TypeToken.EOF
+            && TamponTokens.regionEgale(texte, debut(i), attendu);
+    }
+
+    public Token token(int i) {
+        return new Token(TypeToken.nom(type(i)), valeur(i), ligne(i), colonne(i));
+    }
+
+    public List<Diagnostic> getDiagnostics() {
+        return erreurs;
+    }
+
+    public boolean aDesErreurs() {
+        return !erreurs.isEmpty();
+    }
+
+    /**
+     * Tokens produits par la dernière analyse (tous pour l'analyse initiale)
+     */
+    public int getTokensRelexes() {
+        return tokensRelexes;
+    }
+
+    /**
+     * Caractères parcourus par la dernière analyse
+     */
+    public int getCaracteresRelexes() {
+        return caracteresRelexes;
+    }
+
+    // ==================== CURSEUR ====================
+
+    /**
+     * Lecture des tokens par l'analyseur syntaxique ; à recréer après
+     * chaque modification
+     */
+    public Curseur curseur() {
+        return new Curseur();
+    }
+
+    public final class Curseur implements FluxTokens {
+        private int i;
+
+        @Override
+        public int index() {
+            return i;
+        }
+
+        public void positionner(int index) {
+            i = index;
+        }
+
+        @Override
+        public void avancer() {
+            i++;
+        }
+
+        @Override
+        public boolean horsLimites() {
+            return i >= taille();
+        }
+
+        @Override
+        public int type() {
+            return EditeurLexical.this.type(i);
+        }
+
+        @Override
+        public int peek(int k) {
+            return EditeurLexical.this.type(i + k);
+        }
+
+        @Override
+        public String valeur() {
+            return EditeurLexical.this.valeur(i);
+        }
+
+        @Override
+        public boolean valeurEgale(String attendu) {
+            return EditeurLexical.this.valeurEgale(i, attendu);
+        }
+
+        @Override
+        public int debut() {
+            return (i < taille()) ? EditeurLexical.this.debut(i) : texte.length();
+        }
+
+        @Override
+        public int ligne() {
+            return EditeurLexical.this.ligne(i);
+        }
+
+        @Override
+        public int colonne() {
+            return EditeurLexical.this.colonne(i);
+        }
+    }
+
+    // ==================== TEXTE À TROU ====================
+
+    /**
+     * Texte modifiable : le trou suit le point d'édition, une frappe
+     * ne déplace que les caractères situés entre deux points d'édition
+     */
+    static final class Texte implements CharSequence {
+        private char[] car;
+        private int trouDebut;
+        private int trouFin;
+        private int lignes;          // Nombre de '\n' + 1
+
+        Texte(CharSequence code) {
+            int n = code.length();
+            car = new char[n + BLOC];
+            lignes = 1;
+            for (int i = 0; i < n; i++) {
+                char c = code.charAt(i);
+                car[i] = c;
+                if (c == '\n') lignes++;
+            }
+            trouDebut = n;
+            trouFin = car.length;
+        }
+
+        @Override
+        public int length() {
+            return car.length - (trouFin - trouDebut);
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (index < trouDebut) ? car[index] : car[index + (trouFin - trouDebut)];
+        }
+
+        @Override
+        public CharSequence subSequence(int de, int a) {
+            char[] copie = new char[a - de];
+            for (int k = de; k < a; k++) {
+                copie[k - de] = charAt(k);
+            }
+            return new String(copie);
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+
+        int lignes() {
+            return lignes;
+        }
+
+        // Nombre de '\n' dans [de, a)
+        int compterLignes(int de, int a) {
+            int total = 0;
+            for (int k = de; k < a; k++) {
+                if (charAt(k) == '\n') total++;
+            }
+            return total;
+        }
+
+        // Position du début de la ligne qui contient la position p
+        int debutLigne(int p) {
+            while (p > 0 && charAt(p - 1) != '\n') {
+                p--;
+            }
+            return p;
+        }
+
+        void remplacer(int offset, int supprimes, CharSequence insere) {
+            deplacerTrou(offset);
+            for (int k = 0; k < supprimes; k++) {
+                if (car[trouFin + k] == '\n') lignes--;
+            }
+            trouFin += supprimes;
+
+            int m = insere.length();
+            if (m > trouFin - trouDebut) {
+                agrandir(m);
+            }
+            for (int k = 0; k < m; k++) {
+                char c = insere.charAt(k);
+                car[trouDebut++] = c;
+                if (c == '\n') lignes++;
+            }
+        }
+
+        private void deplacerTrou(int p) {
+            if (p < trouDebut) {
+                int nb = trouDebut - p;
+                System.arraycopy(car, p, car, trouFin - nb, nb);
+                trouDebut = p;
+                trouFin -= nb;
+            } else if (p > trouDebut) {
+                int nb = p - trouDebut;
+                System.arraycopy(car, trouFin, car, trouDebut, nb);
+                trouDebut = p;
+                trouFin += nb;
+            }
+        }
+
+        private void agrandir(int m) {
+            int capacite = Math.max(car.length * 2, length() + m + BLOC);
+            char[] nouveau = new char[capacite];
+            System.arraycopy(car, 0, nouveau, 0, trouDebut);
+            int apres = car.length - trouFin;
+            System.arraycopy(car, trouFin, nouveau, capacite - apres, apres);
+            car = nouveau;
+            trouFin = capacite - apres;
+        }
+    }
+
+    // ==================== MAIN POUR TESTER ====================
+
+    /**
+     * Simule des frappes au milieu du fichier et mesure leur latence
+     */
+    public static void main(String[] args) {
+        String fichier = (args.length > 0) ? args[0] : "test.java";
+        ChargeurSource source = ChargeurSource.charger(fichier);
+        if (source == null) {
+            return;
+        }
+
+        long debut = System.nanoTime();
+        EditeurLexical editeur = new EditeurLexical(source.texte());
+        long initiale = System.nanoTime() - debut;
+        System.out.println(String.format("Analyse initiale : %d tokens en %.3f ms",
+                                        editeur.taille(), initiale / 1e6));
+
+        // Insertion puis suppression d'un caractère, au milieu du texte
+        int frappes = 2000;
+        int milieu = editeur.texte().length() / 2;
+        long tokens = 0;
+        debut = System.nanoTime();
+        for (int k = 0; k < frappes; k++) {
+            tokens += editeur.modifier(milieu, 0, "x");
+            tokens += editeur.modifier(milieu, 1, "");
+        }
+        long duree = System.nanoTime() - debut;
+        System.out.println(String.format("Frappes : %d modifications, %.2f µs et %.1f tokens relexés en moyenne",
+                                        2 * frappes, duree / 1e3 / (2 * frappes),
+                                        (double) tokens / (2 * frappes)));
+        System.out.println("Tokens : " + editeur.taille() + ", erreurs : " + editeur.getDiagnostics().size());
+    }
+}
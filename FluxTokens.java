@@ -0,0 +1,57 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - FLUX DE TOKENS
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+/**
+ * Lecture séquentielle des tokens par l'analyseur syntaxique.
+ * Implémenté par le curseur du tampon complet (TamponTokens) et par
+ * le mode flux de l'analyseur lexical, qui produit les tokens à la demande.
+ */
+public interface FluxTokens {
+
+    /**
+     * Type du token actuel (TypeToken.AUCUN au-delà de EOF)
+     */
+    int type();
+
+    /**
+     * Type du k-ième token après le token actuel (k = 0 : token actuel)
+     */
+    int peek(int k);
+
+    /**
+     * Passe au token suivant
+     */
+    void avancer();
+
+    /**
+     * Numéro d'ordre du token actuel depuis le début
+     */
+    int index();
+
+    /**
+     * Vrai une fois le token EOF dépassé
+     */
+    boolean horsLimites();
+
+    String valeur();
+
+    boolean valeurEgale(String attendu);
+
+    /**
+     * Position du token actuel dans le code source
+     */
+    int debut();
+
+    int ligne();
+
+    int colonne();
+}
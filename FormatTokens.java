@@ -0,0 +1,314 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - FORMAT BINAIRE DES TOKENS
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sortie du lexer en binaire : tokens, table des textes et erreurs
+ * lexicales, pour passer d'une étape (ou d'une machine) à l'autre sans
+ * relexer le source.
+ *
+ * Disposition (entiers positifs de taille variable, 7 bits par octet) :
+ *   "MCTK", version (2 octets), réservé (2 octets)
+ *   longueur du source
+ *   lignes : nombre, puis écart entre débuts de lignes successifs
+ *   textes : nombre, puis longueur UTF-8 et octets de chaque texte distinct
+ *            (identificateurs, nombres, chaînes)
+ *   tokens : nombre, puis pour chacun type (1 octet), écart depuis la fin
+ *            du token précédent et, si son texte varie, numéro du texte
+ *   erreurs : nombre, puis position, ligne, colonne et message UTF-8
+ *
+ * Opérateurs, séparateurs et mots-clés n'ont que leur type : leur texte
+ * est fixe (TypeToken.orthographe). La lecture décode directement le
+ * fichier projeté en mémoire et rejoue les tokens dans un TamponTokens
+ * sur un source reconstitué (textes des tokens aux mêmes positions, sauts
+ * de ligne aux mêmes endroits, commentaires remplacés par des espaces) :
+ * positions, lignes, colonnes et valeurs sont celles de l'analyse d'origine.
+ */
+public final class FormatTokens {
+
+    // ==================== ATTRIBUTS ====================
+
+    public static final int VERSION = 1;
+    private static final int MAGIE = 0x4D43544B;            // "MCTK"
+
+    private FormatTokens() {
+    }
+
+    // ==================== ÉCRITURE ====================
+
+    /**
+     * Écrit les tokens et les erreurs d'un lexer qui a terminé son analyse
+     */
+    public static long ecrire(AnalyseurLexical lexer, Path fichier) throws IOException {
+        try (OutputStream sortie = Files.newOutputStream(fichier)) {
+            return ecrire(lexer.getTampon(), lexer.getDiagnostics(), sortie);
+        }
+    }
+
+    /**
+     * Écrit un tampon complet et ses erreurs lexicales.
+     * Retourne le nombre d'octets écrits.
+     */
+    public static long ecrire(TamponTokens tampon, List<Diagnostic> erreurs, OutputStream sortie)
+            throws IOException {
+        CharSequence source = tampon.source();
+        Octets out = new Octets(64 + 2 * tampon.taille());
+        out.entier32(MAGIE);
+        out.octet(VERSION >>> 8);
+        out.octet(VERSION);
+        out.octet(0);
+        out.octet(0);
+        out.entier(source.length());
+
+        // Lignes : index complet du source
+        IndexLignes lignes = tampon.lignes();
+        int nombreLignes = lignes.lignes();
+        out.entier(nombreLignes);
+        for (int l = 2; l <= nombreLignes; l++) {
+            out.entier(lignes.debutLigne(l) - lignes.debutLigne(l - 1));
+        }
+
+        // Textes distincts, numérotés dans l'ordre d'apparition
+        TableSymboles textes = new TableSymboles();
+        int[] numeros = new int[tampon.taille()];
+        for (int i = 0; i < tampon.taille(); i++) {
+            numeros[i] = textuel(tampon.type(i))
+                       ? textes.symbole(source, tampon.debut(i), tampon.debut(i) + tampon.longueur(i))
+                       : TableSymboles.AUCUN;
+        }
+        out.entier(textes.taille());
+        for (int s = 0; s < textes.taille(); s++) {
+            out.texte(textes.nom(s));
+        }
+
+        // Tokens
+        out.entier(tampon.taille());
+        int fin = 0;
+        for (int i = 0; i < tampon.taille(); i++) {
+            out.octet(tampon.type(i));
+            out.entier(tampon.debut(i) - fin);
+            if (numeros[i] != TableSymboles.AUCUN) {
+                out.entier(numeros[i]);
+            }
+            fin = tampon.debut(i) + tampon.longueur(i);
+        }
+
+        // Erreurs lexicales
+        out.entier(erreurs.size());
+        for (Diagnostic d : erreurs) {
+            out.entier(d.getPosition());
+            out.entier(d.getLigne());
+            out.entier(d.getColonne());
+            out.texte(d.getMessage());
+        }
+
+        out.writeTo(sortie);
+        return out.size();
+    }
+
+    // Types dont le texte n'est pas fixe
+    private static boolean textuel(int type) {
+        return type != TypeToken.EOF && TypeToken.orthographe(type) == null;
+    }
+
+    // Type que cette version sait rejouer : texte enregistré, orthographe fixe ou EOF
+    private static boolean connu(int type) {
+        return type < TypeToken.NOMBRE_TYPES
+            && (textuel(type) || type == TypeToken.EOF || TypeToken.orthographe(type) != null);
+    }
+
+    // Longueur d'un token dont le texte est fixe (EOF : aucun caractère)
+    private static int longueurFixe(int type) {
+        return (type == TypeToken.EOF) ? 0 : TypeToken.orthographe(type).length();
+    }
+
+    /**
+     * Tampon d'écriture avec entiers de taille variable
+     */
+    private static final class Octets extends ByteArrayOutputStream {
+        Octets(int capacite) {
+            super(capacite);
+        }
+
+        void octet(int b) {
+            write(b);
+        }
+
+        void entier32(int n) {
+            write(n >>> 24);
+            write(n >>> 16);
+            write(n >>> 8);
+            write(n);
+        }
+
+        // 7 bits par octet, bit de poids fort : un octet suit
+        void entier(int n) {
+            while ((n & ~0x7F) != 0) {
+                write((n & 0x7F) | 0x80);
+                n >>>= 7;
+            }
+            write(n);
+        }
+
+        void texte(String s) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            entier(utf8.length);
+            write(utf8, 0, utf8.length);
+        }
+    }
+
+    // ==================== LECTURE ====================
+
+    /**
+     * Tokens relus : tampon prêt pour AnalyseurSyntaxique et erreurs
+     * lexicales d'origine
+     */
+    public static final class Lecture {
+        private final TamponTokens tampon;
+        private final List<Diagnostic> erreurs;
+
+        Lecture(TamponTokens tampon, List<Diagnostic> erreurs) {
+            this.tampon = tampon;
+            this.erreurs = erreurs;
+        }
+
+        public TamponTokens getTampon() {
+            return tampon;
+        }
+
+        public List<Diagnostic> getDiagnostics() {
+            return erreurs;
+        }
+
+        public boolean aDesErreurs() {
+            return !erreurs.isEmpty();
+        }
+    }
+
+    /**
+     * Projette le fichier en mémoire et rejoue ses tokens
+     */
+    public static Lecture lire(Path fichier) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            return lire(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    /**
+     * Rejoue des tokens écrits par ecrire(), lus sur place dans octets
+     */
+    public static Lecture lire(ByteBuffer octets) throws IOException {
+        try {
+            ByteBuffer in = octets.duplicate();
+            if (in.getInt() != MAGIE) {
+                throw new IOException("Ce n'est pas un fichier de tokens");
+            }
+            int version = (in.get() & 0xFF) << 8 | (in.get() & 0xFF);
+            if (version != VERSION) {
+                throw new IOException("Version " + version + " du format de tokens non prise en charge (attendue : "
+                                      + VERSION + ")");
+            }
+            in.getShort();
+            int longueur = entier(in);
+
+            // Source reconstitué : espaces, sauts de ligne, puis textes des tokens
+            char[] texte = new char[longueur];
+            Arrays.fill(texte, ' ');
+            int nombreLignes = entier(in);
+            int debutLigne = 0;
+            for (int l = 2; l <= nombreLignes; l++) {
+                debutLigne += entier(in);
+                texte[debutLigne - 1] = '\n';
+            }
+
+            String[] textes = new String[entier(in)];
+            for (int s = 0; s < textes.length; s++) {
+                textes[s] = texte(in);
+            }
+
+            int nombre = entier(in);
+            int[] types = new int[nombre];
+            int[] debuts = new int[nombre];
+            int[] longueurs = new int[nombre];
+            int fin = 0;
+            for (int i = 0; i < nombre; i++) {
+                int type = in.get() & 0xFF;
+                if (!connu(type)) {
+                    throw new IOException("Type de token inconnu : " + type);
+                }
+                int debut = fin + entier(in);
+                String valeur = textuel(type) ? textes[entier(in)] : TypeToken.orthographe(type);
+                int n = textuel(type) ? valeur.length() : longueurFixe(type);
+                valeur.getChars(0, n, texte, debut);
+                if (type == TypeToken.CHAINE) {
+                    texte[debut - 1] = '"';
+                    if (debut + n < longueur) texte[debut + n] = '"';
+                }
+                types[i] = type;
+                debuts[i] = debut;
+                longueurs[i] = n;
+                fin = debut + n;
+            }
+
+            TamponTokens tampon = new TamponTokens(CharBuffer.wrap(texte));
+            for (int i = 0; i < nombre; i++) {
+                tampon.ajouter(types[i], debuts[i], longueurs[i]);
+            }
+
+            List<Diagnostic> erreurs = new ArrayList<>();
+            for (int k = entier(in); k > 0; k--) {
+                int position = entier(in);
+                int ligne = entier(in);
+                int colonne = entier(in);
+                erreurs.add(new Diagnostic(Diagnostic.LEXICAL, position, ligne, colonne, texte(in)));
+            }
+            return new Lecture(tampon, erreurs);
+
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                 | NegativeArraySizeException e) {
+            throw new IOException("Fichier de tokens tronqué ou corrompu", e);
+        }
+    }
+
+    private static int entier(ByteBuffer in) throws IOException {
+        int n = 0;
+        for (int decalage = 0; decalage < 35; decalage += 7) {
+            int b = in.get() & 0xFF;
+            n |= (b & 0x7F) << decalage;
+            if ((b & 0x80) == 0) return n;
+        }
+        throw new IOException("Entier trop long");
+    }
+
+    // Texte UTF-8 décodé directement depuis la projection
+    private static String texte(ByteBuffer in) throws IOException {
+        int n = entier(in);
+        ByteBuffer utf8 = in.slice();
+        utf8.limit(n);
+        in.position(in.position() + n);
+        return StandardCharsets.UTF_8.decode(utf8).toString();
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - GÉNÉRATEUR DE PROGRAMMES
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Programmes de test synthétiques, reproductibles (même graine, mêmes
+ * réglages : même texte), au format de Test.java : une classe, un main
+ * et des instructions de la grammaire.
+ *
+ * Réglages : taille visée en caractères, profondeur maximale des blocs,
+ * densité de commentaires (probabilité par instruction), mélange
+ * instructions simples / while / if / for et taux d'erreurs. Sans
+ * erreur, le programme est accepté par l'analyseur et exécutable (types
+ * respectés, chaque while a son compteur borné). Avec erreurs, une
+ * instruction sur 1/taux est abîmée : ';' ou ')' manquant, caractère
+ * invalide, facteur absent, nom de variable absent, '&' seul.
+ *
+ * Usage : GenerateurProgrammes [--taille=N] [--graine=S] [--profondeur=P]
+ *         [--commentaires=D] [--melange=S,W,I,F] [--erreurs=T] [sortie]
+ * (sans sortie, le programme est écrit sur la console)
+ */
+public final class GenerateurProgrammes {
+
+    // ==================== RÉGLAGES ====================
+
+    private final long graine;
+    private int taille = 100_000;
+    private int profondeur = 4;
+    private double commentaires = 0.1;
+    private int[] poids = {6, 2, 1, 1};         // simples, while, if, for
+    private double erreurs;
+
+    // ==================== ÉTAT DE LA GÉNÉRATION ====================
+
+    private SplittableRandom aleatoire;
+    private StringBuilder sb;
+    private int compteurs;                      // Variables créées (noms uniques)
+    private int erreursInjectees;
+
+    // Variables visibles, par type (int et boolean / double)
+    private final List<String> entiers = new ArrayList<>();
+    private final List<String> decimaux = new ArrayList<>();
+
+    private static final String[] MOTS = {
+        "compteur", "boucle", "tant", "que", "valeur", "borne", "somme", "pas",
+        "vérifie", "la", "condition", "avant", "chaque", "tour", "résultat", "attendu"
+    };
+
+    public GenerateurProgrammes(long graine) {
+        this.graine = graine;
+    }
+
+    /**
+     * Taille visée du programme, en caractères (dépassée d'au plus une instruction)
+     */
+    public void setTaille(int caracteres) {
+        this.taille = caracteres;
+    }
+
+    /**
+     * Profondeur maximale d'imbrication des blocs while/if/for
+     */
+    public void setProfondeur(int profondeur) {
+        this.profondeur = profondeur;
+    }
+
+    /**
+     * Probabilité d'un commentaire (ligne ou bloc) avant chaque instruction
+     */
+    public void setCommentaires(double densite) {
+        this.commentaires = densite;
+    }
+
+    /**
+     * Poids relatifs des instructions simples, while, if et for
+     */
+    public void setMelange(int simples, int whiles, int ifs, int fors) {
+        this.poids = new int[] {simples, whiles, ifs, fors};
+    }
+
+    /**
+     * Probabilité qu'une instruction soit abîmée (0 : programme valide)
+     */
+    public void setErreurs(double taux) {
+        this.erreurs = taux;
+    }
+
+    /**
+     * Erreurs injectées par le dernier appel à generer()
+     */
+    public int getErreursInjectees() {
+        return erreursInjectees;
+    }
+
+    // ==================== GÉNÉRATION ====================
+
+    public String generer() {
+        aleatoire = new SplittableRandom(graine);
+        sb = new StringBuilder(taille + 256);
+        compteurs = 0;
+        erreursInjectees = 0;
+        entiers.clear();
+        decimaux.clear();
+
+        sb.append("public class Genere").append(graine).append(" {\n");
+        sb.append("    public static void main(String[] args) {\n");
+        while (sb.length() < taille) {
+            instruction(2, 0);
+        }
+        sb.append("    }\n}\n");
+        return sb.toString();
+    }
+
+    private void instruction(int indentation, int niveau) {
+        if (aleatoire.nextDouble() < commentaires) {
+            commentaire(indentation);
+        }
+        boolean abimee = erreurs > 0 && aleatoire.nextDouble() < erreurs;
+        if (abimee) {
+            erreursInjectees++;
+        }
+
+        int total = poids[0] + (niveau < profondeur ? poids[1] + poids[2] + poids[3] : 0);
+        int tirage = aleatoire.nextInt(Math.max(total, 1));
+        if (tirage < poids[0] || total == poids[0]) {
+            simple(indentation, abimee);
+        } else if ((tirage -= poids[0]) < poids[1]) {
+            boucle(indentation, niveau, abimee);
+        } else if (tirage - poids[1] < poids[2]) {
+            bloc(indentation, niveau, "if (" + condition() + ")", abimee);
+        } else {
+            String i = "i" + compteurs++;
+            bloc(indentation, niveau,
+                 "for (int " + i + " = 0; " + i + " < " + aleatoire.nextInt(1, 10) + "; " + i + "++)", abimee);
+        }
+    }
+
+    /**
+     * Déclaration, affectation ou ++/-- ; une déclaration sur trois au
+     * moins tant qu'il y a peu de variables
+     */
+    private void simple(int indentation, boolean abimee) {
+        indenter(indentation);
+        int tirage = aleatoire.nextInt(entiers.size() + decimaux.size() < 4 ? 3 : 10);
+        if (tirage < 3) {
+            boolean decimal = aleatoire.nextInt(3) == 0;
+            String nom = "v" + compteurs++;
+            String valeur = expression(decimal, 0);
+            sb.append(decimal ? "double " : "int ");
+            if (abimee) {
+                // Nom de variable absent, ou facteur absent
+                if (aleatoire.nextBoolean()) sb.append("= ").append(valeur).append(";\n");
+                else sb.append(nom).append(" = * ").append(valeur).append(";\n");
+                return;
+            }
+            sb.append(nom).append(" = ").append(valeur).append(";\n");
+            (decimal ? decimaux : entiers).add(nom);
+        } else if (tirage < 8) {
+            boolean decimal = !decimaux.isEmpty() && (entiers.isEmpty() || aleatoire.nextInt(3) == 0);
+            sb.append(choisir(decimal ? decimaux : entiers)).append(" = ").append(expression(decimal, 0));
+            sb.append(abimee ? "\n" : ";\n");                           // ';' manquant
+        } else {
+            boolean decimal = !decimaux.isEmpty() && (entiers.isEmpty() || aleatoire.nextInt(3) == 0);
+            sb.append(choisir(decimal ? decimaux : entiers)).append(aleatoire.nextBoolean() ? "++" : "--");
+            sb.append(abimee ? " @;\n" : ";\n");                        // Caractère invalide
+        }
+    }
+
+    /**
+     * while (c < borne) { c++; ... } : compteur déclaré juste avant, la
+     * boucle termine toujours
+     */
+    private void boucle(int indentation, int niveau, boolean abimee) {
+        String compteur = "c" + compteurs++;
+        indenter(indentation);
+        sb.append("int ").append(compteur).append(" = 0;\n");
+        indenter(indentation);
+        sb.append("while ").append(abimee ? "" : "(")                   // '(' manquant
+          .append(compteur).append(" < ").append(aleatoire.nextInt(1, 6)).append(") {\n");
+        indenter(indentation + 1);
+        sb.append(compteur).append("++;\n");
+        corps(indentation, niveau);
+    }
+
+    private void bloc(int indentation, int niveau, String entete, boolean abimee) {
+        indenter(indentation);
+        sb.append(abimee ? entete.substring(0, entete.length() - 1) : entete).append(" {\n");  // ')' manquant
+        corps(indentation, niveau);
+    }
+
+    // Instructions du bloc (portée propre), puis '}'
+    private void corps(int indentation, int niveau) {
+        int sauveEntiers = entiers.size();
+        int sauveDecimaux = decimaux.size();
+        int nombre = aleatoire.nextInt(1, 6);
+        for (int k = 0; k < nombre; k++) {
+            instruction(indentation + 1, niveau + 1);
+        }
+        entiers.subList(sauveEntiers, entiers.size()).clear();
+        decimaux.subList(sauveDecimaux, decimaux.size()).clear();
+        indenter(indentation);
+        sb.append("}\n");
+    }
+
+    /**
+     * Expression du type demandé (un int n'utilise que des int) ; pas de
+     * division par une variable, qui pourrait valoir zéro
+     */
+    private String expression(boolean decimal, int niveau) {
+        if (niveau > 2 || aleatoire.nextInt(3) == 0) {
+            return facteur(decimal);
+        }
+        char operateur = "+-*/%+-*".charAt(aleatoire.nextInt(8));
+        String gauche = expression(decimal, niveau + 1);
+        String droite = (operateur == '/' || operateur == '%')
+                ? String.valueOf(aleatoire.nextInt(1, 10)) : expression(decimal, niveau + 1);
+        String expression = gauche + " " + operateur + " " + droite;
+        return aleatoire.nextInt(4) == 0 ? "(" + expression + ")" : expression;
+    }
+
+    private String facteur(boolean decimal) {
+        int tirage = aleatoire.nextInt(3);
+        if (tirage == 0 && !entiers.isEmpty()) {
+            return choisir(entiers);
+        }
+        if (tirage == 1 && decimal && !decimaux.isEmpty()) {
+            return choisir(decimaux);
+        }
+        return decimal && aleatoire.nextBoolean()
+                ? aleatoire.nextInt(100) + "." + aleatoire.nextInt(10)
+                : String.valueOf(aleatoire.nextInt(100));
+    }
+
+    // Condition d'un if : jamais évaluée (if est ignoré), seulement lue
+    private String condition() {
+        String gauche = entiers.isEmpty() ? "0" : choisir(entiers);
+        String[] comparaisons = {"<", "<=", ">", ">=", "==", "!=", "&&", "||"};
+        return gauche + " " + comparaisons[aleatoire.nextInt(comparaisons.length)] + " " + expression(false, 1);
+    }
+
+    private void commentaire(int indentation) {
+        indenter(indentation);
+        int mots = aleatoire.nextInt(3, 12);
+        boolean bloc = aleatoire.nextInt(3) == 0;
+        sb.append(bloc ? "/*" : "//");
+        for (int k = 0; k < mots; k++) {
+            sb.append(' ').append(MOTS[aleatoire.nextInt(MOTS.length)]);
+        }
+        sb.append(bloc ? " */\n" : "\n");
+    }
+
+    private String choisir(List<String> noms) {
+        return noms.get(aleatoire.nextInt(noms.size()));
+    }
+
+    private void indenter(int niveau) {
+        for (int k = 0; k < niveau; k++) {
+            sb.append("    ");
+        }
+    }
+
+    // ==================== MAIN ====================
+
+    /**
+     * Réglages communs aux outils de mesure : --taille, --graine,
+     * --profondeur, --commentaires, --melange, --erreurs
+     */
+    static GenerateurProgrammes depuisArguments(String[] args) {
+        long graine = 1;
+        for (String a : args) {
+            if (a.startsWith("--graine=")) graine = Long.parseLong(a.substring("--graine=".length()));
+        }
+        GenerateurProgrammes generateur = new GenerateurProgrammes(graine);
+        for (String a : args) {
+            if (a.startsWith("--taille=")) {
+                generateur.setTaille(Integer.parseInt(a.substring("--taille=".length())));
+            } else if (a.startsWith("--profondeur=")) {
+                generateur.setProfondeur(Integer.parseInt(a.substring("--profondeur=".length())));
+            } else if (a.startsWith("--commentaires=")) {
+                generateur.setCommentaires(Double.parseDouble(a.substring("--commentaires=".length())));
+            } else if (a.startsWith("--erreurs=")) {
+                generateur.setErreurs(Double.parseDouble(a.substring("--erreurs=".length())));
+            } else if (a.startsWith("--melange=")) {
+                String[] p = a.substring("--melange=".length()).split(",");
+                generateur.setMelange(Integer.parseInt(p[0]), Integer.parseInt(p[1]),
+                                      Integer.parseInt(p[2]), Integer.parseInt(p[3]));
+            }
+        }
+        return generateur;
+    }
+
+    public static void main(String[] args) throws IOException {
+        GenerateurProgrammes generateur = depuisArguments(args);
+        String programme = generateur.generer();
+
+        String sortie = null;
+        for (String a : args) {
+            if (!a.startsWith("--")) sortie = a;
+        }
+        if (sortie == null) {
+            System.out.print(programme);
+            return;
+        }
+        Files.write(Paths.get(sortie), programme.getBytes(StandardCharsets.UTF_8));
+        System.out.println(String.format("%s : %d caractères, %d erreurs injectées",
+                                        sortie, programme.length(), generateur.getErreursInjectees()));
+    }
+}
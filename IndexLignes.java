@@ -0,0 +1,121 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - INDEX DES LIGNES
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.util.Arrays;
+
+/**
+ * Début de chaque ligne d'un texte, pour retrouver la ligne et la colonne
+ * d'une position par recherche dichotomique. Le lexer ne suit ainsi que
+ * des positions : lignes et colonnes ne sont calculées que lorsqu'un
+ * diagnostic ou un affichage les demande.
+ *
+ * L'index est construit paresseusement, jusqu'à la position la plus
+ * lointaine demandée : un texte sans erreur n'est jamais parcouru.
+ */
+public final class IndexLignes {
+
+    // ==================== ATTRIBUTS ====================
+
+    private final CharSequence texte;
+    private final int premiereLigne;         // Numéro de la ligne qui commence en debuts[0]
+    private int[] debuts;                    // Début des lignes connues, croissants
+    private int nombre;                      // Lignes connues
+    private int parcouru;                    // Texte examiné : [debuts[0], parcouru)
+
+    // ==================== CONSTRUCTEUR ====================
+
+    public IndexLignes(CharSequence texte) {
+        this(texte, 0, 1, 0);
+    }
+
+    /**
+     * Index d'une partie du texte : la ligne numéro ligne commence en
+     * debutLigne et aucun saut de ligne n'apparaît entre debutLigne et
+     * position. Seules les positions >= debutLigne sont résolues.
+     */
+    public IndexLignes(CharSequence texte, int position, int ligne, int debutLigne) {
+        this.texte = texte;
+        this.premiereLigne = ligne;
+        this.debuts = new int[64];
+        this.debuts[0] = debutLigne;
+        this.nombre = 1;
+        this.parcouru = position;
+    }
+
+    // ==================== RÉSOLUTION ====================
+
+    /**
+     * Numéro de ligne (à partir de 1) de la position
+     */
+    public int ligne(int position) {
+        return premiereLigne + rang(position);
+    }
+
+    /**
+     * Numéro de colonne (à partir de 1) de la position
+     */
+    public int colonne(int position) {
+        return position - debuts[rang(position)] + 1;
+    }
+
+    /**
+     * Nombre de lignes indexées (le texte entier une fois parcouru)
+     */
+    public int lignes() {
+        etendre(texte.length());
+        return premiereLigne - 1 + nombre;
+    }
+
+    /**
+     * Position du début de la ligne numéro ligne (déjà indexée)
+     */
+    public int debutLigne(int ligne) {
+        return debuts[ligne - premiereLigne];
+    }
+
+    // Rang de la dernière ligne qui commence au plus à la position
+    private int rang(int position) {
+        etendre(position);
+        int bas = 0;
+        int haut = nombre - 1;
+        while (bas < haut) {
+            int milieu = (bas + haut + 1) >>> 1;
+            if (debuts[milieu] <= position) {
+                bas = milieu;
+            } else {
+                haut = milieu - 1;
+            }
+        }
+        return bas;
+    }
+
+    // Indexe les sauts de ligne avant la position
+    private void etendre(int position) {
+        int fin = Math.min(position, texte.length());
+        for (int p = parcouru; p < fin; p++) {
+            if (texte.charAt(p) == '\n') {
+                if (nombre == debuts.length) {
+                    debuts = Arrays.copyOf(debuts, 2 * nombre);
+                }
+                debuts[nombre++] = p + 1;
+            }
+        }
+        parcouru = Math.max(parcouru, fin);
+    }
+
+    /**
+     * Octets réservés par l'index
+     */
+    public long octetsReserves() {
+        return 16 + 4L * debuts.length;
+    }
+}
@@ -0,0 +1,433 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - MACHINE VIRTUELLE
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.util.Arrays;
+
+/**
+ * Exécute un Bytecode : une boucle de dispatch sur le code d'instruction
+ * (switch dense, compilé en table de sauts), registres dans deux
+ * tableaux int[] et double[] alloués une fois. Un tour de boucle while
+ * n'alloue rien.
+ *
+ * Usage : MachineVirtuelle [--bytecode] [--limite=N] [--optimiser] [fichier]
+ * (défaut : test.java ; --limite borne le nombre de tours de boucle,
+ * --optimiser passe l'arbre à l'Optimiseur avant la compilation)
+ */
+public final class MachineVirtuelle {
+
+    // ==================== ATTRIBUTS ====================
+
+    private final Bytecode programme;
+    private final int[] code;
+    private final int[] i;              // Registres entiers
+    private final double[] d;           // Registres décimaux
+    private long limite;                // Tours de boucle autorisés
+    private long restant;
+    private Diagnostic erreur;
+
+    // ==================== CONSTRUCTEUR ====================
+
+    public MachineVirtuelle(Bytecode programme) {
+        this.programme = programme;
+        this.code = programme.code;
+        this.i = new int[programme.registresI];
+        this.d = new double[programme.registresD];
+        this.limite = Long.MAX_VALUE;
+    }
+
+    /**
+     * Nombre maximal de sauts arrière (tours de boucle) par exécution
+     */
+    public void setLimite(long limite) {
+        this.limite = limite;
+    }
+
+    // ==================== EXÉCUTION ====================
+
+    /**
+     * Exécute le programme depuis le début ; false en cas d'erreur
+     * d'exécution (voir getErreur)
+     */
+    public boolean executer() {
+        Arrays.fill(i, 0);
+        Arrays.fill(d, 0);
+        erreur = null;
+        restant = limite;
+
+        final int[] code = this.code;
+        final int[] i = this.i;
+        final double[] d = this.d;
+        final double[] constantes = programme.constantes;
+        int pc = 0;
+        try {
+            while (true) {
+                switch (code[pc]) {
+                    case Bytecode.FIN:
+                        return true;
+                    case Bytecode.CONST_I:
+                        i[code[pc + 1]] = code[pc + 2];
+                        pc += 4;
+                        break;
+                    case Bytecode.CONST_D:
+                        d[code[pc + 1]] = constantes[code[pc + 2]];
+                        pc += 4;
+                        break;
+                    case Bytecode.COPIE_I:
+                        i[code[pc + 1]] = i[code[pc + 2]];
+                        pc += 4;
+                        break;
+                    case Bytecode.COPIE_D:
+                        d[code[pc + 1]] = d[code[pc + 2]];
+                        pc += 4;
+                        break;
+                    case Bytecode.I_VERS_D:
+                        d[code[pc + 1]] = i[code[pc + 2]];
+                        pc += 4;
+                        break;
+                    case Bytecode.INC_I:
+                        i[code[pc + 1]] += code[pc + 2];
+                        pc += 4;
+                        break;
+                    case Bytecode.INC_D:
+                        d[code[pc + 1]] += code[pc + 2];
+                        pc += 4;
+                        break;
+                    case Bytecode.ADD_I:
+                        i[code[pc + 1]] = i[code[pc + 2]] + i[code[pc + 3]];
+                        pc += 4;
+                        break;
+                    case Bytecode.SUB_I:
+                        i[code[pc + 1]] = i[code[pc + 2]] - i[code[pc + 3]];
+                        pc += 4;
+                        break;
+                    case Bytecode.MUL_I:
+                        i[code[pc + 1]] = i[code[pc + 2]] * i[code[pc + 3]];
+                        pc += 4;
+                        break;
+                    case Bytecode.DIV_I:
+                        i[code[pc + 1]] = i[code[pc + 2]] / i[code[pc + 3]];
+                        pc += 4;
+                        break;
+                    case Bytecode.MOD_I:
+                        i[code[pc + 1]] = i[code[pc + 2]] % i[code[pc + 3]];
+                        pc += 4;
+                        break;
+                    case Bytecode.ADD_D:
+                        d[code[pc + 1]] = d[code[pc + 2]] + d[code[pc + 3]];
+                        pc += 4;
+                        break;
+                    case Bytecode.SUB_D:
+                        d[code[pc + 1]] = d[code[pc + 2]] - d[code[pc + 3]];
+                        pc += 4;
+                        break;
+                    case Bytecode.MUL_D:
+                        d[code[pc + 1]] = d[code[pc + 2]] * d[code[pc + 3]];
+                        pc += 4;
+                        break;
+                    case Bytecode.DIV_D:
+                        d[code[pc + 1]] = d[code[pc + 2]] / d[code[pc + 3]];
+                        pc += 4;
+                        break;
+                    case Bytecode.MOD_D:
+                        d[code[pc + 1]] = d[code[pc + 2]] % d[code[pc + 3]];
+                        pc += 4;
+                        break;
+                    case Bytecode.SAUT:
+                        pc = sauter(pc);
+                        break;
+                    case Bytecode.SI_VRAI_I:
+                        pc = (i[code[pc + 1]] != 0) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_FAUX_I:
+                        pc = (i[code[pc + 1]] == 0) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_VRAI_D:
+                        pc = (d[code[pc + 1]] != 0) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_FAUX_D:
+                        pc = (d[code[pc + 1]] == 0) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_I + Bytecode.LT:
+                        pc = (i[code[pc + 1]] < i[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_I + Bytecode.LE:
+                        pc = (i[code[pc + 1]] <= i[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_I + Bytecode.GT:
+                        pc = (i[code[pc + 1]] > i[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_I + Bytecode.GE:
+                        pc = (i[code[pc + 1]] >= i[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_I + Bytecode.EQ:
+                        pc = (i[code[pc + 1]] == i[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_I + Bytecode.NE:
+                        pc = (i[code[pc + 1]] != i[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_IK + Bytecode.LT:
+                        pc = (i[code[pc + 1]] < code[pc + 2]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_IK + Bytecode.LE:
+                        pc = (i[code[pc + 1]] <= code[pc + 2]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_IK + Bytecode.GT:
+                        pc = (i[code[pc + 1]] > code[pc + 2]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_IK + Bytecode.GE:
+                        pc = (i[code[pc + 1]] >= code[pc + 2]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_IK + Bytecode.EQ:
+                        pc = (i[code[pc + 1]] == code[pc + 2]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_IK + Bytecode.NE:
+                        pc = (i[code[pc + 1]] != code[pc + 2]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_D + Bytecode.LT:
+                        pc = (d[code[pc + 1]] < d[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_D + Bytecode.LE:
+                        pc = (d[code[pc + 1]] <= d[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_D + Bytecode.GT:
+                        pc = (d[code[pc + 1]] > d[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_D + Bytecode.GE:
+                        pc = (d[code[pc + 1]] >= d[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_D + Bytecode.EQ:
+                        pc = (d[code[pc + 1]] == d[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SI_D + Bytecode.NE:
+                        pc = (d[code[pc + 1]] != d[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SAUF_D + Bytecode.LT:
+                        pc = !(d[code[pc + 1]] < d[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SAUF_D + Bytecode.LE:
+                        pc = !(d[code[pc + 1]] <= d[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SAUF_D + Bytecode.GT:
+                        pc = !(d[code[pc + 1]] > d[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SAUF_D + Bytecode.GE:
+                        pc = !(d[code[pc + 1]] >= d[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SAUF_D + Bytecode.EQ:
+                        pc = !(d[code[pc + 1]] == d[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    case Bytecode.SAUF_D + Bytecode.NE:
+                        pc = !(d[code[pc + 1]] != d[code[pc + 2]]) ? sauter(pc) : pc + 4;
+                        break;
+                    default:
+                        throw new IllegalStateException("Code d'instruction inconnu : " + code[pc]);
+                }
+            }
+        } catch (ArithmeticException e) {
+            erreur = new Diagnostic(Diagnostic.EXECUTION, 0, ligne(pc), 0, "Division par zéro");
+        } catch (LimiteAtteinte e) {
+            erreur = new Diagnostic(Diagnostic.EXECUTION, 0, ligne(pc), 0,
+                                    "Limite de %d tours de boucle atteinte", limite);
+        }
+        return false;
+    }
+
+    /**
+     * Cible du saut en pc ; un saut arrière compte un tour de boucle
+     */
+    private int sauter(int pc) {
+        int cible = code[pc + 3];
+        if (cible <= pc && --restant < 0) {
+            throw new LimiteAtteinte();
+        }
+        return cible;
+    }
+
+    private static final class LimiteAtteinte extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        LimiteAtteinte() {
+            super(null, null, false, false);
+        }
+    }
+
+    private int ligne(int pc) {
+        return programme.lignes[pc / Bytecode.TAILLE_INSTRUCTION];
+    }
+
+    // ==================== RÉSULTATS ====================
+
+    /**
+     * Tours de boucle effectués par la dernière exécution
+     */
+    public long getTours() {
+        return limite - Math.max(restant, 0);
+    }
+
+    public Diagnostic getErreur() {
+        return erreur;
+    }
+
+    // Registres après l'exécution (comparaison avec d'autres moteurs)
+    int[] registresEntiers() {
+        return i;
+    }
+
+    double[] registresDecimaux() {
+        return d;
+    }
+
+    /**
+     * Valeur d'une variable de main après l'exécution (null si inconnue)
+     */
+    public String valeur(String nom) {
+        for (int k = 0; k < programme.variables.length; k++) {
+            if (programme.variables[k].equals(nom)) {
+                return valeurRegistre(programme.registres[k]);
+            }
+        }
+        return null;
+    }
+
+    private String valeurRegistre(int operande) {
+        return valeurRegistre(operande, i, d);
+    }
+
+    private static String valeurRegistre(int operande, int[] i, double[] d) {
+        int r = CompilateurBytecode.registre(operande);
+        return (CompilateurBytecode.type(operande) == CompilateurBytecode.ENTIER)
+                ? String.valueOf(i[r]) : String.valueOf(d[r]);
+    }
+
+    /**
+     * Affiche les variables de main et leur valeur finale
+     */
+    public void afficherVariables() {
+        afficherVariables(programme, i, d);
+    }
+
+    /**
+     * Variables de main lues dans des registres (ceux de la machine ou
+     * ceux rendus par une classe de CompilateurJVM)
+     */
+    static void afficherVariables(Bytecode programme, int[] i, double[] d) {
+        System.out.println("=".repeat(70));
+        System.out.println("                  VARIABLES APRÈS EXÉCUTION");
+        System.out.println("=".repeat(70));
+        for (int k = 0; k < programme.variables.length; k++) {
+            System.out.println(String.format("%-20s = %s", programme.variables[k],
+                                            valeurRegistre(programme.registres[k], i, d)));
+        }
+        System.out.println("=".repeat(70) + "\n");
+    }
+
+    // ==================== MAIN ====================
+
+    public static void main(String[] args) {
+        System.out.println("\n╔════════════════════════════════════════════════════╗");
+        System.out.println("║   MINI-COMPILATEUR JAVA - MACHINE VIRTUELLE       ║");
+        System.out.println("║   Étudiant : Malek Leiticia                       ║");
+        System.out.println("║   Instruction : WHILE (Descente Récursive)        ║");
+        System.out.println("╚════════════════════════════════════════════════════╝\n");
+
+        String fichier = "test.java";
+        boolean listing = false;
+        boolean optimiser = false;
+        long limite = Long.MAX_VALUE;
+        for (String a : args) {
+            if (a.equals("--bytecode")) listing = true;
+            else if (a.equals("--optimiser")) optimiser = true;
+            else if (a.startsWith("--limite=")) limite = Long.parseLong(a.substring("--limite=".length()));
+            else if (!a.startsWith("--")) fichier = a;
+        }
+
+        Bytecode programme = compiler(fichier, optimiser);
+        if (programme == null) {
+            return;
+        }
+        System.out.println("Bytecode : " + programme.taille() + " instructions, "
+                           + programme.getRegistresI() + " registres int, "
+                           + programme.getRegistresD() + " registres double\n");
+        if (listing) {
+            System.out.println(programme.desassembler());
+        }
+
+        MachineVirtuelle machine = new MachineVirtuelle(programme);
+        machine.setLimite(limite);
+        long debut = System.nanoTime();
+        boolean termine = machine.executer();
+        long duree = System.nanoTime() - debut;
+
+        if (!termine) {
+            System.err.println("✗ " + machine.getErreur() + "\n");
+        }
+        System.out.println(String.format("Exécution : %d tours de boucle en %.3f ms\n",
+                                        machine.getTours(), duree / 1e6));
+        machine.afficherVariables();
+    }
+
+    /**
+     * Lexer, parser et compiler un fichier ; affiche les erreurs et
+     * retourne null si le programme n'est pas exécutable
+     */
+    static Bytecode compiler(String fichier, boolean optimiser) {
+        ChargeurSource source = ChargeurSource.charger(fichier);
+        if (source == null) {
+            System.err.println("Erreur : Impossible de lire " + fichier + "\n");
+            return null;
+        }
+        return compilerSource(source.texte(), optimiser);
+    }
+
+    /**
+     * Avec optimiser, l'arbre brut est d'abord compilé pour vérification
+     * (une boucle éliminée ne doit pas masquer une erreur sémantique),
+     * puis optimisé et recompilé ; les statistiques sont affichées
+     */
+    static Bytecode compilerSource(CharSequence texte, boolean optimiser) {
+        AnalyseurLexical lexer = new AnalyseurLexical(texte);
+        lexer.setEcouteur(Trace.SILENCE);
+        lexer.analyser();
+        AnalyseurSyntaxique parser = new AnalyseurSyntaxique(lexer.getTampon());
+        parser.setEcouteur(Trace.SILENCE);
+        parser.Z();
+
+        if (lexer.aDesErreurs() || !parser.estAccepte()) {
+            for (Diagnostic d : Diagnostic.fusionner(lexer.getDiagnostics(), parser.getDiagnostics())) {
+                System.err.println("✗ " + d);
+            }
+            System.err.println("\n✗ PROGRAMME REJETÉ : rien à exécuter\n");
+            return null;
+        }
+
+        CompilateurBytecode compilateur = new CompilateurBytecode(parser.getArbre());
+        Bytecode programme = compilateur.compiler();
+        if (programme == null) {
+            for (Diagnostic d : compilateur.getDiagnostics()) {
+                System.err.println("✗ " + d);
+            }
+            System.err.println();
+            return null;
+        }
+        if (!optimiser) {
+            return programme;
+        }
+
+        Optimiseur optimiseur = new Optimiseur(parser.getArbre());
+        optimiseur.optimiser();
+        optimiseur.afficherStatistiques();
+        Bytecode optimise = new CompilateurBytecode(parser.getArbre()).compiler();
+        System.out.println(String.format("Bytecode : %d instructions → %d instructions\n",
+                                        programme.taille(), optimise.taille()));
+        return optimise;
+    }
+}
@@ -0,0 +1,829 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - OPTIMISEUR
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+
+/**
+ * Optimise l'arbre d'un programme accepté, sur place, avant toute
+ * génération de code. Quatre passes, dans l'ordre :
+ *   1. repliement des constantes : 2 * 3 + y → 6 + y, 0 > 1 → 0
+ *      (arithmétique int ou double comme en Java ; une division entière
+ *      par zéro n'est pas repliée, l'erreur reste à l'exécution) ;
+ *   2. identités : x * 1, 1 * x, x / 1, x - 0 → x, et x + 0 pour un
+ *      int (pour un double, -0.0 + 0 vaut 0.0) ; jamais si le type de
+ *      x en dépendrait ;
+ *   3. boucles mortes : while dont la condition repliée est fausse ;
+ *   4. affectations mortes : valeur jamais lue ensuite (analyse de
+ *      vivacité arrière), expression sans effet ni erreur possible.
+ *      Les variables de main sont lues à la fin (la MachineVirtuelle
+ *      affiche leur valeur finale) ; une variable de bloc qui n'est
+ *      plus lue du tout perd aussi sa déclaration.
+ *
+ * Les erreurs sémantiques d'une boucle éliminée ne sont plus visibles :
+ * vérifier l'arbre (CompilateurBytecode) avant de l'optimiser.
+ *
+ * Aucune passe n'est récursive (piles explicites, ArbreSyntaxique.parcourir) :
+ * toute imbrication acceptée par l'analyseur est optimisée.
+ */
+public final class Optimiseur {
+
+    // ==================== PASSES ====================
+
+    public static final int REPLIEMENT = 0;
+    public static final int IDENTITES = 1;
+    public static final int BOUCLES_MORTES = 2;
+    public static final int AFFECTATIONS_MORTES = 3;
+
+    private static final String[] NOMS = {
+        "Repliement des constantes", "Identités algébriques", "Boucles mortes", "Affectations mortes"
+    };
+
+    private static final int AUCUN = ArbreSyntaxique.AUCUN;
+
+    // Types statiques d'une expression
+    private static final int INCONNU = 0;      // String, non déclaré, condition...
+    private static final int ENTIER = 1;       // int, boolean
+    private static final int DECIMAL = 2;      // double, float
+
+    // ==================== ATTRIBUTS ====================
+
+    private final ArbreSyntaxique arbre;
+    private final TamponTokens tampon;
+
+    // Variables : une par déclaration (les portées sont résolues une fois)
+    private final int[] variableDe;           // Nœud IDENTIFICATEUR → variable (AUCUN : non déclarée)
+    private int[] types;
+    private boolean[] principales;            // Déclarée dans le bloc de main
+    private int nombreVariables;
+
+    // Statistiques par passe
+    private final int[] applications = new int[NOMS.length];
+    private final int[] noeudsSupprimes = new int[NOMS.length];
+    private final long[] durees = new long[NOMS.length];
+    private int noeudsAvant;
+    private int noeudsApres;
+
+    // Passe 4 : références de chaque variable, modification dans le tour en cours
+    private int[] references;
+    private boolean modifie;
+
+    // ==================== CONSTRUCTEUR ====================
+
+    public Optimiseur(ArbreSyntaxique arbre) {
+        this.arbre = arbre;
+        this.tampon = arbre.getTampon();
+        this.variableDe = new int[arbre.taille()];
+        this.types = new int[16];
+        this.principales = new boolean[16];
+    }
+
+    // ==================== OPTIMISATION ====================
+
+    /**
+     * Applique les quatre passes au corps de main
+     */
+    public void optimiser() {
+        // PROGRAMME → CLASSE → METHODE → BLOC
+        int bloc = arbre.racine();
+        for (int k = 0; k < 3 && bloc != AUCUN; k++) {
+            bloc = arbre.premierEnfant(bloc);
+        }
+        if (bloc == AUCUN || arbre.genre(bloc) != ArbreSyntaxique.BLOC) {
+            return;
+        }
+
+        Arrays.fill(variableDe, AUCUN);
+        resoudre(bloc, new ArrayList<>());
+        noeudsAvant = compter();
+        noeudsApres = noeudsAvant;
+
+        for (int passe = 0; passe < NOMS.length; passe++) {
+            long debut = System.nanoTime();
+            switch (passe) {
+                case REPLIEMENT:
+                    replierBloc(bloc);
+                    break;
+                case IDENTITES:
+                    simplifierBloc(bloc);
+                    break;
+                case BOUCLES_MORTES:
+                    eliminerBoucles(bloc);
+                    break;
+                default:
+                    eliminerAffectations(bloc);
+            }
+            durees[passe] = System.nanoTime() - debut;
+            int noeuds = compter();
+            noeudsSupprimes[passe] = noeudsApres - noeuds;
+            noeudsApres = noeuds;
+        }
+    }
+
+    // ==================== RÉSOLUTION DES NOMS ====================
+
+    /**
+     * Associe chaque IDENTIFICATEUR à sa déclaration, avec les règles de
+     * portée de CompilateurBytecode (visible après sa déclaration, jusqu'à
+     * la fin du bloc). Les blocs ouverts sont sur une pile explicite : la
+     * profondeur des while imbriqués n'est pas limitée par la pile Java.
+     */
+    private void resoudre(int bloc, ArrayList<HashMap<String, Integer>> portees) {
+        int[] suivantes = new int[16];         // Prochaine instruction de chaque bloc ouvert
+        int ouverts = 0;
+        portees.add(new HashMap<>());
+        suivantes[ouverts++] = arbre.premierEnfant(bloc);
+        while (ouverts > 0) {
+            int n = suivantes[ouverts - 1];
+            if (n == AUCUN) {
+                portees.remove(portees.size() - 1);
+                ouverts--;
+                continue;
+            }
+            suivantes[ouverts - 1] = arbre.frereSuivant(n);
+
+            int premier = arbre.premierEnfant(n);
+            switch (arbre.genre(n)) {
+                case ArbreSyntaxique.DECLARATION: {
+                    if (premier == AUCUN) break;
+                    resoudreExpression(arbre.frereSuivant(premier), portees);
+                    int variable = nouvelleVariable(typeDeclare(n), portees.size() == 1);
+                    variableDe[premier] = variable;
+                    portees.get(portees.size() - 1).putIfAbsent(arbre.valeur(premier), variable);
+                    break;
+                }
+                case ArbreSyntaxique.AFFECTATION:
+                    resoudreExpression(premier, portees);
+                    if (premier != AUCUN) resoudreExpression(arbre.frereSuivant(premier), portees);
+                    break;
+                case ArbreSyntaxique.WHILE:
+                    resoudreExpression(premier, portees);
+                    if (premier != AUCUN && arbre.frereSuivant(premier) != AUCUN) {
+                        if (ouverts == suivantes.length) suivantes = Arrays.copyOf(suivantes, 2 * ouverts);
+                        portees.add(new HashMap<>());
+                        suivantes[ouverts++] = arbre.premierEnfant(arbre.frereSuivant(premier));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void resoudreExpression(int n, ArrayList<HashMap<String, Integer>> portees) {
+        arbre.parcourir(n, (a, noeud, profondeur) -> {
+            if (a.genre(noeud) != ArbreSyntaxique.IDENTIFICATEUR) return true;
+            String nom = a.valeur(noeud);
+            for (int k = portees.size() - 1; k >= 0; k--) {
+                Integer variable = portees.get(k).get(nom);
+                if (variable != null) {
+                    variableDe[noeud] = variable;
+                    break;
+                }
+            }
+            return false;
+        });
+    }
+
+    private int nouvelleVariable(int type, boolean principale) {
+        if (nombreVariables == types.length) {
+            types = Arrays.copyOf(types, 2 * nombreVariables);
+            principales = Arrays.copyOf(principales, 2 * nombreVariables);
+        }
+        types[nombreVariables] = type;
+        principales[nombreVariables] = principale;
+        return nombreVariables++;
+    }
+
+    private int typeDeclare(int declaration) {
+        switch (tampon.type(arbre.token(declaration))) {
+            case TypeToken.MC_INT:
+            case TypeToken.MC_BOOLEAN:
+                return ENTIER;
+            case TypeToken.MC_DOUBLE:
+            case TypeToken.MC_FLOAT:
+                return DECIMAL;
+            default:
+                return INCONNU;
+        }
+    }
+
+    // ==================== PASSE 1 : REPLIEMENT ====================
+
+    // Les corps des while sont empilés (ordre sans effet sur le résultat)
+    private void replierBloc(int racine) {
+        ArrayDeque<Integer> blocs = new ArrayDeque<>();
+        blocs.push(racine);
+        while (!blocs.isEmpty()) {
+            int bloc = blocs.pop();
+            for (int n = arbre.premierEnfant(bloc); n != AUCUN; n = arbre.frereSuivant(n)) {
+                int premier = arbre.premierEnfant(n);
+                if (premier == AUCUN) continue;
+                switch (arbre.genre(n)) {
+                    case ArbreSyntaxique.DECLARATION:
+                    case ArbreSyntaxique.AFFECTATION:
+                        replier(arbre.frereSuivant(premier));
+                        break;
+                    case ArbreSyntaxique.WHILE:
+                        replierCondition(premier);
+                        if (arbre.frereSuivant(premier) != AUCUN) blocs.push(arbre.frereSuivant(premier));
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replie une expression arithmétique, feuilles d'abord (à la sortie
+     * de chaque nœud du parcours itératif)
+     */
+    private void replier(int n) {
+        arbre.parcourir(n, new ArbreSyntaxique.Visiteur() {
+            @Override
+            public boolean entrer(ArbreSyntaxique a, int noeud, int profondeur) {
+                return droiteBinaire(noeud) != AUCUN;
+            }
+
+            @Override
+            public void sortir(ArbreSyntaxique a, int noeud, int profondeur) {
+                int droite = droiteBinaire(noeud);
+                if (droite == AUCUN) return;
+                Number x = a.constante(a.premierEnfant(noeud));
+                Number y = a.constante(droite);
+                if (x == null || y == null) return;
+                Number valeur = calculer(tampon.type(a.token(noeud)), x, y);
+                if (valeur != null) {
+                    a.remplacerParConstante(noeud, valeur);
+                    applications[REPLIEMENT]++;
+                }
+            }
+        });
+    }
+
+    // Opérande droit d'un BINAIRE complet, AUCUN pour tout autre nœud
+    private int droiteBinaire(int n) {
+        if (arbre.genre(n) != ArbreSyntaxique.BINAIRE) return AUCUN;
+        int gauche = arbre.premierEnfant(n);
+        return (gauche == AUCUN) ? AUCUN : arbre.frereSuivant(gauche);
+    }
+
+    /**
+     * Condition : comparaison de deux constantes → 1 ou 0 ; && et || dont
+     * un côté est constant se réduisent à l'autre côté ou à une constante
+     * (l'autre côté n'est abandonné que s'il est sans effet)
+     */
+    private void replierCondition(int n) {
+        int operateur = (arbre.genre(n) == ArbreSyntaxique.BINAIRE) ? tampon.type(arbre.token(n)) : AUCUN;
+        if (!estComparaison(operateur) && operateur != TypeToken.ET_LOGIQUE
+                && operateur != TypeToken.OU_LOGIQUE) {
+            replier(n);
+            return;
+        }
+        int gauche = arbre.premierEnfant(n);
+        int droite = (gauche == AUCUN) ? AUCUN : arbre.frereSuivant(gauche);
+        if (droite == AUCUN) return;
+        replier(gauche);
+        replier(droite);
+
+        Number a = arbre.constante(gauche);
+        Number b = arbre.constante(droite);
+        if (estComparaison(operateur)) {
+            if (a != null && b != null) {
+                arbre.remplacerParConstante(n, comparer(operateur, a, b) ? 1 : 0);
+                applications[REPLIEMENT]++;
+            }
+            return;
+        }
+
+        // a && b : faux dès qu'un côté l'est ; a || b : vrai dès qu'un côté l'est
+        boolean decisif = (operateur == TypeToken.OU_LOGIQUE);
+        if (a != null) {
+            if (estVrai(a) == decisif) {
+                arbre.remplacerParConstante(n, decisif ? 1 : 0);
+            } else {
+                arbre.remplacer(n, droite);
+                copierVariable(n, droite);
+            }
+            applications[REPLIEMENT]++;
+        } else if (b != null) {
+            if (estVrai(b) != decisif) {
+                arbre.remplacer(n, gauche);
+                copierVariable(n, gauche);
+                applications[REPLIEMENT]++;
+            } else if (estPure(gauche)) {
+                arbre.remplacerParConstante(n, decisif ? 1 : 0);
+                applications[REPLIEMENT]++;
+            }
+        }
+    }
+
+    /**
+     * a op b comme en Java ; null si le résultat n'est pas connu à la
+     * compilation (division entière par zéro, opérateur non arithmétique)
+     */
+    private static Number calculer(int operateur, Number a, Number b) {
+        if (a instanceof Integer && b instanceof Integer) {
+            int x = a.intValue();
+            int y = b.intValue();
+            switch (operateur) {
+                case TypeToken.PLUS:     return x + y;
+                case TypeToken.MOINS:    return x - y;
+                case TypeToken.FOIS:     return x * y;
+                case TypeToken.DIVISION: return (y == 0) ? null : (Number) (x / y);
+                case TypeToken.MODULO:   return (y == 0) ? null : (Number) (x % y);
+                default:                 return null;
+            }
+        }
+        double x = a.doubleValue();
+        double y = b.doubleValue();
+        switch (operateur) {
+            case TypeToken.PLUS:     return x + y;
+            case TypeToken.MOINS:    return x - y;
+            case TypeToken.FOIS:     return x * y;
+            case TypeToken.DIVISION: return x / y;
+            case TypeToken.MODULO:   return x % y;
+            default:                 return null;
+        }
+    }
+
+    private static boolean comparer(int operateur, Number a, Number b) {
+        if (a instanceof Integer && b instanceof Integer) {
+            int x = a.intValue();
+            int y = b.intValue();
+            switch (operateur) {
+                case TypeToken.INFERIEUR:      return x < y;
+                case TypeToken.INFERIEUR_EGAL: return x <= y;
+                case TypeToken.SUPERIEUR:      return x > y;
+                case TypeToken.SUPERIEUR_EGAL: return x >= y;
+                case TypeToken.EGAL:           return x == y;
+                default:                       return x != y;
+            }
+        }
+        double x = a.doubleValue();
+        double y = b.doubleValue();
+        switch (operateur) {
+            case TypeToken.INFERIEUR:      return x < y;
+            case TypeToken.INFERIEUR_EGAL: return x <= y;
+            case TypeToken.SUPERIEUR:      return x > y;
+            case TypeToken.SUPERIEUR_EGAL: return x >= y;
+            case TypeToken.EGAL:           return x == y;
+            default:                       return x != y;
+        }
+    }
+
+    private static boolean estComparaison(int operateur) {
+        switch (operateur) {
+            case TypeToken.INFERIEUR:
+            case TypeToken.INFERIEUR_EGAL:
+            case TypeToken.SUPERIEUR:
+            case TypeToken.SUPERIEUR_EGAL:
+            case TypeToken.EGAL:
+            case TypeToken.DIFFERENT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // Condition réduite à une constante : vraie si non nulle (comme à l'exécution)
+    private static boolean estVrai(Number valeur) {
+        return (valeur instanceof Integer) ? valeur.intValue() != 0 : valeur.doubleValue() != 0;
+    }
+
+    // ==================== PASSE 2 : IDENTITÉS ====================
+
+    private void simplifierBloc(int racine) {
+        ArrayDeque<Integer> blocs = new ArrayDeque<>();
+        blocs.push(racine);
+        while (!blocs.isEmpty()) {
+            int bloc = blocs.pop();
+            for (int n = arbre.premierEnfant(bloc); n != AUCUN; n = arbre.frereSuivant(n)) {
+                int premier = arbre.premierEnfant(n);
+                if (premier == AUCUN) continue;
+                switch (arbre.genre(n)) {
+                    case ArbreSyntaxique.DECLARATION:
+                    case ArbreSyntaxique.AFFECTATION:
+                        simplifier(arbre.frereSuivant(premier));
+                        break;
+                    case ArbreSyntaxique.WHILE:
+                        // Les opérandes d'une comparaison, d'un && ou d'un || sont des expressions
+                        if (arbre.genre(premier) == ArbreSyntaxique.BINAIRE
+                                && !estArithmetique(tampon.type(arbre.token(premier)))) {
+                            for (int e = arbre.premierEnfant(premier); e != AUCUN; e = arbre.frereSuivant(e)) {
+                                simplifier(e);
+                            }
+                        } else {
+                            simplifier(premier);
+                        }
+                        if (arbre.frereSuivant(premier) != AUCUN) blocs.push(arbre.frereSuivant(premier));
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+
+    // Feuilles d'abord, comme replier
+    private void simplifier(int n) {
+        arbre.parcourir(n, new ArbreSyntaxique.Visiteur() {
+            @Override
+            public boolean entrer(ArbreSyntaxique a, int noeud, int profondeur) {
+                return droiteBinaire(noeud) != AUCUN;
+            }
+
+            @Override
+            public void sortir(ArbreSyntaxique a, int noeud, int profondeur) {
+                int droite = droiteBinaire(noeud);
+                if (droite != AUCUN) simplifierOperation(noeud, a.premierEnfant(noeud), droite);
+            }
+        });
+    }
+
+    private void simplifierOperation(int n, int gauche, int droite) {
+        int operateur = tampon.type(arbre.token(n));
+        int reste = AUCUN;
+        if (operateur == TypeToken.FOIS) {
+            if (neutre(droite, gauche, 1)) reste = gauche;
+            else if (neutre(gauche, droite, 1)) reste = droite;
+        } else if (operateur == TypeToken.DIVISION) {
+            if (neutre(droite, gauche, 1)) reste = gauche;
+        } else if (operateur == TypeToken.MOINS) {
+            if (neutre(droite, gauche, 0)) reste = gauche;
+        } else if (operateur == TypeToken.PLUS) {
+            // x + 0 : seulement pour un int (-0.0 + 0 vaut 0.0)
+            if (arbre.constante(droite) instanceof Integer && neutre(droite, gauche, 0)
+                    && typeDe(gauche) == ENTIER) {
+                reste = gauche;
+            } else if (arbre.constante(gauche) instanceof Integer && neutre(gauche, droite, 0)
+                    && typeDe(droite) == ENTIER) {
+                reste = droite;
+            }
+        }
+        if (reste != AUCUN) {
+            arbre.remplacer(n, reste);
+            copierVariable(n, reste);
+            applications[IDENTITES]++;
+        }
+    }
+
+    /**
+     * La constante vaut l'élément neutre et ne change pas le type de
+     * autre : 1 ou 0 entier devant un int ou un double, 1.0 ou 0.0 (pas
+     * -0.0) devant un double
+     */
+    private boolean neutre(int constante, int autre, int element) {
+        Number valeur = arbre.constante(constante);
+        if (valeur == null) return false;
+        int type = typeDe(autre);
+        if (valeur instanceof Integer) {
+            return valeur.intValue() == element && type != INCONNU;
+        }
+        return Double.valueOf(element).equals(valeur.doubleValue()) && type == DECIMAL;
+    }
+
+    /**
+     * Type d'une expression : INCONNU si une feuille l'est ou si une
+     * opération n'est pas arithmétique, sinon DECIMAL si une feuille est
+     * décimale, ENTIER sinon (parcours itératif)
+     */
+    private int typeDe(int n) {
+        if (n == AUCUN) return INCONNU;
+        int[] type = {ENTIER};
+        arbre.parcourir(n, (a, noeud, profondeur) -> {
+            if (type[0] == INCONNU) return false;
+            int feuille;
+            switch (a.genre(noeud)) {
+                case ArbreSyntaxique.NOMBRE: {
+                    Number valeur = a.constante(noeud);
+                    feuille = (valeur == null) ? INCONNU : (valeur instanceof Integer) ? ENTIER : DECIMAL;
+                    break;
+                }
+                case ArbreSyntaxique.IDENTIFICATEUR:
+                    feuille = (variableDe[noeud] == AUCUN) ? INCONNU : types[variableDe[noeud]];
+                    break;
+                case ArbreSyntaxique.POSTFIXE:
+                    if (a.premierEnfant(noeud) == AUCUN) type[0] = INCONNU;
+                    return true;
+                case ArbreSyntaxique.BINAIRE:
+                    if (!estArithmetique(tampon.type(a.token(noeud))) || droiteBinaire(noeud) == AUCUN) {
+                        type[0] = INCONNU;
+                    }
+                    return true;
+                default:
+                    feuille = INCONNU;
+            }
+            if (feuille == INCONNU) type[0] = INCONNU;
+            else if (feuille == DECIMAL) type[0] = DECIMAL;
+            return false;
+        });
+        return type[0];
+    }
+
+    private static boolean estArithmetique(int operateur) {
+        return operateur == TypeToken.PLUS || operateur == TypeToken.MOINS || operateur == TypeToken.FOIS
+            || operateur == TypeToken.DIVISION || operateur == TypeToken.MODULO;
+    }
+
+    // Un nœud qui prend la place d'un IDENTIFICATEUR garde sa variable
+    private void copierVariable(int noeud, int par) {
+        variableDe[noeud] = variableDe[par];
+    }
+
+    // ==================== PASSE 3 : BOUCLES MORTES ====================
+
+    // Le corps d'une boucle retirée n'est pas parcouru
+    private void eliminerBoucles(int racine) {
+        ArrayDeque<Integer> blocs = new ArrayDeque<>();
+        blocs.push(racine);
+        while (!blocs.isEmpty()) {
+            int bloc = blocs.pop();
+            int precedent = AUCUN;
+            for (int n = arbre.premierEnfant(bloc); n != AUCUN; n = arbre.frereSuivant(n)) {
+                int condition = arbre.premierEnfant(n);
+                if (arbre.genre(n) == ArbreSyntaxique.WHILE && condition != AUCUN) {
+                    Number valeur = arbre.constante(condition);
+                    if (valeur != null && !estVrai(valeur)) {
+                        arbre.retirer(bloc, precedent, n);
+                        applications[BOUCLES_MORTES]++;
+                        continue;
+                    }
+                    if (arbre.frereSuivant(condition) != AUCUN) blocs.push(arbre.frereSuivant(condition));
+                }
+                precedent = n;
+            }
+        }
+    }
+
+    // ==================== PASSE 4 : AFFECTATIONS MORTES ====================
+
+    /**
+     * Répète l'analyse tant qu'elle retire quelque chose : une affectation
+     * retirée peut rendre morte celle qui calculait sa valeur
+     */
+    private void eliminerAffectations(int bloc) {
+        do {
+            modifie = false;
+            references = new int[nombreVariables];
+            arbre.parcourir((a, noeud, profondeur) -> {
+                if (a.genre(noeud) == ArbreSyntaxique.IDENTIFICATEUR && variableDe[noeud] != AUCUN) {
+                    references[variableDe[noeud]]++;
+                }
+                return true;
+            });
+
+            // Les variables de main sont lues à la fin du programme
+            BitSet vivantes = new BitSet(nombreVariables);
+            for (int v = 0; v < nombreVariables; v++) {
+                if (principales[v]) vivantes.set(v);
+            }
+            vivacite(bloc, vivantes);
+        } while (modifie);
+    }
+
+    /**
+     * Analyse arrière d'un bloc : vivantes contient les variables lues
+     * après le bloc. Les affectations dont la valeur n'est pas lue sont
+     * retirées au passage. Le corps d'un while est analysé après son bloc,
+     * avec les variables vivantes en tête de boucle : rien de ce qu'il
+     * retire n'est lu par l'analyse du bloc qui le contient.
+     */
+    private void vivacite(int racine, BitSet vivantesApres) {
+        ArrayDeque<Integer> blocs = new ArrayDeque<>();
+        ArrayDeque<BitSet> apres = new ArrayDeque<>();
+        blocs.push(racine);
+        apres.push(vivantesApres);
+        while (!blocs.isEmpty()) {
+            vivaciteBloc(blocs.pop(), apres.pop(), blocs, apres);
+        }
+    }
+
+    private void vivaciteBloc(int bloc, BitSet vivantes, ArrayDeque<Integer> blocs, ArrayDeque<BitSet> apres) {
+        int nombre = 0;
+        for (int n = arbre.premierEnfant(bloc); n != AUCUN; n = arbre.frereSuivant(n)) {
+            nombre++;
+        }
+        int[] instructions = new int[nombre];
+        int k = 0;
+        for (int n = arbre.premierEnfant(bloc); n != AUCUN; n = arbre.frereSuivant(n)) {
+            instructions[k++] = n;
+        }
+
+        for (k = nombre - 1; k >= 0; k--) {
+            int n = instructions[k];
+            int precedent = (k > 0) ? instructions[k - 1] : AUCUN;
+            int premier = arbre.premierEnfant(n);
+            int variable = (premier == AUCUN) ? AUCUN : variableDe[premier];
+            int second = (premier == AUCUN) ? AUCUN : arbre.frereSuivant(premier);
+
+            switch (arbre.genre(n)) {
+                case ArbreSyntaxique.DECLARATION:
+                    // Type x = valeur ;
+                    if (variable != AUCUN && !vivantes.get(variable) && estPure(second)) {
+                        if (!principales[variable] && references[variable] == 1) {
+                            // Variable de bloc jamais utilisée : la déclaration disparaît
+                            retirer(bloc, precedent, n);
+                            break;
+                        }
+                        if (arbre.constante(second) == null && types[variable] != INCONNU) {
+                            arbre.remplacerParConstante(second, 0);
+                            applications[AFFECTATIONS_MORTES]++;
+                            modifie = true;
+                        }
+                    }
+                    if (variable != AUCUN) vivantes.clear(variable);
+                    lectures(second, vivantes);
+                    break;
+                case ArbreSyntaxique.AFFECTATION: {
+                    // x = valeur ; ou x++ ; x-- ; (qui lisent x)
+                    int operateur = tampon.type(arbre.token(n));
+                    boolean pas = (operateur == TypeToken.INCREMENT || operateur == TypeToken.DECREMENT);
+                    if (variable != AUCUN && !vivantes.get(variable) && (pas || estPure(second))) {
+                        retirer(bloc, precedent, n);
+                        break;
+                    }
+                    if (pas) {
+                        lectures(premier, vivantes);
+                    } else {
+                        if (variable != AUCUN) vivantes.clear(variable);
+                        lectures(second, vivantes);
+                    }
+                    break;
+                }
+                case ArbreSyntaxique.WHILE: {
+                    // Vivantes en tête de boucle : après la boucle, ou lues dans
+                    // la boucle (condition comprise) sans y être déclarées
+                    BitSet lues = new BitSet(nombreVariables);
+                    BitSet declarees = new BitSet(nombreVariables);
+                    lecturesInstruction(n, lues, declarees);
+                    lues.andNot(declarees);
+                    vivantes.or(lues);
+                    if (second != AUCUN) {
+                        blocs.push(second);
+                        apres.push((BitSet) vivantes.clone());
+                    }
+                    break;
+                }
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void retirer(int bloc, int precedent, int instruction) {
+        arbre.retirer(bloc, precedent, instruction);
+        applications[AFFECTATIONS_MORTES]++;
+        modifie = true;
+    }
+
+    /**
+     * Variables lues par une expression (tous ses IDENTIFICATEUR)
+     */
+    private void lectures(int n, BitSet lues) {
+        arbre.parcourir(n, (a, noeud, profondeur) -> {
+            if (a.genre(noeud) == ArbreSyntaxique.IDENTIFICATEUR && variableDe[noeud] != AUCUN) {
+                lues.set(variableDe[noeud]);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Variables lues et déclarées par une instruction (blocs compris)
+     */
+    private void lecturesInstruction(int instruction, BitSet lues, BitSet declarees) {
+        ArrayDeque<Integer> pile = new ArrayDeque<>();
+        pile.push(instruction);
+        while (!pile.isEmpty()) {
+            int n = pile.pop();
+            int premier = arbre.premierEnfant(n);
+            if (premier == AUCUN) continue;
+            switch (arbre.genre(n)) {
+                case ArbreSyntaxique.DECLARATION:
+                    if (variableDe[premier] != AUCUN) declarees.set(variableDe[premier]);
+                    lectures(arbre.frereSuivant(premier), lues);
+                    break;
+                case ArbreSyntaxique.AFFECTATION:
+                    lectures(arbre.frereSuivant(premier) == AUCUN ? premier : arbre.frereSuivant(premier), lues);
+                    break;
+                case ArbreSyntaxique.WHILE:
+                    lectures(premier, lues);
+                    if (arbre.frereSuivant(premier) != AUCUN) pile.push(arbre.frereSuivant(premier));
+                    break;
+                case ArbreSyntaxique.BLOC:
+                    for (int e = premier; e != AUCUN; e = arbre.frereSuivant(e)) {
+                        pile.push(e);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Expression sans effet de bord ni erreur d'exécution possible : pas
+     * de ++/--, pas de division entière par autre chose qu'une constante
+     * non nulle (parcours itératif)
+     */
+    private boolean estPure(int n) {
+        if (n == AUCUN) return false;
+        boolean[] pure = {true};
+        arbre.parcourir(n, (a, noeud, profondeur) -> {
+            if (!pure[0]) return false;
+            switch (a.genre(noeud)) {
+                case ArbreSyntaxique.NOMBRE:
+                    pure[0] = a.constante(noeud) != null;
+                    return false;
+                case ArbreSyntaxique.IDENTIFICATEUR:
+                    return false;
+                case ArbreSyntaxique.BINAIRE: {
+                    int operateur = tampon.type(a.token(noeud));
+                    int droite = droiteBinaire(noeud);
+                    if (!estArithmetique(operateur) || droite == AUCUN) {
+                        pure[0] = false;
+                    } else if (operateur == TypeToken.DIVISION || operateur == TypeToken.MODULO) {
+                        int type = typeDe(noeud);
+                        Number diviseur = a.constante(droite);
+                        pure[0] = type == DECIMAL
+                            || (type == ENTIER && diviseur instanceof Integer && diviseur.intValue() != 0);
+                    }
+                    return pure[0];
+                }
+                default:
+                    pure[0] = false;           // POSTFIXE, ERREUR
+                    return false;
+            }
+        });
+        return pure[0];
+    }
+
+    // ==================== STATISTIQUES ====================
+
+    // Nœuds atteignables depuis la racine
+    private int compter() {
+        int[] nombre = new int[1];
+        arbre.parcourir((a, noeud, profondeur) -> {
+            nombre[0]++;
+            return true;
+        });
+        return nombre[0];
+    }
+
+    public int getApplications(int passe) {
+        return applications[passe];
+    }
+
+    public int getNoeudsSupprimes(int passe) {
+        return noeudsSupprimes[passe];
+    }
+
+    /**
+     * Durée de la passe (nanosecondes)
+     */
+    public long getDuree(int passe) {
+        return durees[passe];
+    }
+
+    public int getNoeudsAvant() {
+        return noeudsAvant;
+    }
+
+    public int getNoeudsApres() {
+        return noeudsApres;
+    }
+
+    /**
+     * Tableau des passes : transformations, nœuds supprimés, durée
+     */
+    public void afficherStatistiques() {
+        System.out.println("=".repeat(70));
+        System.out.println("                  OPTIMISATION DE L'ARBRE");
+        System.out.println("=".repeat(70));
+        System.out.println(String.format("%-28s | %-12s | %-10s | %s",
+                                        "PASSE", "APPLICATIONS", "NŒUDS", "TEMPS"));
+        System.out.println("-".repeat(70));
+        for (int passe = 0; passe < NOMS.length; passe++) {
+            System.out.println(String.format("%-28s | %12d | %10d | %.3f ms", NOMS[passe],
+                                            applications[passe], -noeudsSupprimes[passe], durees[passe] / 1e6));
+        }
+        System.out.println("=".repeat(70));
+        System.out.println(String.format("Arbre : %d nœuds → %d nœuds (%.1f %% en moins)\n",
+                                        noeudsAvant, noeudsApres,
+                                        noeudsAvant == 0 ? 0.0 : 100.0 * (noeudsAvant - noeudsApres) / noeudsAvant));
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - RÉCEPTEUR DE TOKENS
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+/**
+ * Destination des tokens produits par l'analyseur lexical
+ * (tampon complet ou anneau du mode flux). Un token n'est repéré que par
+ * sa position : ligne et colonne se retrouvent avec un IndexLignes.
+ */
+public interface RecepteurTokens {
+
+    void ajouter(int type, int debut, int longueur);
+}
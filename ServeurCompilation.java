@@ -0,0 +1,486 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - SERVEUR DE COMPILATION
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serveur de compilation : une seule JVM, chaude, pour toutes les analyses.
+ *
+ * Les requêtes suivent un protocole en lignes, sur l'entrée standard ou sur
+ * un port TCP local (--port=N) ; chaque client TCP a son thread (virtuel
+ * si la JVM en dispose), plusieurs clients sont servis à la fois. Les
+ * résultats sont gardés dans un cache LRU indexé par l'empreinte SHA-256
+ * du source et limité en octets ; la latence de chaque requête est mesurée
+ * une fois le source reçu ou lu, sans l'envoi du client ni la lecture du
+ * fichier (percentiles sur les dernières requêtes).
+ *
+ * Requêtes (lignes UTF-8 de 64 Ko au plus) :
+ *   SOURCE n          suivie de n octets de source UTF-8
+ *   FICHIER chemin
+ *   STATS
+ *   QUITTER           fin de la connexion (de l'entrée standard)
+ *   ARRETER           arrêt du serveur
+ * Réponse à SOURCE et FICHIER :
+ *   ACCEPTE|REJETE n durée_µs CACHE|ANALYSE, puis n lignes de diagnostic
+ *
+ * Usage : ServeurCompilation [--port=N] [--cache=Mo] [--chauffe=N]
+ */
+public final class ServeurCompilation {
+
+    // ==================== ATTRIBUTS ====================
+
+    private static final int CACHE_MO = 64;
+    private static final int CHAUFFE = 300;                 // Analyses au démarrage
+    private static final int ECHANTILLONS = 1 << 16;        // Latences conservées
+    private static final int LIGNE_MAX = 1 << 16;           // Octets par ligne de commande
+    private static final Path SANS_FICHIER = Paths.get("-");
+
+    private final Cache cache;
+    private final Latences latences = new Latences(ECHANTILLONS);
+    private final AtomicLong requetes = new AtomicLong();
+    private final AtomicLong succesCache = new AtomicLong();
+    private volatile boolean arrete;
+    private volatile ServerSocket ecoute;
+
+    // ==================== CONSTRUCTEUR ====================
+
+    public ServeurCompilation(long octetsCache) {
+        this.cache = new Cache(octetsCache);
+    }
+
+    // ==================== RÉPONSE ====================
+
+    /**
+     * Verdict et diagnostics d'un source, tels qu'envoyés au client
+     */
+    public static final class Reponse {
+        private final boolean accepte;
+        private final String[] diagnostics;
+        private final long octets;                   // Taille estimée dans le cache
+
+        Reponse(boolean accepte, String[] diagnostics) {
+            this.accepte = accepte;
+            this.diagnostics = diagnostics;
+            long total = 64 + 128;                   // Objet, clé et maillon du cache
+            for (String d : diagnostics) {
+                total += 40 + 2L * d.length();
+            }
+            this.octets = total;
+        }
+
+        public boolean estAccepte() {
+            return accepte;
+        }
+
+        public String[] getDiagnostics() {
+            return diagnostics.clone();
+        }
+    }
+
+    // ==================== ANALYSE ====================
+
+    // Requête servie : réponse, durée de service, trouvée dans le cache
+    private static final class Traitement {
+        final Reponse reponse;
+        final long duree;                           // Nanosecondes
+        final boolean trouve;
+
+        Traitement(Reponse reponse, long duree, boolean trouve) {
+            this.reponse = reponse;
+            this.duree = duree;
+            this.trouve = trouve;
+        }
+    }
+
+    /**
+     * Analyse un source (UTF-8), ou relit le résultat dans le cache ;
+     * compté dans les statistiques comme une requête du protocole
+     */
+    public Reponse analyser(byte[] contenu) {
+        return traiter(contenu).reponse;
+    }
+
+    // Seul chemin vers le cache : requêtes, succès et latence (temps de
+    // service seul, source déjà reçu) sont comptés ici
+    private Traitement traiter(byte[] contenu) {
+        long debut = System.nanoTime();
+        String cle = empreinte(contenu);
+        Reponse r = cache.lire(cle);
+        boolean trouve = (r != null);
+        if (!trouve) {
+            r = calculer(contenu);
+            cache.ecrire(cle, r);
+        } else {
+            succesCache.incrementAndGet();
+        }
+        requetes.incrementAndGet();
+        long duree = System.nanoTime() - debut;
+        latences.enregistrer(duree);
+        return new Traitement(r, duree, trouve);
+    }
+
+    static Reponse calculer(byte[] contenu) {
+        CompilationParLot.Resultat resultat =
+                CompilationParLot.analyser(SANS_FICHIER, ChargeurSource.depuis(contenu));
+        List<Diagnostic> diagnostics = resultat.getDiagnostics();
+        String[] lignes = new String[diagnostics.size()];
+        for (int k = 0; k < lignes.length; k++) {
+            lignes[k] = diagnostics.get(k).toString();
+        }
+        return new Reponse(resultat.estAccepte(), lignes);
+    }
+
+    /**
+     * Empreinte SHA-256 du source, en hexadécimal
+     */
+    static String empreinte(byte[] contenu) {
+        try {
+            byte[] h = MessageDigest.getInstance("SHA-256").digest(contenu);
+            StringBuilder sb = new StringBuilder(2 * h.length);
+            for (byte b : h) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    /**
+     * Analyses de programmes générés, pour que le JIT compile le lexer et
+     * le parser avant la première requête
+     */
+    public long chauffer(int analyses) {
+        long debut = System.nanoTime();
+        for (int k = 0; k < analyses; k++) {
+            GenerateurProgrammes generateur = new GenerateurProgrammes(k);
+            generateur.setTaille(4096);
+            generateur.setErreurs(k % 4 == 0 ? 0.02 : 0);
+            byte[] contenu = generateur.generer().getBytes(StandardCharsets.UTF_8);
+            empreinte(contenu);
+            calculer(contenu);
+        }
+        return System.nanoTime() - debut;
+    }
+
+    // ==================== PROTOCOLE ====================
+
+    /**
+     * Sert un client jusqu'à QUITTER, ARRETER ou la fin de son flux
+     */
+    public void servir(InputStream entree, OutputStream sortie) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(entree);
+        Writer out = new BufferedWriter(new OutputStreamWriter(sortie, StandardCharsets.UTF_8));
+        String ligne;
+        while (!arrete && (ligne = lireLigne(in, out)) != null) {
+            ligne = ligne.trim();
+            if (ligne.isEmpty()) continue;
+
+            int espace = ligne.indexOf(' ');
+            String commande = (espace < 0) ? ligne : ligne.substring(0, espace);
+            String argument = (espace < 0) ? "" : ligne.substring(espace + 1).trim();
+            switch (commande) {
+                case "SOURCE":
+                case "FICHIER": {
+                    byte[] contenu = commande.equals("SOURCE") ? lireSource(in, argument, out)
+                                                               : lireFichier(argument, out);
+                    if (contenu != null) {
+                        repondre(out, contenu);
+                    }
+                    break;
+                }
+                case "STATS":
+                    out.write(statistiques() + "\n");
+                    break;
+                case "QUITTER":
+                    out.flush();
+                    return;
+                case "ARRETER":
+                    arreter();
+                    out.flush();
+                    return;
+                default:
+                    out.write("ERREUR Commande inconnue : " + commande + "\n");
+            }
+            out.flush();
+        }
+        out.flush();
+    }
+
+    private void repondre(Writer out, byte[] contenu) throws IOException {
+        Traitement t = traiter(contenu);
+        Reponse r = t.reponse;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(r.accepte ? "ACCEPTE " : "REJETE ").append(r.diagnostics.length)
+          .append(String.format(" %.1f ", t.duree / 1e3)).append(t.trouve ? "CACHE" : "ANALYSE").append('\n');
+        for (String d : r.diagnostics) {
+            sb.append(d).append('\n');
+        }
+        out.write(sb.toString());
+    }
+
+    private static byte[] lireSource(InputStream in, String argument, Writer out) throws IOException {
+        int n;
+        try {
+            n = Integer.parseInt(argument);
+        } catch (NumberFormatException e) {
+            out.write("ERREUR Taille invalide : " + argument + "\n");
+            return null;
+        }
+        if (n < 0) {
+            out.write("ERREUR Taille invalide : " + argument + "\n");
+            return null;
+        }
+        byte[] contenu = in.readNBytes(n);
+        if (contenu.length < n) {
+            out.write("ERREUR Source tronqué : " + contenu.length + "/" + n + " octets\n");
+            return null;
+        }
+        return contenu;
+    }
+
+    private static byte[] lireFichier(String chemin, Writer out) throws IOException {
+        try {
+            return Files.readAllBytes(Paths.get(chemin));
+        } catch (IOException | RuntimeException e) {
+            out.write("ERREUR Fichier '" + chemin + "' illisible\n");
+            return null;
+        }
+    }
+
+    /**
+     * Ligne UTF-8 terminée par '\n' (sans '\r'), null à la fin du flux.
+     * Au-delà de LIGNE_MAX octets, le reste de la ligne est sauté et la
+     * ligne, répondue par une ERREUR, vaut ""
+     */
+    private static String lireLigne(InputStream in, Writer out) throws IOException {
+        ByteArrayOutputStream octets = new ByteArrayOutputStream();
+        boolean tropLongue = false;
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            if (c == '\r') continue;
+            if (octets.size() < LIGNE_MAX) {
+                octets.write(c);
+            } else {
+                tropLongue = true;
+            }
+        }
+        if (tropLongue) {
+            out.write("ERREUR Ligne trop longue : plus de " + LIGNE_MAX + " octets\n");
+            out.flush();
+            return "";
+        }
+        return (c == -1 && octets.size() == 0) ? null : octets.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Ligne de statistiques : requêtes, cache et percentiles de latence
+     */
+    public String statistiques() {
+        long[] p = latences.percentiles(50, 90, 99, 99.9, 100);
+        return String.format("STATS requetes=%d cache=%d entrees=%d octets=%d "
+                             + "p50=%.1fµs p90=%.1fµs p99=%.1fµs p99.9=%.1fµs max=%.1fµs",
+                             requetes.get(), succesCache.get(), cache.entrees(), cache.occupe(),
+                             p[0] / 1e3, p[1] / 1e3, p[2] / 1e3, p[3] / 1e3, p[4] / 1e3);
+    }
+
+    // ==================== ÉCOUTE TCP ====================
+
+    /**
+     * Accepte les clients sur le port local jusqu'à ARRETER
+     */
+    public void ecouter(int port) throws IOException {
+        ExecutorService clients = executeur();
+        try (ServerSocket serveur = new ServerSocket(port, 128, InetAddress.getLoopbackAddress())) {
+            ecoute = serveur;
+            System.err.println("En écoute sur " + serveur.getLocalSocketAddress());
+            while (!arrete) {
+                Socket client;
+                try {
+                    client = serveur.accept();
+                } catch (SocketException e) {
+                    break;                       // Socket fermée par ARRETER
+                }
+                clients.execute(() -> {
+                    try (Socket s = client) {
+                        s.setTcpNoDelay(true);
+                        servir(s.getInputStream(), s.getOutputStream());
+                    } catch (IOException e) {
+                        System.err.println("Client interrompu : " + e.getMessage());
+                    }
+                });
+            }
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    public void arreter() {
+        arrete = true;
+        ServerSocket serveur = ecoute;
+        if (serveur != null) {
+            try {
+                serveur.close();
+            } catch (IOException e) {
+                // Déjà fermée
+            }
+        }
+    }
+
+    /**
+     * Un thread virtuel par client si la JVM le permet (Java 21+), sinon un
+     * pool de threads réutilisés
+     */
+    static ExecutorService executeur() {
+        try {
+            Method virtuels = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtuels.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "client-compilation");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    // ==================== CACHE LRU ====================
+
+    /**
+     * Réponses par empreinte, la moins récemment lue évincée d'abord
+     * quand la taille estimée dépasse la capacité
+     */
+    static final class Cache {
+        private final long capacite;
+        private final LinkedHashMap<String, Reponse> entrees = new LinkedHashMap<>(64, 0.75f, true);
+        private long occupe;
+
+        Cache(long capacite) {
+            this.capacite = capacite;
+        }
+
+        synchronized Reponse lire(String cle) {
+            return entrees.get(cle);
+        }
+
+        synchronized void ecrire(String cle, Reponse r) {
+            if (r.octets > capacite) return;
+            Reponse ancienne = entrees.put(cle, r);
+            if (ancienne != null) occupe -= ancienne.octets;
+            occupe += r.octets;
+            Iterator<Reponse> plusAnciennes = entrees.values().iterator();
+            while (occupe > capacite) {
+                occupe -= plusAnciennes.next().octets;
+                plusAnciennes.remove();
+            }
+        }
+
+        synchronized int entrees() {
+            return entrees.size();
+        }
+
+        synchronized long occupe() {
+            return occupe;
+        }
+    }
+
+    // ==================== LATENCES ====================
+
+    /**
+     * Dernières latences (tampon circulaire) ; les percentiles sont
+     * calculés par tri d'une copie, à la demande
+     */
+    static final class Latences {
+        private final long[] ns;
+        private long total;
+
+        Latences(int capacite) {
+            this.ns = new long[capacite];
+        }
+
+        synchronized void enregistrer(long duree) {
+            ns[(int) (total++ % ns.length)] = duree;
+        }
+
+        /**
+         * Percentiles (rang le plus proche) des latences conservées, en ns
+         */
+        synchronized long[] percentiles(double... rangs) {
+            int n = (int) Math.min(total, ns.length);
+            long[] tri = Arrays.copyOf(ns, n);
+            Arrays.sort(tri);
+            long[] p = new long[rangs.length];
+            for (int k = 0; k < rangs.length; k++) {
+                int i = (int) Math.ceil(rangs[k] / 100 * n) - 1;
+                p[k] = (n == 0) ? 0 : tri[Math.max(0, Math.min(i, n - 1))];
+            }
+            return p;
+        }
+    }
+
+    // ==================== MAIN ====================
+
+    public static void main(String[] args) throws IOException {
+        // La sortie standard porte le protocole : messages sur System.err
+        System.err.println("\n╔════════════════════════════════════════════════════╗");
+        System.err.println("║   MINI-COMPILATEUR JAVA - SERVEUR DE COMPILATION   ║");
+        System.err.println("║   Étudiant : Malek Leiticia                       ║");
+        System.err.println("║   Instruction : WHILE (Descente Récursive)        ║");
+        System.err.println("╚════════════════════════════════════════════════════╝\n");
+
+        int port = -1;
+        long cacheMo = CACHE_MO;
+        int chauffe = CHAUFFE;
+        for (String a : args) {
+            if (a.startsWith("--port=")) port = Integer.parseInt(a.substring("--port=".length()));
+            else if (a.startsWith("--cache=")) cacheMo = Long.parseLong(a.substring("--cache=".length()));
+            else if (a.startsWith("--chauffe=")) chauffe = Integer.parseInt(a.substring("--chauffe=".length()));
+        }
+
+        ServeurCompilation serveur = new ServeurCompilation(cacheMo << 20);
+        long duree = serveur.chauffer(chauffe);
+        System.err.println(String.format("Chauffe : %d analyses en %.0f ms", chauffe, duree / 1e6));
+
+        if (port >= 0) {
+            serveur.ecouter(port);
+        } else {
+            serveur.servir(System.in, System.out);
+        }
+        System.err.println(serveur.statistiques());
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - TABLE DES SYMBOLES
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.util.Arrays;
+
+/**
+ * Réserve d'identificateurs : chaque nom distinct reçoit un numéro stable
+ * (0, 1, 2...) et une seule String, partagée par toutes ses occurrences.
+ * La recherche se fait directement sur une région du source, sans créer
+ * de String tant que le nom est déjà connu.
+ *
+ * Adressage ouvert à sondage linéaire ; non synchronisée (une table par
+ * tampon de tokens).
+ */
+public final class TableSymboles {
+
+    // ==================== ATTRIBUTS ====================
+
+    public static final int AUCUN = -1;
+
+    private String[] noms;                   // Nom de chaque symbole, par numéro
+    private int[] hachages;                  // Hachage de chaque symbole, par numéro
+    private int[] alveoles;                  // Numéro + 1 (0 : alvéole libre)
+    private int nombre;                      // Symboles connus
+
+    // ==================== CONSTRUCTEUR ====================
+
+    public TableSymboles() {
+        this.noms = new String[64];
+        this.hachages = new int[64];
+        this.alveoles = new int[128];
+        this.nombre = 0;
+    }
+
+    // ==================== RECHERCHE ====================
+
+    /**
+     * Numéro du symbole texte[debut..fin), ajouté s'il est nouveau
+     */
+    public int symbole(CharSequence texte, int debut, int fin) {
+        int h = hacher(texte, debut, fin);
+        int masque = alveoles.length - 1;
+        for (int a = melanger(h) & masque; ; a = (a + 1) & masque) {
+            int s = alveoles[a] - 1;
+            if (s == AUCUN) {
+                return ajouter(a, h, texte.subSequence(debut, fin).toString());
+            }
+            if (hachages[s] == h && egal(noms[s], texte, debut, fin)) {
+                return s;
+            }
+        }
+    }
+
+    /**
+     * Numéro du symbole s'il est connu, AUCUN sinon (la table n'est pas modifiée)
+     */
+    public int chercher(CharSequence nom) {
+        int h = hacher(nom, 0, nom.length());
+        int masque = alveoles.length - 1;
+        for (int a = melanger(h) & masque; ; a = (a + 1) & masque) {
+            int s = alveoles[a] - 1;
+            if (s == AUCUN || (hachages[s] == h && egal(noms[s], nom, 0, nom.length()))) {
+                return s;
+            }
+        }
+    }
+
+    /**
+     * Nom du symbole : toujours la même instance de String
+     */
+    public String nom(int symbole) {
+        return noms[symbole];
+    }
+
+    public int taille() {
+        return nombre;
+    }
+
+    // ==================== INTERNE ====================
+
+    private int ajouter(int alveole, int h, String nom) {
+        if (nombre == noms.length) {
+            noms = Arrays.copyOf(noms, 2 * nombre);
+            hachages = Arrays.copyOf(hachages, 2 * nombre);
+        }
+        noms[nombre] = nom;
+        hachages[nombre] = h;
+        alveoles[alveole] = nombre + 1;
+        nombre++;
+
+        // Taux de remplissage au plus 1/2
+        if (2 * nombre > alveoles.length) {
+            redimensionner();
+        }
+        return nombre - 1;
+    }
+
+    private void redimensionner() {
+        alveoles = new int[2 * alveoles.length];
+        int masque = alveoles.length - 1;
+        for (int s = 0; s < nombre; s++) {
+            int a = melanger(hachages[s]) & masque;
+            while (alveoles[a] != 0) {
+                a = (a + 1) & masque;
+            }
+            alveoles[a] = s + 1;
+        }
+    }
+
+    // Même fonction que String.hashCode, calculée sur la région
+    private static int hacher(CharSequence texte, int debut, int fin) {
+        int h = 0;
+        for (int k = debut; k < fin; k++) {
+            h = 31 * h + texte.charAt(k);
+        }
+        return h;
+    }
+
+    // Répartit les bits de poids fort sur les alvéoles
+    private static int melanger(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean egal(String nom, CharSequence texte, int debut, int fin) {
+        if (nom.length() != fin - debut) return false;
+        for (int k = 0; k < nom.length(); k++) {
+            if (nom.charAt(k) != texte.charAt(debut + k)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Octets réservés par la table (noms non compris)
+     */
+    public long octetsReserves() {
+        return 3 * 16 + 4L * noms.length + 4L * hachages.length + 4L * alveoles.length;
+    }
+}
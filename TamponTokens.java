@@ -0,0 +1,534 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - TAMPON DE TOKENS
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Flot de tokens compact (structure de tableaux).
+ * Chaque token occupe une case dans quatre tableaux d'entiers parallèles
+ * (type, début, longueur, partenaire) au lieu d'un objet Token et de deux
+ * String. La valeur est relue dans le code source à la demande ; la ligne
+ * et la colonne sont retrouvées à partir de la position (IndexLignes).
+ *
+ * Valeurs : les opérateurs, séparateurs et mots-clés rendent une String
+ * partagée (TypeToken.orthographe), les identificateurs le nom unique de
+ * leur symbole (TableSymboles) ; seuls nombres et chaînes créent une String,
+ * et texte(i) les lit sur place sans copie.
+ *
+ * Les délimiteurs sont appariés pendant le remplissage, donc dans la passe
+ * du lexer : chaque ( { [ connaît sa fermante et inversement, chaque sorte
+ * appariée à part comme le ferait un compteur de profondeur. L'analyseur
+ * saute ainsi un groupe en temps constant.
+ */
+public final class TamponTokens implements RecepteurTokens {
+
+    // ==================== ATTRIBUTS ====================
+
+    private static final int BLOC = 1024;    // Granularité de croissance
+
+    private final CharSequence source;       // Code source analysé
+    private final IndexLignes lignes;        // Lignes et colonnes du source
+    private int[] types;                     // Code TypeToken
+    private int[] debuts;                    // Position dans le source
+    private int[] longueurs;                 // Nombre de caractères
+    private int[] partenaires;               // Délimiteur apparié (SANS_PARTENAIRE sinon)
+    private int taille;                      // Nombre de tokens
+
+    // Symboles des identificateurs, numérotés au premier accès
+    private final TableSymboles table = new TableSymboles();
+    private int[] symboles;                  // Numéro + 1 (0 : pas encore cherché)
+
+    // Appariement : délimiteurs ouverts par sorte (parenthèse, accolade, crochet)
+    public static final int SANS_PARTENAIRE = -1;
+    private static final int ACCOLADE_INTERIEURE = 1 << 30;     // ( ... ) contenant { ou }
+    private final int[][] ouverts = new int[3][16];
+    private final int[] sommets = new int[3];
+    private int derniereAccolade = -1;
+    private int fermantsSeuls;               // Fermantes sans ouvrante
+    private static final long M_DELIMITEURS =
+            TypeToken.intervalle(TypeToken.PAREN_OUVRANT, TypeToken.CROCHET_FERMANT);
+
+    // ==================== CONSTRUCTEUR ====================
+
+    public TamponTokens(CharSequence source) {
+        this.source = source;
+        this.lignes = new IndexLignes(source);
+        this.types = new int[BLOC];
+        this.debuts = new int[BLOC];
+        this.longueurs = new int[BLOC];
+        this.partenaires = new int[BLOC];
+        this.taille = 0;
+    }
+
+    /**
+     * Reconstruit un tampon à partir d'une liste de Token (compatibilité).
+     * Les valeurs sont recopiées dans un source synthétique, chacune à sa
+     * ligne et à sa colonne quand l'ordre des tokens le permet.
+     */
+    public static TamponTokens depuis(List<Token> tokens) {
+        if (tokens instanceof Vue) {
+            return ((Vue) tokens).tampon();
+        }
+
+        StringBuilder texte = new StringBuilder();
+        int[] debuts = new int[tokens.size()];
+        int ligne = 1;
+        int debutLigne = 0;
+        int k = 0;
+        for (Token t : tokens) {
+            while (ligne < t.ligne) {
+                texte.append('\n');
+                ligne++;
+                debutLigne = texte.length();
+            }
+            while (texte.length() - debutLigne + 1 < t.colonne) {
+                texte.append(' ');
+            }
+            if (t.type.equals("CHAINE")) {
+                texte.append('"');
+            }
+            debuts[k++] = texte.length();
+            texte.append(t.valeur).append(t.type.equals("CHAINE") ? "\" " : " ");
+        }
+
+        TamponTokens tampon = new TamponTokens(texte.toString());
+        k = 0;
+        for (Token t : tokens) {
+            int type = TypeToken.depuisNom(t.type);
+            if (type == TypeToken.MOT_CLE) {
+                type = TypeToken.motCle(t.valeur);
+            }
+            int longueur = (type == TypeToken.EOF) ? 0 : t.valeur.length();
+            tampon.ajouter(type, debuts[k++], longueur);
+        }
+        return tampon;
+    }
+
+    // ==================== AJOUT ====================
+
+    /**
+     * Ajoute un token à la fin du tampon
+     */
+    @Override
+    public void ajouter(int type, int debut, int longueur) {
+        if (taille == types.length) {
+            agrandir();
+        }
+        types[taille] = type;
+        debuts[taille] = debut;
+        longueurs[taille] = longueur;
+        partenaires[taille] = SANS_PARTENAIRE;
+        apparier(type);
+        taille++;
+    }
+
+    /**
+     * Ajoute d'un coup les tokens [de, a) de trois tableaux parallèles :
+     * même résultat qu'ajouter() token par token, copies en bloc
+     */
+    void ajouter(int[] typesLot, int[] debutsLot, int[] longueursLot, int de, int a) {
+        int n = a - de;
+        while (taille + n > types.length) {
+            agrandir();
+        }
+        System.arraycopy(typesLot, de, types, taille, n);
+        System.arraycopy(debutsLot, de, debuts, taille, n);
+        System.arraycopy(longueursLot, de, longueurs, taille, n);
+        Arrays.fill(partenaires, taille, taille + n, SANS_PARTENAIRE);
+        for (int fin = taille + n; taille < fin; taille++) {
+            if (TypeToken.dans(M_DELIMITEURS, types[taille])) {
+                apparier(types[taille]);
+            }
+        }
+    }
+
+    /**
+     * Prévoit la place de capacite tokens au total (évite les agrandissements
+     * successifs quand le nombre de tokens est connu d'avance)
+     */
+    void reserver(int capacite) {
+        if (capacite > types.length) {
+            types = Arrays.copyOf(types, capacite);
+            debuts = Arrays.copyOf(debuts, capacite);
+            longueurs = Arrays.copyOf(longueurs, capacite);
+            partenaires = Arrays.copyOf(partenaires, capacite);
+        }
+    }
+
+    // Appariement du délimiteur d'index taille
+    private void apparier(int type) {
+        switch (type) {
+            case TypeToken.PAREN_OUVRANT:     ouvrir(0); break;
+            case TypeToken.PAREN_FERMANT:     fermer(0); break;
+            case TypeToken.ACCOLADE_OUVRANTE: derniereAccolade = taille; ouvrir(1); break;
+            case TypeToken.ACCOLADE_FERMANTE: derniereAccolade = taille; fermer(1); break;
+            case TypeToken.CROCHET_OUVRANT:   ouvrir(2); break;
+            case TypeToken.CROCHET_FERMANT:   fermer(2); break;
+            default: break;
+        }
+    }
+
+    private void ouvrir(int sorte) {
+        if (sommets[sorte] == ouverts[sorte].length) {
+            ouverts[sorte] = Arrays.copyOf(ouverts[sorte], 2 * sommets[sorte]);
+        }
+        ouverts[sorte][sommets[sorte]++] = taille;
+    }
+
+    private void fermer(int sorte) {
+        if (sommets[sorte] == 0) {
+            fermantsSeuls++;
+            return;
+        }
+        int ouvrant = ouverts[sorte][--sommets[sorte]];
+        partenaires[ouvrant] = (sorte == 0 && derniereAccolade > ouvrant) ? taille | ACCOLADE_INTERIEURE : taille;
+        partenaires[taille] = ouvrant;
+    }
+
+    // Double la capacité, arrondie à un nombre entier de blocs
+    private void agrandir() {
+        int capacite = ((types.length * 2 + BLOC - 1) / BLOC) * BLOC;
+        types = Arrays.copyOf(types, capacite);
+        debuts = Arrays.copyOf(debuts, capacite);
+        longueurs = Arrays.copyOf(longueurs, capacite);
+        partenaires = Arrays.copyOf(partenaires, capacite);
+    }
+
+    // ==================== ACCÈS ====================
+
+    public int taille() {
+        return taille;
+    }
+
+    public CharSequence source() {
+        return source;
+    }
+
+    // Retourne TypeToken.AUCUN au-delà du dernier token
+    public int type(int i) {
+        return (i < taille) ? types[i] : TypeToken.AUCUN;
+    }
+
+    public int debut(int i) {
+        return debuts[i];
+    }
+
+    public int longueur(int i) {
+        return longueurs[i];
+    }
+
+    /**
+     * Ligne et colonne du token i (du guillemet ouvrant pour une chaîne),
+     * calculées à la demande
+     */
+    public int ligne(int i) {
+        return lignes.ligne(unite(i));
+    }
+
+    public int colonne(int i) {
+        return lignes.colonne(unite(i));
+    }
+
+    private int unite(int i) {
+        return (types[i] == TypeToken.CHAINE) ? debuts[i] - 1 : debuts[i];
+    }
+
+    /**
+     * Index des lignes du source, partagé avec le lexer
+     */
+    public IndexLignes lignes() {
+        return lignes;
+    }
+
+    /**
+     * Délimiteur apparié au token i, SANS_PARTENAIRE pour un délimiteur
+     * non apparié ou un autre token
+     */
+    public int partenaire(int i) {
+        return (i < taille && partenaires[i] != SANS_PARTENAIRE)
+                ? partenaires[i] & ~ACCOLADE_INTERIEURE : SANS_PARTENAIRE;
+    }
+
+    /**
+     * Vrai si la parenthèse ouvrante i est appariée et qu'une accolade
+     * apparaît avant sa fermante
+     */
+    public boolean contientAccolade(int i) {
+        return i < taille && partenaires[i] != SANS_PARTENAIRE && (partenaires[i] & ACCOLADE_INTERIEURE) != 0;
+    }
+
+    /**
+     * Nombre de délimiteurs sans partenaire (ouvrantes encore ouvertes
+     * comprises)
+     */
+    public int nonApparies() {
+        return fermantsSeuls + sommets[0] + sommets[1] + sommets[2];
+    }
+
+    /**
+     * Un diagnostic par délimiteur non apparié, dans l'ordre du source
+     */
+    public List<Diagnostic> delimiteursNonApparies() {
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        if (nonApparies() == 0) {
+            return diagnostics;
+        }
+        for (int i = 0; i < taille; i++) {
+            if (partenaires[i] == SANS_PARTENAIRE && TypeToken.dans(M_DELIMITEURS, types[i])) {
+                diagnostics.add(new Diagnostic(Diagnostic.LEXICAL, debuts[i], ligne(i), colonne(i),
+                        "'%s' sans partenaire", valeur(i)));
+            }
+        }
+        return diagnostics;
+    }
+
+    /**
+     * Matérialise la valeur du token i (sans copie pour un opérateur, un
+     * séparateur, un mot-clé ou un identificateur déjà rencontré)
+     */
+    public String valeur(int i) {
+        String fixe = TypeToken.orthographe(types[i]);
+        if (fixe != null) return fixe;
+        if (types[i] == TypeToken.IDENTIFICATEUR) return table.nom(symbole(i));
+        return source.subSequence(debuts[i], debuts[i] + longueurs[i]).toString();
+    }
+
+    /**
+     * Valeur du token i lue sur place dans le source, sans copie
+     */
+    public CharSequence texte(int i) {
+        String fixe = TypeToken.orthographe(types[i]);
+        if (fixe != null) return fixe;
+        return new Extrait(source, debuts[i], longueurs[i]);
+    }
+
+    /**
+     * Numéro de symbole de l'identificateur i (TableSymboles.AUCUN pour
+     * un autre type) : deux occurrences du même nom ont le même numéro
+     */
+    public int symbole(int i) {
+        if (types[i] != TypeToken.IDENTIFICATEUR) return TableSymboles.AUCUN;
+        if (symboles == null || symboles.length < types.length) {
+            symboles = (symboles == null) ? new int[types.length] : Arrays.copyOf(symboles, types.length);
+        }
+        if (symboles[i] == 0) {
+            symboles[i] = table.symbole(source, debuts[i], debuts[i] + longueurs[i]) + 1;
+        }
+        return symboles[i] - 1;
+    }
+
+    /**
+     * Table des identificateurs déjà numérotés
+     */
+    public TableSymboles symboles() {
+        return table;
+    }
+
+    /**
+     * Compare la valeur du token i sans créer de String
+     */
+    public boolean valeurEgale(int i, String attendu) {
+        return i < taille
+            && longueurs[i] == attendu.length()
+            && types[i] != TypeToken.EOF
+            && regionEgale(source, debuts[i], attendu);
+    }
+
+    /**
+     * Compare source[debut..] à attendu caractère par caractère
+     */
+    static boolean regionEgale(CharSequence source, int debut, String attendu) {
+        for (int k = 0; k < attendu.length(); k++) {
+            if (source.charAt(debut + k) != attendu.charAt(k)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Matérialise le token i sous forme d'objet Token
+     */
+    public Token token(int i) {
+        return new Token(TypeToken.nom(types[i]), valeur(i), ligne(i), colonne(i));
+    }
+
+    /**
+     * Région du source vue comme une CharSequence : rien n'est copié avant
+     * toString()
+     */
+    static final class Extrait implements CharSequence {
+        private final CharSequence source;
+        private final int debut;
+        private final int longueur;
+
+        Extrait(CharSequence source, int debut, int longueur) {
+            this.source = source;
+            this.debut = debut;
+            this.longueur = longueur;
+        }
+
+        @Override
+        public int length() {
+            return longueur;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= longueur) {
+                throw new IndexOutOfBoundsException("Index " + index + " / " + longueur);
+            }
+            return source.charAt(debut + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int de, int a) {
+            if (de < 0 || a > longueur || de > a) {
+                throw new IndexOutOfBoundsException("Région " + de + ".." + a + " / " + longueur);
+            }
+            return new Extrait(source, debut + de, a - de);
+        }
+
+        @Override
+        public String toString() {
+            return source.subSequence(debut, debut + longueur).toString();
+        }
+    }
+
+    // ==================== VUE ET CURSEUR ====================
+
+    /**
+     * Vue paresseuse : les objets Token ne sont créés qu'à la lecture
+     */
+    public List<Token> vue() {
+        return new Vue();
+    }
+
+    public Curseur curseur() {
+        return new Curseur();
+    }
+
+    private final class Vue extends AbstractList<Token> {
+        @Override
+        public Token get(int index) {
+            if (index < 0 || index >= taille) {
+                throw new IndexOutOfBoundsException("Token " + index + " / " + taille);
+            }
+            return token(index);
+        }
+
+        @Override
+        public int size() {
+            return taille;
+        }
+
+        TamponTokens tampon() {
+            return TamponTokens.this;
+        }
+    }
+
+    /**
+     * Curseur de lecture utilisé par l'analyseur syntaxique
+     */
+    public final class Curseur implements FluxTokens {
+        private int i;
+
+        @Override
+        public int index() {
+            return i;
+        }
+
+        public void positionner(int index) {
+            i = index;
+        }
+
+        @Override
+        public void avancer() {
+            i++;
+        }
+
+        @Override
+        public boolean horsLimites() {
+            return i >= taille;
+        }
+
+        @Override
+        public int type() {
+            return (i < taille) ? types[i] : TypeToken.AUCUN;
+        }
+
+        @Override
+        public int peek(int k) {
+            return TamponTokens.this.type(i + k);
+        }
+
+        @Override
+        public String valeur() {
+            return TamponTokens.this.valeur(i);
+        }
+
+        @Override
+        public boolean valeurEgale(String attendu) {
+            return TamponTokens.this.valeurEgale(i, attendu);
+        }
+
+        @Override
+        public int debut() {
+            return (i < taille) ? debuts[i] : source.length();
+        }
+
+        @Override
+        public int ligne() {
+            return TamponTokens.this.ligne(i);
+        }
+
+        @Override
+        public int colonne() {
+            return TamponTokens.this.colonne(i);
+        }
+    }
+
+    // ==================== MESURE MÉMOIRE ====================
+
+    /**
+     * Octets réservés par les tableaux (capacité libre comprise, index des
+     * lignes non compris : il n'est rempli qu'à la demande)
+     */
+    public long octetsReserves() {
+        // 4 tableaux : en-tête 16 octets + 4 octets par case
+        return 4L * (16 + 4L * types.length);
+    }
+
+    /**
+     * Octets par token effectivement occupés (hors capacité libre)
+     */
+    public double octetsParToken() {
+        return (taille == 0) ? 0 : (4.0 * (16 + 4L * taille)) / taille;
+    }
+
+    /**
+     * Estimation de la même liste en ArrayList<Token> (références compressées) :
+     * case de liste 4 + Token 32 + String valeur 24 + byte[] aligné sur 8
+     */
+    public double octetsParTokenObjets() {
+        if (taille == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < taille; i++) {
+            total += 4 + 32;
+            if (types[i] != TypeToken.EOF) {
+                total += 24 + ((16 + longueurs[i] + 7) / 8) * 8;
+            }
+        }
+        return (double) total / taille;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - TRACE DE L'ANALYSE
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+import java.io.PrintStream;
+
+/**
+ * Niveaux de trace et écouteurs prédéfinis.
+ *
+ * Au niveau AUCUNE, les analyseurs reçoivent SILENCE, dont les méthodes
+ * sont vides : l'appel est inliné par le JIT et ne coûte rien, sans test
+ * de niveau dans l'analyseur. Les autres niveaux passent par l'écouteur
+ * console, qui reproduit les messages historiques.
+ */
+public final class Trace {
+
+    // ==================== NIVEAUX ====================
+
+    public static final int AUCUNE         = 0;   // Rien
+    public static final int ERREURS        = 1;   // Erreurs et verdict
+    public static final int REGLES         = 2;   // + règles traversées
+    public static final int WHILE_DETAILLE = 3;   // + analyse détaillée de WHILE
+
+    // Niveau minimal de chaque événement (indexé par code d'événement)
+    private static final int[] NIVEAUX = new int[EcouteurAnalyse.NOMBRE_EVENEMENTS];
+
+    static {
+        for (int e = EcouteurAnalyse.LEXIQUE_DEBUT; e <= EcouteurAnalyse.AFFECTATION; e++) {
+            NIVEAUX[e] = REGLES;
+        }
+        for (int e = EcouteurAnalyse.WHILE_DEBUT; e <= EcouteurAnalyse.WHILE_FIN; e++) {
+            NIVEAUX[e] = WHILE_DETAILLE;
+        }
+    }
+
+    /**
+     * Écouteur du niveau AUCUNE : ne fait rien
+     */
+    public static final EcouteurAnalyse SILENCE = new EcouteurAnalyse() {
+        @Override
+        public void evenement(int evenement, FluxTokens curseur) {
+        }
+
+        @Override
+        public void diagnostic(Diagnostic d) {
+        }
+
+        @Override
+        public void verdict(boolean accepte, boolean finAtteinte) {
+        }
+    };
+
+    private Trace() {
+    }
+
+    // ==================== CONSTRUCTION ====================
+
+    /**
+     * Écouteur affichant sur la console les messages du niveau demandé
+     */
+    public static EcouteurAnalyse console(int niveau) {
+        if (niveau <= AUCUNE) return SILENCE;
+        return new Console(niveau, System.out, System.err);
+    }
+
+    /**
+     * Niveau à partir de son nom : off, erreurs, regles, while
+     * (WHILE_DETAILLE si le nom est inconnu)
+     */
+    public static int niveau(String nom) {
+        switch (nom) {
+            case "off":     return AUCUNE;
+            case "erreurs": return ERREURS;
+            case "regles":  return REGLES;
+            default:        return WHILE_DETAILLE;
+        }
+    }
+
+    /**
+     * Cherche une option --trace=niveau parmi les arguments
+     */
+    public static int niveau(String[] args, int defaut) {
+        for (String a : args) {
+            if (a.startsWith("--trace=")) return niveau(a.substring("--trace=".length()));
+        }
+        return defaut;
+    }
+
+    // ==================== ÉCOUTEUR CONSOLE ====================
+
+    private static final class Console implements EcouteurAnalyse {
+        private final int niveau;
+        private final PrintStream out;
+        private final PrintStream err;
+
+        Console(int niveau, PrintStream out, PrintStream err) {
+            this.niveau = niveau;
+            this.out = out;
+            this.err = err;
+        }
+
+        @Override
+        public void evenement(int evenement, FluxTokens curseur) {
+            if (NIVEAUX[evenement] > niveau) return;
+
+            switch (evenement) {
+                case LEXIQUE_DEBUT:
+                    out.println(">>> Début de l'analyse lexicale...\n");
+                    break;
+                case LEXIQUE_FIN:
+                    out.println(">>> Analyse terminée.\n");
+                    break;
+                case SYNTAXE_DEBUT:
+                    out.println("\n>>> Début de l'analyse syntaxique...\n");
+                    break;
+                case PROGRAMME:
+                    out.println("[PROGRAMME] Analyse du programme");
+                    break;
+                case CLASSE:
+                    out.println("[CLASSE] Analyse de la classe");
+                    break;
+                case CLASSE_NOM:
+                    out.println("[CLASSE] Nom de classe : " + curseur.valeur());
+                    break;
+                case METHODE:
+                    out.println("[METHODE] Analyse de la méthode main");
+                    break;
+                case IF:
+                    out.println("[IF] Instruction IF reconnue (ignorée)");
+                    break;
+                case FOR:
+                    out.println("[FOR] Instruction FOR reconnue (ignorée)");
+                    break;
+                case DECLARATION:
+                    out.println("[DECLARATION] Analyse d'une déclaration");
+                    break;
+                case DECLARATION_VARIABLE:
+                    out.println("[DECLARATION] Variable : " + curseur.valeur());
+                    break;
+                case AFFECTATION:
+                    out.println("[AFFECTATION] Analyse d'une affectation");
+                    break;
+                case WHILE_DEBUT:
+                    out.println("\n========================================");
+                    out.println("[WHILE] *** ANALYSE DÉTAILLÉE DE WHILE ***");
+                    out.println("========================================");
+                    break;
+                case WHILE_MOT_CLE:
+                    out.println("[WHILE] Mot-clé 'while' reconnu");
+                    break;
+                case WHILE_PAREN_OUVRANTE:
+                    out.println("[WHILE] Parenthèse ouvrante '(' trouvée");
+                    break;
+                case WHILE_ERR_PAREN_OUVRANTE:
+                    err.println("[WHILE] Erreur : parenthèse ouvrante manquante");
+                    break;
+                case WHILE_CONDITION_DEBUT:
+                    out.println("[WHILE] Analyse de la condition...");
+                    break;
+                case WHILE_CONDITION_FIN:
+                    out.println("[WHILE] Condition analysée");
+                    break;
+                case WHILE_PAREN_FERMANTE:
+                    out.println("[WHILE] Parenthèse fermante ')' trouvée");
+                    break;
+                case WHILE_ERR_PAREN_FERMANTE:
+                    err.println("[WHILE] Erreur : parenthèse fermante manquante");
+                    break;
+                case WHILE_BLOC_DEBUT:
+                    out.println("[WHILE] Analyse du bloc d'instructions...");
+                    break;
+                case WHILE_BLOC_FIN:
+                    out.println("[WHILE] Bloc analysé avec succès");
+                    break;
+                case WHILE_FIN:
+                    out.println("[WHILE] *** FIN DE L'ANALYSE DE WHILE ***");
+                    out.println("========================================\n");
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * Les erreurs syntaxiques sont affichées dès leur détection ;
+         * les erreurs lexicales restent listées par afficherErreurs()
+         */
+        @Override
+        public void diagnostic(Diagnostic d) {
+            if (d.getPhase() == Diagnostic.SYNTAXIQUE) {
+                err.println(d);
+            }
+        }
+
+        @Override
+        public void verdict(boolean accepte, boolean finAtteinte) {
+            if (accepte) {
+                out.println("\n✓ PROGRAMME ACCEPTÉ");
+                out.println("Le programme est syntaxiquement correct.\n");
+            } else {
+                err.println("\n✗ PROGRAMME REJETÉ");
+                if (!finAtteinte) {
+                    err.println("Tokens inattendus après la fin du programme");
+                }
+                err.println();
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * ====================================================================
+ * MINI-COMPILATEUR JAVA - TYPES DE TOKENS
+ * Université A/ Mira de Béjaia - 3ème année Licence
+ * Module : Compilation
+ *
+ * Étudiant : Malek Leiticia
+ * Instruction analysée : WHILE
+ * ====================================================================
+ */
+package compilateur;
+
+/**
+ * Codes entiers des types de tokens.
+ * Le tampon de tokens ne stocke que ces codes ; le nom lisible
+ * (celui affiché par afficherTokens) est retrouvé à la demande.
+ */
+public final class TypeToken {
+
+    // ==================== CODES ====================
+
+    public static final int EOF               = 0;
+    public static final int MOT_CLE           = 1;
+    public static final int IDENTIFICATEUR    = 2;
+    public static final int NOMBRE_ENTIER     = 3;
+    public static final int NOMBRE_DECIMAL    = 4;
+    public static final int CHAINE            = 5;
+
+    // Opérateurs doubles
+    public static final int EGAL              = 6;
+    public static final int DIFFERENT         = 7;
+    public static final int INFERIEUR_EGAL    = 8;
+    public static final int SUPERIEUR_EGAL    = 9;
+    public static final int INCREMENT         = 10;
+    public static final int DECREMENT         = 11;
+    public static final int ET_LOGIQUE        = 12;
+    public static final int OU_LOGIQUE        = 13;
+
+    // Opérateurs simples
+    public static final int PLUS              = 14;
+    public static final int MOINS             = 15;
+    public static final int FOIS              = 16;
+    public static final int DIVISION          = 17;
+    public static final int MODULO            = 18;
+    public static final int AFFECTATION       = 19;
+    public static final int INFERIEUR         = 20;
+    public static final int SUPERIEUR         = 21;
+    public static final int NON_LOGIQUE       = 22;
+
+    // Séparateurs
+    public static final int PAREN_OUVRANT     = 23;
+    public static final int PAREN_FERMANT     = 24;
+    public static final int ACCOLADE_OUVRANTE = 25;
+    public static final int ACCOLADE_FERMANTE = 26;
+    public static final int CROCHET_OUVRANT   = 27;
+    public static final int CROCHET_FERMANT   = 28;
+    public static final int POINT_VIRGULE     = 29;
+    public static final int VIRGULE           = 30;
+    public static final int POINT             = 31;
+
+    // Mots-clés : un code par mot (tous affichés comme MOT_CLE)
+    public static final int MC_PUBLIC         = 32;
+    public static final int MC_PRIVATE        = 33;
+    public static final int MC_PROTECTED      = 34;
+    public static final int MC_STATIC         = 35;
+    public static final int MC_FINAL          = 36;
+    public static final int MC_CLASS          = 37;
+    public static final int MC_VOID           = 38;
+    public static final int MC_INT            = 39;
+    public static final int MC_DOUBLE         = 40;
+    public static final int MC_FLOAT          = 41;
+    public static final int MC_BOOLEAN        = 42;
+    public static final int MC_STRING         = 43;
+    public static final int MC_IF             = 44;
+    public static final int MC_ELSE           = 45;
+    public static final int MC_WHILE          = 46;
+    public static final int MC_DO             = 47;
+    public static final int MC_FOR            = 48;
+    public static final int MC_SWITCH         = 49;
+    public static final int MC_CASE           = 50;
+    public static final int MC_BREAK          = 51;
+    public static final int MC_CONTINUE       = 52;
+    public static final int MC_RETURN         = 53;
+    public static final int MC_NEW            = 54;
+    public static final int MC_THIS           = 55;
+    public static final int MC_MALEK          = 56;
+    public static final int MC_LEITICIA       = 57;
+
+    public static final int PREMIER_MOT_CLE   = MC_PUBLIC;
+    public static final int NOMBRE_TYPES      = MC_LEITICIA + 1;   // < 64 : tient dans un long
+
+    // Code renvoyé quand on lit au-delà du dernier token
+    public static final int AUCUN             = -1;
+
+    // Mots-clés Java (incluant Malek et Leiticia), indexés par code - PREMIER_MOT_CLE
+    static final String[] MOTS_CLES = {
+        "public", "private", "protected", "static", "final",
+        "class", "void", "int", "double", "float", "boolean", "String",
+        "if", "else", "while", "do", "for", "switch", "case",
+        "break", "continue", "return", "new", "this",
+        "Malek", "Leiticia"  // Mots-clés personnalisés (nom et prénom)
+    };
+
+    // Noms affichés (indexés par code)
+    private static final String[] NOMS = {
+        "EOF", "MOT_CLE", "IDENTIFICATEUR", "NOMBRE_ENTIER", "NOMBRE_DECIMAL", "CHAINE",
+        "EGAL", "DIFFERENT", "INFERIEUR_EGAL", "SUPERIEUR_EGAL",
+        "INCREMENT", "DECREMENT", "ET_LOGIQUE", "OU_LOGIQUE",
+        "PLUS", "MOINS", "FOIS", "DIVISION", "MODULO",
+        "AFFECTATION", "INFERIEUR", "SUPERIEUR", "NON_LOGIQUE",
+        "PAREN_OUVRANT", "PAREN_FERMANT", "ACCOLADE_OUVRANTE", "ACCOLADE_FERMANTE",
+        "CROCHET_OUVRANT", "CROCHET_FERMANT", "POINT_VIRGULE", "VIRGULE", "POINT"
+    };
+
+    // Texte des tokens à orthographe fixe (indexés par code, null si variable) :
+    // une seule String partagée par tous les tokens du même type
+    private static final String[] ORTHOGRAPHES = new String[NOMBRE_TYPES];
+
+    static {
+        String[] fixes = {
+            "==", "!=", "<=", ">=", "++", "--", "&&", "||",
+            "+", "-", "*", "/", "%", "=", "<", ">", "!",
+            "(", ")", "{", "}", "[", "]", ";", ",", "."
+        };
+        System.arraycopy(fixes, 0, ORTHOGRAPHES, EGAL, fixes.length);
+        System.arraycopy(MOTS_CLES, 0, ORTHOGRAPHES, PREMIER_MOT_CLE, MOTS_CLES.length);
+        ORTHOGRAPHES[EOF] = "EOF";
+    }
+
+    private TypeToken() {
+    }
+
+    // ==================== CONVERSIONS ====================
+
+    /**
+     * Retourne le nom lisible d'un code de type
+     */
+    public static String nom(int type) {
+        if (estMotCle(type)) return "MOT_CLE";
+        return (type >= 0 && type < NOMS.length) ? NOMS[type] : "EOF";
+    }
+
+    public static boolean estMotCle(int type) {
+        return type >= PREMIER_MOT_CLE && type < NOMBRE_TYPES;
+    }
+
+    /**
+     * Retourne le texte d'un mot-clé à partir de son code
+     */
+    public static String texteMotCle(int type) {
+        return MOTS_CLES[type - PREMIER_MOT_CLE];
+    }
+
+    /**
+     * Texte partagé d'un opérateur, séparateur ou mot-clé ("EOF" pour la
+     * fin), null pour un type dont le texte varie (identificateur, nombre,
+     * chaîne)
+     */
+    public static String orthographe(int type) {
+        return (type >= 0 && type < NOMBRE_TYPES) ? ORTHOGRAPHES[type] : null;
+    }
+
+    /**
+     * Retourne le code du mot-clé, ou IDENTIFICATEUR si le mot n'en est pas un
+     */
+    public static int motCle(String mot) {
+        for (int k = 0; k < MOTS_CLES.length; k++) {
+            if (MOTS_CLES[k].equals(mot)) return PREMIER_MOT_CLE + k;
+        }
+        return IDENTIFICATEUR;
+    }
+
+    /**
+     * Retourne le code correspondant à un nom (AUCUN si inconnu)
+     */
+    public static int depuisNom(String nom) {
+        for (int t = 0; t < NOMS.length; t++) {
+            if (NOMS[t].equals(nom)) return t;
+        }
+        return AUCUN;
+    }
+
+    // ==================== ENSEMBLES (MASQUES) ====================
+
+    /**
+     * Construit un masque de bits à partir de codes de type
+     */
+    public static long masque(int... types) {
+        long m = 0L;
+        for (int t : types) {
+            m |= 1L << t;
+        }
+        return m;
+    }
+
+    /**
+     * Masque des codes consécutifs de premier à dernier (inclus)
+     */
+    public static long intervalle(int premier, int dernier) {
+        return (-1L >>> (63 - dernier + premier)) << premier;
+    }
+
+    /**
+     * Test d'appartenance : un décalage et un ET.
+     * AUCUN (-1) se décale sur le bit 63, toujours libre.
+     */
+    public static boolean dans(long masque, int type) {
+        return ((masque >>> type) & 1L) != 0;
+    }
+}